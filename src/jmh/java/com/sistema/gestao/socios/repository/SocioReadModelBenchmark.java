@@ -0,0 +1,109 @@
+package com.sistema.gestao.socios.repository;
+
+import com.sistema.gestao.socios.AssociaGestApplication;
+import com.sistema.gestao.socios.dto.SocioResponseDTO;
+import com.sistema.gestao.socios.mapper.SocioMapper;
+import com.sistema.gestao.socios.model.Categoria;
+import com.sistema.gestao.socios.model.Socio;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Socio read paths against the in-memory H2 database of the test profile: loading managed entities (categoria
+ * fetch-joined, as before the read model) and mapping them with MapStruct, versus the DTO constructor projection
+ * used by the read-only endpoints. Both run in a read-only transaction, like the service methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SocioReadModelBenchmark {
+
+    @Param({"500"})
+    public int socios;
+
+    private ConfigurableApplicationContext context;
+    private SocioRepository socioRepository;
+    private SocioMapper socioMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate leitura;
+    private String email;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AssociaGestApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=test", "--spring.jpa.properties.hibernate.generate_statistics=false");
+        socioRepository = context.getBean(SocioRepository.class);
+        socioMapper = context.getBean(SocioMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        leitura = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        leitura.setReadOnly(true);
+
+        CategoriaRepository categoriaRepository = context.getBean(CategoriaRepository.class);
+        List<Categoria> categorias = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            categorias.add(categoriaRepository.save(new Categoria(null, "Categoria " + i, "Benefícios " + i, new BigDecimal("50.00"))));
+        }
+        List<Socio> novos = new ArrayList<>();
+        for (int i = 0; i < socios; i++) {
+            novos.add(new Socio(null, "Socio " + i, "doc" + i, "socio" + i + "@bench.com", "1199999" + i, "hash", "PAGO",
+                    categorias.get(i % categorias.size()), null, null));
+        }
+        socioRepository.saveAll(novos);
+        email = "socio" + (socios / 2) + "@bench.com";
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SocioResponseDTO> listarEntidadesMapeadas() {
+        return leitura.execute(status -> socioMapper.toSocioResponseDTOList(entityManager
+                .createQuery("select s from Socio s left join fetch s.categoria order by s.id", Socio.class)
+                .getResultList()));
+    }
+
+    @Benchmark
+    public List<SocioResponseDTO> listarProjecao() {
+        return leitura.execute(status -> socioRepository.findAllResponses());
+    }
+
+    @Benchmark
+    public SocioResponseDTO buscarPorEmailEntidadeMapeada() {
+        return leitura.execute(status -> socioMapper.toSocioResponseDTO(entityManager
+                .createQuery("select s from Socio s left join fetch s.categoria where s.email = :email", Socio.class)
+                .setParameter("email", email)
+                .getSingleResult()));
+    }
+
+    @Benchmark
+    public SocioResponseDTO buscarPorEmailProjecao() {
+        return leitura.execute(status -> socioRepository.findResponseByEmail(email).orElseThrow());
+    }
+}
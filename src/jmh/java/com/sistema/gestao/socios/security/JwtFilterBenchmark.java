@@ -0,0 +1,134 @@
+package com.sistema.gestao.socios.security;
+
+import com.sistema.gestao.socios.model.Role;
+import com.sistema.gestao.socios.model.Usuario;
+import com.sistema.gestao.socios.repository.TokenRevogadoRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link JwtAuthenticationFilter} per request kind: public routes (skipped by the route classifier
+ * versus processed as before), and an authenticated API request. {@code authorities*} isolates the per-principal
+ * authority list: allocated per call versus the shared per-role list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "4D6251655468576D5A7134743777217A25432A462D4A614E645267556B587032";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private JwtAuthenticationFilter filterWithoutBypass;
+    private MockHttpServletRequest swaggerAsset;
+    private MockHttpServletRequest loginWithStaleToken;
+    private MockHttpServletRequest apiRequest;
+    private MockHttpServletResponse response;
+    private Usuario usuario;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+
+        usuario = Usuario.builder().id(1L).email("bench@test.com").senha("hash").role(Role.ADMIN).build();
+        UserDetailsService userDetailsService = username -> usuario;
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("userDetailsService", userDetailsService);
+        TokenRevocationStore revocationStore = new TokenRevocationStore(Mockito.mock(TokenRevogadoRepository.class), 1000, 0.01);
+        TokenVersionRegistry versionRegistry = Mockito.mock(TokenVersionRegistry.class);
+
+        JwtFilterMetrics filterMetrics = new JwtFilterMetrics(new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(jwtService, beanFactory.getBeanProvider(UserDetailsService.class), versionRegistry, revocationStore, filterMetrics);
+        // Previous behaviour: every route goes through token processing
+        filterWithoutBypass = new JwtAuthenticationFilter(jwtService, beanFactory.getBeanProvider(UserDetailsService.class), versionRegistry, revocationStore, filterMetrics) {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return false;
+            }
+        };
+
+        String token = jwtService.generateToken(usuario);
+        swaggerAsset = new MockHttpServletRequest("GET", "/swagger-ui/swagger-ui-bundle.js");
+        loginWithStaleToken = new MockHttpServletRequest("POST", "/api/auth/login");
+        loginWithStaleToken.addHeader("Authorization", "Bearer " + token);
+        apiRequest = new MockHttpServletRequest("GET", "/api/socios");
+        apiRequest.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object publicAssetBypassed() throws Exception {
+        filter.doFilter(swaggerAsset, response, NO_OP_CHAIN);
+        return clear();
+    }
+
+    @Benchmark
+    public Object publicAssetFiltered() throws Exception {
+        filterWithoutBypass.doFilter(swaggerAsset, response, NO_OP_CHAIN);
+        return clear();
+    }
+
+    @Benchmark
+    public Object publicRouteWithTokenBypassed() throws Exception {
+        filter.doFilter(loginWithStaleToken, response, NO_OP_CHAIN);
+        return clear();
+    }
+
+    @Benchmark
+    public Object publicRouteWithTokenFiltered() throws Exception {
+        filterWithoutBypass.doFilter(loginWithStaleToken, response, NO_OP_CHAIN);
+        return clear();
+    }
+
+    @Benchmark
+    public Object authenticatedApiRequest() throws Exception {
+        filter.doFilter(apiRequest, response, NO_OP_CHAIN);
+        return clear();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> authoritiesAllocatedPerCall() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + usuario.getRole().name()));
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> authoritiesShared() {
+        return usuario.getAuthorities();
+    }
+
+    private static Object clear() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,92 @@
+package com.sistema.gestao.socios.security;
+
+import com.sistema.gestao.socios.model.Role;
+import com.sistema.gestao.socios.model.Usuario;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request token work of {@link JwtAuthenticationFilter}:
+ * the original path (decode key + build parser + parse three times) against the
+ * single-parse engine, with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "4D6251655468576D5A7134743777217A25432A462D4A614E645267556B587032";
+
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private UserDetails usuario;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedService = newService(true);
+        uncachedService = newService(false);
+
+        Usuario u = new Usuario();
+        u.setEmail("bench@test.com");
+        u.setRole(Role.ADMIN);
+        usuario = u;
+        token = cachedService.generateToken(usuario);
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        // What the filter did before: extractUsername, then extractUsername + extractExpiration inside isTokenValid
+        String username = legacyClaims(token).getSubject();
+        boolean valid = legacyClaims(token).getSubject().equals(usuario.getUsername())
+                && !legacyClaims(token).getExpiration().before(new Date());
+        return username != null && valid;
+    }
+
+    @Benchmark
+    public boolean singleParseUncached() {
+        VerifiedClaims claims = uncachedService.verify(token);
+        return uncachedService.isTokenValid(claims, usuario);
+    }
+
+    @Benchmark
+    public boolean singleParseCached() {
+        VerifiedClaims claims = cachedService.verify(token);
+        return cachedService.isTokenValid(claims, usuario);
+    }
+
+    private static Claims legacyClaims(String token) {
+        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
+        Key key = Keys.hmacShaKeyFor(keyBytes);
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    private static JwtService newService(boolean cacheEnabled) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(service, "cacheEnabled", cacheEnabled);
+        return service;
+    }
+}
@@ -0,0 +1,122 @@
+package com.sistema.gestao.socios.security;
+
+import com.sistema.gestao.socios.model.Role;
+import com.sistema.gestao.socios.model.Usuario;
+import com.sistema.gestao.socios.repository.TokenRevogadoRepository;
+import com.sistema.gestao.socios.repository.UsuarioRepository;
+import jakarta.servlet.FilterChain;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline for the code that runs on every request: token generation, username extraction, validation and a
+ * complete {@link JwtAuthenticationFilter} pass (default and stateless mode) against a no-op filter chain.
+ * Run with the gc profiler (the profile default) to get allocation per operation next to throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityHotPathBenchmark {
+
+    private static final String SECRET = "4D6251655468576D5A7134743777217A25432A462D4A614E645267556B587032";
+
+    // Verified-token cache on/off. Both modes reuse the same token; with the cache off every call pays the full
+    // parse + HMAC verification, which is what a stream of distinct tokens would cost with the cache on
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private JwtAuthenticationFilter statelessFilter;
+    private FilterChain filterChain;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtService, "cacheEnabled", tokenCache);
+
+        usuario = Usuario.builder().id(1L).email("bench@test.com").senha("hash").role(Role.ADMIN).build();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("userDetailsService", (UserDetailsService) username -> usuario);
+        TokenRevocationStore revocationStore = new TokenRevocationStore(Mockito.mock(TokenRevogadoRepository.class), 1000, 0.01);
+        // Real registry over a mocked repository: only the first lookup reaches the mock, the rest are cache hits
+        UsuarioRepository usuarioRepository = Mockito.mock(UsuarioRepository.class);
+        Mockito.when(usuarioRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+        TokenVersionRegistry versionRegistry = new TokenVersionRegistry(usuarioRepository, Duration.ofHours(1), 1000);
+
+        JwtFilterMetrics filterMetrics = new JwtFilterMetrics(new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(jwtService, beanFactory.getBeanProvider(UserDetailsService.class), versionRegistry, revocationStore, filterMetrics);
+        statelessFilter = new JwtAuthenticationFilter(jwtService, beanFactory.getBeanProvider(UserDetailsService.class), versionRegistry, revocationStore, filterMetrics);
+        ReflectionTestUtils.setField(statelessFilter, "statelessEnabled", true);
+        // No-op chain: a Mockito mock would record every invocation and dominate the measurement
+        filterChain = (servletRequest, servletResponse) -> { };
+
+        token = jwtService.generateToken(usuario);
+        request = new MockHttpServletRequest("GET", "/api/socios");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(usuario);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, usuario);
+    }
+
+    @Benchmark
+    public Object filterPass() throws Exception {
+        filter.doFilter(request, response, filterChain);
+        return clear();
+    }
+
+    @Benchmark
+    public Object filterPassStateless() throws Exception {
+        statelessFilter.doFilter(request, response, filterChain);
+        return clear();
+    }
+
+    private static Object clear() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,99 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.repository.CategoriaPrecoVigencia;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing with {@link CategoriaPrecoIndex}: 200 categorias with a fee change every month or two over 20 years, priced for
+ * every (socio, month) of a yearly billing run (socios grouped by categoria, as a billing query returns them) and for
+ * random single lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoriaPrecoIndexBenchmark {
+
+    private static final int CATEGORIAS = 200;
+    private static final LocalDate INICIO = LocalDate.of(2005, 1, 1);
+
+    @Param({"100000"})
+    public int socios;
+
+    private CategoriaPrecoIndex index;
+    private long[] categoriaIds;
+    private int[] dias;
+    private long[] destino;
+    private int pares;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<CategoriaPrecoVigencia> vigencias = new ArrayList<>();
+        for (long categoria = 1; categoria <= CATEGORIAS; categoria++) {
+            LocalDate inicio = INICIO;
+            while (inicio.getYear() < 2025) {
+                vigencias.add(new CategoriaPrecoVigencia(categoria, inicio, BigDecimal.valueOf(5000 + random.nextInt(20000), 2)));
+                inicio = inicio.plusMonths(1 + random.nextInt(2));
+            }
+        }
+        index = new CategoriaPrecoIndex(null);
+        index.carregar(vigencias);
+
+        pares = socios * 12;
+        categoriaIds = new long[pares];
+        dias = new int[pares];
+        destino = new long[pares];
+        int i = 0;
+        for (int socio = 0; socio < socios; socio++) {
+            long categoria = 1 + (long) socio * CATEGORIAS / socios;
+            for (int mes = 1; mes <= 12; mes++) {
+                categoriaIds[i] = categoria;
+                dias[i] = (int) LocalDate.of(2024, mes, 1).toEpochDay();
+                i++;
+            }
+        }
+    }
+
+    @Benchmark
+    public long[] faturamentoAnual() {
+        index.avaliar(categoriaIds, dias, destino, pares);
+        return destino;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long consultaUnitaria(Contador contador) {
+        int j = contador.proximo(pares);
+        return index.centavos(categoriaIds[j], dias[j]);
+    }
+
+    @State(Scope.Thread)
+    public static class Contador {
+        private int posicao;
+
+        int proximo(int limite) {
+            posicao = (posicao + 7919) % limite;
+            return posicao;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.sistema.gestao.socios.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups on {@link SocioAutocompleteIndex} filled with synthetic socios (random first and last names,
+ * e-mails and documentos), for a short prefix, a full name with a typo, an e-mail fragment and a documento prefix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SocioAutocompleteBenchmark {
+
+    private static final String[] NOMES = {"Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela", "Henrique",
+            "Isabela", "João", "Karina", "Lucas", "Mariana", "Nicolas", "Olívia", "Paulo", "Rafaela", "Sérgio", "Tatiane", "Vitor"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves",
+            "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes"};
+
+    @Param({"100000"})
+    public int socios;
+
+    private SocioAutocompleteIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new SocioAutocompleteIndex(null, true, 0.5);
+        Random random = new Random(42);
+        for (long id = 1; id <= socios; id++) {
+            String nome = NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]
+                    + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+            index.inserir(id, nome, "socio" + id + "@clube.com.br", String.format("%011d", random.nextLong(100_000_000_000L)));
+        }
+    }
+
+    @Benchmark
+    public List<Long> prefixoCurto() {
+        return index.buscar("mar", 10);
+    }
+
+    @Benchmark
+    public List<Long> nomeComErro() {
+        return index.buscar("gabriela olivera", 10);
+    }
+
+    @Benchmark
+    public List<Long> email() {
+        return index.buscar("socio4242@", 10);
+    }
+
+    @Benchmark
+    public List<Long> documento() {
+        return index.buscar("1234567", 10);
+    }
+}
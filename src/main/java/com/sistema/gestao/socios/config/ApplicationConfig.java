@@ -1,36 +1,57 @@
 package com.sistema.gestao.socios.config;
 
+import com.sistema.gestao.socios.model.Usuario;
 import com.sistema.gestao.socios.repository.UsuarioRepository;
+import com.sistema.gestao.socios.security.BoundedPasswordEncoder;
+import com.sistema.gestao.socios.security.LoginMetrics;
+import com.sistema.gestao.socios.security.TimedDaoAuthenticationProvider;
+import com.sistema.gestao.socios.security.UsuarioDetailsCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UsuarioRepository usuarioRepository;
+    private final UsuarioDetailsCache usuarioDetailsCache;
 
     @Bean
     public UserDetailsService userDetailsService() {
-        // Lambda implementation of UserDetailsService using UsuarioRepository
-        return username -> usuarioRepository.findByEmail(username)
+        // Lambda implementation of UserDetailsService using UsuarioRepository, behind the bounded user cache
+        return username -> usuarioDetailsCache.get(username, usuarioRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + username));
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        // Called by DaoAuthenticationProvider after a successful login when the stored hash uses an outdated cost factor
+        return (user, newPassword) -> {
+            Usuario usuario = (Usuario) user;
+            usuarioRepository.atualizarHashSenha(usuario.getId(), newPassword);
+            usuarioDetailsCache.invalidate(usuario); // Bulk update skips the entity listener
+            return user;
+        };
+    }
+
+    @Bean
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder, LoginMetrics loginMetrics) {
+        DaoAuthenticationProvider authProvider = new TimedDaoAuthenticationProvider(loginMetrics);
         authProvider.setUserDetailsService(userDetailsService()); // Use the bean defined above
-        authProvider.setPasswordEncoder(passwordEncoder()); // Use the bean defined below
+        authProvider.setPasswordEncoder(passwordEncoder); // Use the bean defined below
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
@@ -41,8 +62,15 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        // Use BCrypt for password hashing
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${application.security.password.bcrypt-strength:10}") int strength,
+            @Value("${application.security.password.pool-size:0}") int poolSize,
+            @Value("${application.security.password.queue-capacity:64}") int queueCapacity,
+            @Value("${application.security.password.timeout:5s}") Duration timeout,
+            @Value("${application.security.password.retry-after:2s}") Duration retryAfter
+    ) {
+        // Use BCrypt for password hashing, on a bounded pool (pool-size 0 = one thread per core)
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, timeout, retryAfter);
     }
 }
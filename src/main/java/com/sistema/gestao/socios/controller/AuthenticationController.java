@@ -4,13 +4,17 @@ import com.sistema.gestao.socios.dto.AuthenticationResponseDTO;
 import com.sistema.gestao.socios.dto.LoginRequestDTO;
 import com.sistema.gestao.socios.dto.AuthenticationResponseDTO;
 import com.sistema.gestao.socios.dto.LoginRequestDTO;
+import com.sistema.gestao.socios.dto.RefreshTokenRequestDTO;
 import com.sistema.gestao.socios.dto.RegisterRequestDTO;
+import com.sistema.gestao.socios.security.LoginThrottle;
 import com.sistema.gestao.socios.service.AuthenticationService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid; // Importar @Valid
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -20,6 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/register")
     public ResponseEntity<AuthenticationResponseDTO> register(
@@ -31,9 +36,32 @@ public class AuthenticationController {
 
     @PostMapping("/login")
     public ResponseEntity<AuthenticationResponseDTO> login(
-            @RequestBody LoginRequestDTO request
+            @RequestBody LoginRequestDTO request,
+            HttpServletRequest httpRequest
     ) {
+        // Reject throttled accounts/clients before spending any BCrypt work (429)
+        // Behind a proxy, set server.forward-headers-strategy so getRemoteAddr() is the real client
+        loginThrottle.verificar(request.getEmail(), httpRequest.getRemoteAddr());
         // Delegate login logic to the service
         return ResponseEntity.ok(authenticationService.login(request));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponseDTO> refresh(
+            @Valid @RequestBody RefreshTokenRequestDTO request
+    ) {
+        // Exchange a refresh token for a new access/refresh pair (the old refresh token is revoked)
+        return ResponseEntity.ok(authenticationService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestBody(required = false) RefreshTokenRequestDTO request
+    ) {
+        // /api/auth/** is public, so the access token is read (and verified by the service) here
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        authenticationService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
 }
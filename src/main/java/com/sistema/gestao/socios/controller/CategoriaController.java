@@ -1,22 +1,33 @@
 package com.sistema.gestao.socios.controller;
 
+import com.sistema.gestao.socios.dto.CategoriaContadorDTO;
+import com.sistema.gestao.socios.dto.CategoriaPrecoRequestDTO;
+import com.sistema.gestao.socios.dto.CategoriaPrecoResponseDTO;
 import com.sistema.gestao.socios.dto.CategoriaRequestDTO;
 import com.sistema.gestao.socios.dto.CategoriaResponseDTO;
+import com.sistema.gestao.socios.dto.PagamentoResponseDTO;
+import com.sistema.gestao.socios.dto.PaginaCursorResponseDTO;
+import com.sistema.gestao.socios.dto.SocioResponseDTO;
 import com.sistema.gestao.socios.mapper.CategoriaMapper;
 import com.sistema.gestao.socios.model.Categoria;
 import com.sistema.gestao.socios.service.CategoriaService;
+import com.sistema.gestao.socios.service.PagamentoService;
+import com.sistema.gestao.socios.service.SocioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 // ResponseStatusException can be removed if not used directly anymore
 // import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 // Optional is no longer returned by the refactored service method
 // import java.util.Optional;
@@ -32,6 +43,12 @@ public class CategoriaController {
     @Autowired
     private CategoriaMapper categoriaMapper;
 
+    @Autowired
+    private SocioService socioService;
+
+    @Autowired
+    private PagamentoService pagamentoService;
+
     @Operation(summary = "Listar todas as categorias")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Categorias listadas com sucesso")
@@ -43,6 +60,86 @@ public class CategoriaController {
         return ResponseEntity.ok(dtos);
     }
 
+    @Operation(summary = "Quantidade de sócios por categoria e status de pagamento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contadores listados com sucesso")
+    })
+    @GetMapping("/contadores")
+    public ResponseEntity<List<CategoriaContadorDTO>> listarContadores() {
+        return ResponseEntity.ok(categoriaService.listarContadores());
+    }
+
+    @Operation(summary = "Quantidade de sócios de uma categoria por status de pagamento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contadores encontrados"),
+            @ApiResponse(responseCode = "404", description = "Categoria não encontrada")
+    })
+    @GetMapping("/{id}/contadores")
+    public ResponseEntity<CategoriaContadorDTO> buscarContadores(@PathVariable Long id) {
+        return ResponseEntity.ok(categoriaService.buscarContadores(id));
+    }
+
+    @Operation(summary = "Listar sócios da categoria (paginação por cursor, ordenados por id)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de sócios retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido"),
+            @ApiResponse(responseCode = "404", description = "Categoria não encontrada")
+    })
+    @GetMapping("/{id}/socios")
+    public ResponseEntity<PaginaCursorResponseDTO<SocioResponseDTO>> listarSocios(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(socioService.listarPorCategoria(id, cursor, tamanho));
+    }
+
+    @Operation(summary = "Listar pagamentos da categoria (paginação por cursor, ordenados por id)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de pagamentos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido"),
+            @ApiResponse(responseCode = "404", description = "Categoria não encontrada")
+    })
+    @GetMapping("/{id}/pagamentos")
+    public ResponseEntity<PaginaCursorResponseDTO<PagamentoResponseDTO>> listarPagamentos(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(pagamentoService.listarPaginaPorCategoria(id, cursor, tamanho));
+    }
+
+    @Operation(summary = "Histórico de valores de mensalidade da categoria")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Histórico listado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Categoria não encontrada")
+    })
+    @GetMapping("/{id}/precos")
+    public ResponseEntity<List<CategoriaPrecoResponseDTO>> listarPrecos(@PathVariable Long id) {
+        return ResponseEntity.ok(categoriaService.listarPrecos(id));
+    }
+
+    @Operation(summary = "Registrar um valor de mensalidade a partir de uma data")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Valor registrado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos ou já existe um valor com o mesmo início"),
+            @ApiResponse(responseCode = "404", description = "Categoria não encontrada")
+    })
+    @PostMapping("/{id}/precos")
+    public ResponseEntity<CategoriaPrecoResponseDTO> registrarPreco(@PathVariable Long id, @Valid @RequestBody CategoriaPrecoRequestDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(categoriaService.registrarPreco(id, dto));
+    }
+
+    @Operation(summary = "Valor de mensalidade da categoria vigente em uma data (padrão: hoje)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Valor encontrado"),
+            @ApiResponse(responseCode = "404", description = "Categoria não encontrada ou sem valor vigente na data")
+    })
+    @GetMapping("/{id}/precos/vigente")
+    public ResponseEntity<BigDecimal> buscarValorVigente(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        return ResponseEntity.ok(categoriaService.buscarValorVigente(id, data != null ? data : LocalDate.now()));
+    }
+
     @Operation(summary = "Buscar categoria por ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Categoria encontrada"),
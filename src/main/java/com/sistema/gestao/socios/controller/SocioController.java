@@ -1,24 +1,34 @@
 package com.sistema.gestao.socios.controller;
 
+import com.sistema.gestao.socios.dto.ExclusaoResultadoDTO;
+import com.sistema.gestao.socios.dto.ImportacaoResultadoDTO;
+import com.sistema.gestao.socios.dto.PaginaCursorResponseDTO;
+import com.sistema.gestao.socios.dto.SocioPatchRequestDTO;
 import com.sistema.gestao.socios.dto.SocioRequestDTO;
 import com.sistema.gestao.socios.dto.SocioResponseDTO;
 import com.sistema.gestao.socios.mapper.SocioMapper;
+import com.sistema.gestao.socios.exception.RecursoNaoEncontradoException;
 import com.sistema.gestao.socios.model.Categoria; // Needed for association
 import com.sistema.gestao.socios.model.Socio;
 import com.sistema.gestao.socios.service.CategoriaService; // Needed for association
+import com.sistema.gestao.socios.service.SocioImportacaoService;
 import com.sistema.gestao.socios.service.SocioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 // ResponseStatusException can be removed as GlobalExceptionHandler handles custom exceptions
 // import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.util.List;
 // Optional is no longer returned by the refactored service method
 // import java.util.Optional;
@@ -34,18 +44,65 @@ public class SocioController {
     @Autowired
     private CategoriaService categoriaService; // Inject CategoriaService to fetch Categoria
 
+    @Autowired
+    private SocioImportacaoService socioImportacaoService;
+
     @Autowired
     private SocioMapper socioMapper;
 
-    @Operation(summary = "Listar todos os sócios")
+    // The unbounded listing loads every member at once; only exposed when explicitly enabled
+    @Value("${application.socios.listagem-completa.enabled:false}")
+    private boolean listagemCompletaHabilitada;
+
+    @Operation(summary = "Listar sócios paginados por cursor (ordenados por id)")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Sócios listados com sucesso")
+            @ApiResponse(responseCode = "200", description = "Página de sócios retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido")
     })
     @GetMapping
+    public ResponseEntity<PaginaCursorResponseDTO<SocioResponseDTO>> listar(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(socioService.listarPagina(cursor, tamanho));
+    }
+
+    @Operation(summary = "Buscar sócios por categoria, status de pagamento e prefixo do nome (paginação por cursor)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de sócios que atendem aos filtros"),
+            @ApiResponse(responseCode = "400", description = "Cursor, ordenação ou tamanho inválido")
+    })
+    @GetMapping("/busca")
+    public ResponseEntity<PaginaCursorResponseDTO<SocioResponseDTO>> buscar(
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) String statusPagamento,
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) String ordenacao,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(socioService.buscar(categoriaId, statusPagamento, nome, ordenacao, cursor, tamanho));
+    }
+
+    @Operation(summary = "Autocomplete de sócios por parte do nome, email ou documento (retorna ids ordenados por relevância)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ids dos sócios mais próximos do texto informado"),
+            @ApiResponse(responseCode = "400", description = "Texto vazio ou limite inválido")
+    })
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<Long>> autocompletar(@RequestParam String q, @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(socioService.autocompletar(q, limite));
+    }
+
+    @Operation(summary = "Listar todos os sócios sem paginação (desativado por padrão)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sócios listados com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Listagem completa desativada")
+    })
+    @GetMapping("/todos")
     public ResponseEntity<List<SocioResponseDTO>> listarTodos() {
-        List<Socio> socios = socioService.listarTodos();
-        List<SocioResponseDTO> dtos = socioMapper.toSocioResponseDTOList(socios);
-        return ResponseEntity.ok(dtos);
+        if (!listagemCompletaHabilitada) {
+            throw new RecursoNaoEncontradoException("Listagem completa de sócios desativada. Utilize a paginação por cursor em /api/socios.");
+        }
+        return ResponseEntity.ok(socioService.listarTodos());
     }
 
     @Operation(summary = "Buscar sócio por ID")
@@ -56,8 +113,27 @@ public class SocioController {
     @GetMapping("/{id}")
     public ResponseEntity<SocioResponseDTO> buscarPorId(@PathVariable Long id) {
         // Service throws RecursoNaoEncontradoException if not found
-        Socio socio = socioService.buscarPorId(id);
-        return ResponseEntity.ok(socioMapper.toSocioResponseDTO(socio));
+        return ResponseEntity.ok(socioService.consultarPorId(id));
+    }
+
+    @Operation(summary = "Buscar sócio por email")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sócio encontrado"),
+            @ApiResponse(responseCode = "404", description = "Sócio não encontrado")
+    })
+    @GetMapping("/por-email")
+    public ResponseEntity<SocioResponseDTO> buscarPorEmail(@RequestParam String email) {
+        return ResponseEntity.ok(socioService.buscarPorEmail(email));
+    }
+
+    @Operation(summary = "Buscar sócio por documento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sócio encontrado"),
+            @ApiResponse(responseCode = "404", description = "Sócio não encontrado")
+    })
+    @GetMapping("/por-documento")
+    public ResponseEntity<SocioResponseDTO> buscarPorDocumento(@RequestParam String documento) {
+        return ResponseEntity.ok(socioService.buscarPorDocumento(documento));
     }
 
     @Operation(summary = "Cadastrar um novo sócio")
@@ -74,6 +150,27 @@ public class SocioController {
         return ResponseEntity.status(HttpStatus.CREATED).body(dto);
     }
 
+    @Operation(summary = "Importar sócios em lote a partir de um CSV (cabeçalho: nome,documento,email,telefone,categoriaId)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada; registros rejeitados são listados com sua linha"),
+            @ApiResponse(responseCode = "400", description = "Arquivo vazio ou sem as colunas obrigatórias")
+    })
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    public ResponseEntity<ImportacaoResultadoDTO> importarCsv(HttpServletRequest request) throws IOException {
+        // The body is read as a stream, never buffered whole
+        return ResponseEntity.ok(socioImportacaoService.importarCsv(request.getInputStream()));
+    }
+
+    @Operation(summary = "Importar sócios em lote a partir de um array JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada; registros rejeitados são listados com sua posição"),
+            @ApiResponse(responseCode = "400", description = "O corpo não é um array JSON")
+    })
+    @PostMapping(value = "/importacao", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportacaoResultadoDTO> importarJson(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(socioImportacaoService.importarJson(request.getInputStream()));
+    }
+
     @Operation(summary = "Atualizar um sócio existente")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Sócio atualizado com sucesso"),
@@ -90,6 +187,18 @@ public class SocioController {
     }
 
 
+    @Operation(summary = "Atualizar parcialmente um sócio (apenas os campos informados)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sócio atualizado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Sócio não encontrado"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos, categoria não encontrada ou email/documento já cadastrado")
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<SocioResponseDTO> atualizarParcial(@PathVariable Long id, @Valid @RequestBody SocioPatchRequestDTO socioPatchRequestDTO) {
+        Socio socioAtualizado = socioService.atualizarParcial(id, socioPatchRequestDTO);
+        return ResponseEntity.ok(socioMapper.toSocioResponseDTO(socioAtualizado));
+    }
+
     @Operation(summary = "Excluir um sócio")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Sócio excluído com sucesso"),
@@ -101,4 +210,15 @@ public class SocioController {
         socioService.deletar(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Excluir em massa os sócios que atendem aos filtros, junto com seus pagamentos e notificações")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exclusão concluída; retorna a quantidade de registros removidos"),
+            @ApiResponse(responseCode = "400", description = "Nenhum filtro informado")
+    })
+    @DeleteMapping
+    public ResponseEntity<ExclusaoResultadoDTO> deletarPorFiltro(@RequestParam(required = false) String statusPagamento,
+                                                                 @RequestParam(required = false) Long categoriaId) {
+        return ResponseEntity.ok(socioService.deletarPorFiltro(statusPagamento, categoriaId));
+    }
 }
@@ -11,5 +11,6 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class AuthenticationResponseDTO {
     private String token;
-    // Poderia incluir outras informações, como refresh token, se necessário
+    // Token de longa duração usado apenas em /api/auth/refresh para obter um novo par de tokens
+    private String refreshToken;
 }
@@ -0,0 +1,16 @@
+package com.sistema.gestao.socios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoriaContadorDTO {
+    private Long categoriaId;
+    private long total;
+    private long pagos;
+    private long pendentes;
+    private long atrasados;
+}
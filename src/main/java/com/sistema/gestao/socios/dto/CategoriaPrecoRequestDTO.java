@@ -0,0 +1,19 @@
+package com.sistema.gestao.socios.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class CategoriaPrecoRequestDTO {
+
+    @NotNull(message = "Início da vigência não pode ser nulo")
+    private LocalDate inicioVigencia;
+
+    @NotNull(message = "Valor da mensalidade não pode ser nulo")
+    @PositiveOrZero(message = "Valor da mensalidade deve ser positivo ou zero")
+    private BigDecimal valorMensalidade;
+}
@@ -0,0 +1,17 @@
+package com.sistema.gestao.socios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoriaPrecoResponseDTO {
+    private LocalDate inicioVigencia;
+    private LocalDate fimVigencia; // Exclusive: start of the next period; null for the last one
+    private BigDecimal valorMensalidade;
+}
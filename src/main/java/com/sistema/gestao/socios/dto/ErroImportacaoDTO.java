@@ -0,0 +1,13 @@
+package com.sistema.gestao.socios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroImportacaoDTO {
+    private long linha; // 1-based position of the record in the upload (CSV header not counted)
+    private String mensagem;
+}
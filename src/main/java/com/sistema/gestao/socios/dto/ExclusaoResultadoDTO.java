@@ -0,0 +1,14 @@
+package com.sistema.gestao.socios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExclusaoResultadoDTO {
+    private long sociosExcluidos;
+    private long pagamentosExcluidos;
+    private long notificacoesExcluidas;
+}
@@ -0,0 +1,15 @@
+package com.sistema.gestao.socios.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportacaoResultadoDTO {
+    private long totalRegistros;
+    private long importados;
+    private long rejeitados;
+    // Capped at application.socios.importacao.max-erros; rejeitados always holds the full count
+    private List<ErroImportacaoDTO> erros = new ArrayList<>();
+}
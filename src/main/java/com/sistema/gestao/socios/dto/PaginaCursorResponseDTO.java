@@ -0,0 +1,16 @@
+package com.sistema.gestao.socios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorResponseDTO<T> {
+    private List<T> itens;
+    // Opaque cursor for the next page; null when this is the last page
+    private String proximoCursor;
+}
@@ -0,0 +1,16 @@
+package com.sistema.gestao.socios.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenRequestDTO {
+    @NotBlank(message = "Refresh token não pode ser vazio")
+    private String refreshToken;
+}
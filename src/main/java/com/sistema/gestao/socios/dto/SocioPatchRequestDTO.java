@@ -0,0 +1,27 @@
+package com.sistema.gestao.socios.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+/**
+ * Partial update of a socio: only the non-null fields are applied. Senha is not accepted here,
+ * in line with the full update.
+ */
+@Data
+public class SocioPatchRequestDTO {
+
+    @Pattern(regexp = ".*\\S.*", message = "Nome não pode ser vazio")
+    private String nome;
+
+    @Pattern(regexp = ".*\\S.*", message = "Documento não pode ser vazio")
+    private String documento;
+
+    @Email(message = "Formato de email inválido")
+    @Pattern(regexp = ".*\\S.*", message = "Email não pode ser vazio")
+    private String email;
+
+    private String telefone;
+
+    private Long categoriaId;
+}
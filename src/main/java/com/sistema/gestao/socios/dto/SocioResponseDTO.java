@@ -1,8 +1,12 @@
 package com.sistema.gestao.socios.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
 
 @Data
+@NoArgsConstructor
 public class SocioResponseDTO {
     private Long id;
     private String nome;
@@ -14,4 +18,23 @@ public class SocioResponseDTO {
 
     // Note: We are not including the password, list of Pagamentos, or Notificacoes
     // to avoid exposing sensitive data and prevent large/circular responses.
+
+    // Constructor expression target for the read-only queries in SocioRepository (select new ...),
+    // which build the response straight from the result set without hydrating Socio/Categoria entities
+    public SocioResponseDTO(Long id, String nome, String documento, String email, String telefone, String statusPagamento,
+                            Long categoriaId, String categoriaNome, String categoriaBeneficios, BigDecimal categoriaValorMensalidade) {
+        this.id = id;
+        this.nome = nome;
+        this.documento = documento;
+        this.email = email;
+        this.telefone = telefone;
+        this.statusPagamento = statusPagamento;
+        if (categoriaId != null) {
+            this.categoria = new CategoriaResponseDTO();
+            this.categoria.setId(categoriaId);
+            this.categoria.setNome(categoriaNome);
+            this.categoria.setBeneficios(categoriaBeneficios);
+            this.categoria.setValorMensalidade(categoriaValorMensalidade);
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.sistema.gestao.socios.exception;
+
+import java.time.Duration;
+
+// Thrown when a client exceeds an attempt limit (e.g. login throttling); mapped to 429 with Retry-After.
+public class MuitasTentativasException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public MuitasTentativasException(String mensagem, Duration retryAfter) {
+        super(mensagem);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sistema.gestao.socios.exception;
+
+import java.time.Duration;
+
+// Thrown when a bounded resource (e.g. the password hashing pool) is saturated
+// and the request is shed instead of queued; mapped to 503 with Retry-After.
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServicoSobrecarregadoException(String mensagem, Duration retryAfter) {
+        super(mensagem);
+        this.retryAfter = retryAfter;
+    }
+
+    public ServicoSobrecarregadoException(String mensagem, Duration retryAfter, Throwable causa) {
+        super(mensagem, causa);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
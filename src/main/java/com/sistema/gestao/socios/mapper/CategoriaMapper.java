@@ -17,8 +17,7 @@ public interface CategoriaMapper {
 
     // Maps Request DTO to Entity for creation
     @Mapping(target = "id", ignore = true) // Ignore ID during creation from DTO
-    @Mapping(target = "socios", ignore = true) // Ignore list mapping from DTO
-    @Mapping(target = "pagamentos", ignore = true) // Ignore list mapping from DTO
+    @Mapping(target = "versao", ignore = true) // Managed by Hibernate
     Categoria toCategoria(CategoriaRequestDTO dto);
 
     // Maps Entity to Response DTO
@@ -29,7 +28,6 @@ public interface CategoriaMapper {
 
     // Updates an existing Categoria entity from a Request DTO
     @Mapping(target = "id", ignore = true) // Ignore ID from DTO during update (it comes from @MappingTarget)
-    @Mapping(target = "socios", ignore = true) // Ignore list mapping from DTO
-    @Mapping(target = "pagamentos", ignore = true) // Ignore list mapping from DTO
+    @Mapping(target = "versao", ignore = true) // Managed by Hibernate
     void updateCategoriaFromDto(CategoriaRequestDTO dto, @MappingTarget Categoria categoria);
 }
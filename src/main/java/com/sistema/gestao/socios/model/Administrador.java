@@ -1,12 +1,16 @@
 package com.sistema.gestao.socios.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Administrador {
@@ -17,5 +21,16 @@ public class Administrador {
 
     private String nome;
     private String email;
+    @ToString.Exclude
     private String senha; // Consider hashing this in a real application
+
+    @Override
+    public final boolean equals(Object o) {
+        return Entidades.iguais(this, o, Administrador::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entidades.hash(this);
+    }
 }
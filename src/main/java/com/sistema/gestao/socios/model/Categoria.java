@@ -1,15 +1,18 @@
 package com.sistema.gestao.socios.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Categoria {
@@ -22,9 +25,24 @@ public class Categoria {
     private String beneficios;
     private BigDecimal valorMensalidade;
 
-    @OneToMany(mappedBy = "categoria", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Socio> socios;
+    // No socios/pagamentos collections: saving a categoria must only touch its own row. Members and payments of a
+    // categoria are read through the paged queries of their own repositories
 
-    @OneToMany(mappedBy = "categoria", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Pagamento> pagamentos; // Added relationship for Pagamento
+    // Optimistic lock; also part of the signature CategoriaRegistry polls to notice changes made by other nodes
+    @Version
+    private Long versao;
+
+    public Categoria(Long id, String nome, String beneficios, BigDecimal valorMensalidade) {
+        this(id, nome, beneficios, valorMensalidade, null);
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        return Entidades.iguais(this, o, Categoria::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entidades.hash(this);
+    }
 }
@@ -0,0 +1,43 @@
+package com.sistema.gestao.socios.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of socios per categoria and payment status, maintained in the same transaction as the socio changes
+ * (see {@link com.sistema.gestao.socios.service.CategoriaContadorListener}). Socios with any other status count
+ * only towards the total.
+ */
+@Entity
+@Table(name = "categoria_contador")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoriaContador {
+
+    @Id
+    private Long categoriaId; // Same value as Categoria.id; no foreign key so the row can be removed after the categoria
+
+    private long total;
+    private long pagos;
+    private long pendentes;
+    private long atrasados;
+
+    @Override
+    public final boolean equals(Object o) {
+        return Entidades.iguais(this, o, CategoriaContador::getCategoriaId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entidades.hash(this);
+    }
+}
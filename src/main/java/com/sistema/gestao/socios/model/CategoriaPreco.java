@@ -0,0 +1,60 @@
+package com.sistema.gestao.socios.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Monthly fee of a categoria from inicioVigencia (inclusive) until the next period of the same categoria starts.
+ * Periods never overlap: there is at most one per (categoria, inicioVigencia).
+ */
+@Entity
+@Table(name = "categoria_preco", uniqueConstraints = {
+        @UniqueConstraint(name = CategoriaPreco.UK_CATEGORIA_INICIO, columnNames = {"categoria_id", "inicio_vigencia"})
+})
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoriaPreco {
+
+    public static final String UK_CATEGORIA_INICIO = "uk_categoria_preco_categoria_inicio";
+
+    // Start assumed for fees that existed before pricing history was kept (see CategoriaPrecoRepository.criarAusentes)
+    public static final LocalDate INICIO_HISTORICO = LocalDate.of(1900, 1, 1);
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "categoria_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE) // Price history goes with its categoria
+    private Categoria categoria;
+
+    @Column(nullable = false)
+    private LocalDate inicioVigencia;
+
+    @Column(nullable = false)
+    private BigDecimal valorMensalidade;
+
+    @Override
+    public final boolean equals(Object o) {
+        return Entidades.iguais(this, o, CategoriaPreco::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entidades.hash(this);
+    }
+}
@@ -0,0 +1,42 @@
+package com.sistema.gestao.socios.model;
+
+import org.hibernate.proxy.HibernateProxy;
+
+import java.util.function.Function;
+
+/**
+ * Identity-based equals/hashCode shared by the entities, replacing the Lombok-generated ones that compared every field
+ * (and so walked lazy associations and collections). Two instances are equal when they belong to the same entity class
+ * and have the same non-null id; a new entity is only equal to itself. hashCode depends on the class alone, so it does
+ * not change when the id is assigned on persist. Hibernate proxies are resolved to their entity class and their id is
+ * read through the identifier getter, neither of which initializes them; the entities declare equals/hashCode final
+ * so a proxy runs them itself instead of delegating to (and loading) its target.
+ */
+final class Entidades {
+
+    private Entidades() {
+    }
+
+    static <T> boolean iguais(T entidade, Object outro, Function<T, ?> id) {
+        if (entidade == outro) {
+            return true;
+        }
+        if (outro == null || classeEfetiva(entidade) != classeEfetiva(outro)) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        T outra = (T) outro;
+        Object chave = id.apply(entidade);
+        return chave != null && chave.equals(id.apply(outra));
+    }
+
+    static int hash(Object entidade) {
+        return classeEfetiva(entidade).hashCode();
+    }
+
+    private static Class<?> classeEfetiva(Object entidade) {
+        return entidade instanceof HibernateProxy proxy
+                ? proxy.getHibernateLazyInitializer().getPersistentClass()
+                : entidade.getClass();
+    }
+}
@@ -1,14 +1,18 @@
 package com.sistema.gestao.socios.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.util.Date;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Notificacao {
@@ -25,7 +29,18 @@ public class Notificacao {
     @Lob // Use @Lob for potentially large text fields
     private String mensagem;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "socio_id")
     private Socio socio;
+
+    @Override
+    public final boolean equals(Object o) {
+        return Entidades.iguais(this, o, Notificacao::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entidades.hash(this);
+    }
 }
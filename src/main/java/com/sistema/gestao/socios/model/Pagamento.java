@@ -1,7 +1,9 @@
 package com.sistema.gestao.socios.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
@@ -9,7 +11,13 @@ import java.math.BigDecimal;
 import java.util.Date;
 
 @Entity
-@Data
+@Table(indexes = {
+        // Payments of a categoria page by id (PagamentoService.listarPaginaPorCategoria) and the delete check
+        @Index(name = "idx_pagamento_categoria", columnList = "categoria_id, id")
+})
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Pagamento {
@@ -24,11 +32,23 @@ public class Pagamento {
     private BigDecimal valorPago;
     private String status; // e.g., "CONFIRMADO", "PENDENTE", "REJEITADO"
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "socio_id")
     private Socio socio;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id") // Added relationship to Categoria
     private Categoria categoria;
+
+    @Override
+    public final boolean equals(Object o) {
+        return Entidades.iguais(this, o, Pagamento::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entidades.hash(this);
+    }
 }
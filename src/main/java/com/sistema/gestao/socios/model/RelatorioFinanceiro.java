@@ -1,14 +1,18 @@
 package com.sistema.gestao.socios.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.util.Date;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class RelatorioFinanceiro {
@@ -27,4 +31,14 @@ public class RelatorioFinanceiro {
 
     @Lob // Use @Lob for potentially large report data (e.g., JSON, CSV)
     private String dadosRelatorio;
+
+    @Override
+    public final boolean equals(Object o) {
+        return Entidades.iguais(this, o, RelatorioFinanceiro::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entidades.hash(this);
+    }
 }
@@ -1,6 +1,18 @@
 package com.sistema.gestao.socios.model;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 public enum Role {
     ADMIN,
-    SOCIO
+    SOCIO;
+
+    // One immutable authority list per role, shared by every principal (prefix ROLE_ is standard in Spring Security)
+    private final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + name()));
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
 }
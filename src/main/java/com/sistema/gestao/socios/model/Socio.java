@@ -1,36 +1,77 @@
 package com.sistema.gestao.socios.model;
 
+import com.sistema.gestao.socios.service.SocioEntityListener;
 import jakarta.persistence.*;
-import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.util.List;
 
 @Entity
-@Data
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = Socio.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = Socio.UK_DOCUMENTO, columnNames = "documento")
+}, indexes = {
+        // Socio search (SocioService.buscar): equality filters first, then the keyset/sort column,
+        // so a filtered page is a range scan already in id order
+        @Index(name = "idx_socio_categoria_status", columnList = "categoria_id, status_pagamento, id"),
+        // Serves the (nome, id) order and keyset. On PostgreSQL with a non-"C" collation the LIKE 'prefixo%'
+        // filter needs its own index: CREATE INDEX idx_socio_nome_prefixo ON socio (nome text_pattern_ops)
+        @Index(name = "idx_socio_nome", columnList = "nome, id")
+})
+@EntityListeners(SocioEntityListener.class)
+// UPDATEs list only the modified columns: small corrections (telefone, email) do not rewrite the whole row
+@DynamicUpdate
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Socio {
 
+    // Constraint names, matched by SocioService when translating duplicate key violations
+    public static final String UK_EMAIL = "uk_socio_email";
+    public static final String UK_DOCUMENTO = "uk_socio_documento";
+
+    // Pooled sequence instead of IDENTITY: Hibernate can only batch inserts when ids are known before the INSERT.
+    // allocationSize matches hibernate.jdbc.batch_size, so one sequence call covers a whole batch.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "socio_seq")
+    @SequenceGenerator(name = "socio_seq", sequenceName = "socio_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
     private String documento; // Assuming CPF/CNPJ or similar identifier
     private String email;
     private String telefone;
+    @ToString.Exclude
     private String senha; // Consider hashing this in a real application
     private String statusPagamento; // e.g., "PAGO", "PENDENTE", "ATRASADO"
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY) // Lazy fetch is generally preferred for performance
     @JoinColumn(name = "categoria_id")
     private Categoria categoria;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "socio", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Pagamento> pagamentos;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "socio", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Notificacao> notificacoes; // Added relationship for Notificacao
+
+    @Override
+    public final boolean equals(Object o) {
+        return Entidades.iguais(this, o, Socio::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entidades.hash(this);
+    }
 }
@@ -0,0 +1,57 @@
+package com.sistema.gestao.socios.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+// Revoked token (logout / refresh rotation), identified by its jti claim.
+// Rows are only needed until the token would have expired anyway and are purged after that.
+// Insert-only (Persistable.isNew is always true): revoking the same jti twice fails on the primary key,
+// which makes refresh token rotation single-use even under concurrent requests.
+@Entity
+@Table(name = "tokens_revogados", indexes = @Index(name = "idx_token_revogado_expira_em", columnList = "expira_em"))
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevogado implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+
+    @Column(name = "revogado_em", nullable = false)
+    private Instant revogadoEm;
+
+    @Override
+    public String getId() {
+        return jti;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        return Entidades.iguais(this, o, TokenRevogado::getJti);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entidades.hash(this);
+    }
+}
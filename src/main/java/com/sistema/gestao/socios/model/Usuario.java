@@ -1,20 +1,24 @@
 package com.sistema.gestao.socios.model;
 
+import com.sistema.gestao.socios.security.UsuarioEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder; // Import Builder
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.NoArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 
 @Entity
 @Table(name = "usuarios")
-@Data
+@EntityListeners(UsuarioEntityListener.class)
+@Getter
+@Setter
+@ToString
 @Builder // Add Builder annotation
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,6 +31,7 @@ public class Usuario implements UserDetails {
     @Column(unique = true, nullable = false)
     private String email;
 
+    @ToString.Exclude
     @Column(nullable = false)
     private String senha; // Store hashed password
 
@@ -34,11 +39,29 @@ public class Usuario implements UserDetails {
     @Column(nullable = false)
     private Role role;
 
+    // Embedded in stateless tokens; bumped whenever credentials or role change so older tokens stop validating
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
+    public void setSenha(String senha) {
+        if (id != null && this.senha != null && !this.senha.equals(senha)) {
+            tokenVersion++;
+        }
+        this.senha = senha;
+    }
+
+    public void setRole(Role role) {
+        if (id != null && this.role != null && this.role != role) {
+            tokenVersion++;
+        }
+        this.role = role;
+    }
+
     // UserDetails methods implementation
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Prefix ROLE_ is standard in Spring Security
-        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        // Shared per-role list, no allocation per call
+        return role.getAuthorities();
     }
 
     @Override
@@ -70,4 +93,14 @@ public class Usuario implements UserDetails {
     public boolean isEnabled() {
         return true; // Or implement logic based on your requirements
     }
+
+    @Override
+    public final boolean equals(Object o) {
+        return Entidades.iguais(this, o, Usuario::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entidades.hash(this);
+    }
 }
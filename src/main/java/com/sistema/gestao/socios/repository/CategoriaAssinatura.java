@@ -0,0 +1,5 @@
+package com.sistema.gestao.socios.repository;
+
+/** Summary of the categoria table that changes whenever a row is inserted, updated or deleted. */
+public record CategoriaAssinatura(Long quantidade, Long maiorId, Long somaVersoes) {
+}
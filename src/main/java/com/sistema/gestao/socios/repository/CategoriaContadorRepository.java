@@ -0,0 +1,25 @@
+package com.sistema.gestao.socios.repository;
+
+import com.sistema.gestao.socios.model.CategoriaContador;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CategoriaContadorRepository extends JpaRepository<CategoriaContador, Long> {
+
+    // Backfill for categorias without a counter row (created before the counters existed); one aggregate pass over socio
+    @Transactional
+    @Modifying
+    @Query(value = "insert into categoria_contador (categoria_id, total, pagos, pendentes, atrasados) "
+            + "select c.id, count(s.id), "
+            + "count(case when s.status_pagamento = 'PAGO' then 1 end), "
+            + "count(case when s.status_pagamento = 'PENDENTE' then 1 end), "
+            + "count(case when s.status_pagamento = 'ATRASADO' then 1 end) "
+            + "from categoria c left join socio s on s.categoria_id = c.id "
+            + "where not exists (select 1 from categoria_contador cc where cc.categoria_id = c.id) "
+            + "group by c.id", nativeQuery = true)
+    int criarAusentes();
+}
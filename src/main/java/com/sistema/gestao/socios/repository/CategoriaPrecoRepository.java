@@ -0,0 +1,39 @@
+package com.sistema.gestao.socios.repository;
+
+import com.sistema.gestao.socios.model.CategoriaPreco;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoriaPrecoRepository extends JpaRepository<CategoriaPreco, Long> {
+
+    List<CategoriaPreco> findByCategoriaIdOrderByInicioVigencia(Long categoriaId);
+
+    Optional<CategoriaPreco> findByCategoriaIdAndInicioVigencia(Long categoriaId, LocalDate inicioVigencia);
+
+    // Period in force on the given date
+    Optional<CategoriaPreco> findFirstByCategoriaIdAndInicioVigenciaLessThanEqualOrderByInicioVigenciaDesc(Long categoriaId, LocalDate data);
+
+    // Everything CategoriaPrecoIndex needs, already in index order and without hydrating entities
+    @Query("select new com.sistema.gestao.socios.repository.CategoriaPrecoVigencia(p.categoria.id, p.inicioVigencia, p.valorMensalidade) "
+            + "from CategoriaPreco p order by p.categoria.id, p.inicioVigencia")
+    List<CategoriaPrecoVigencia> findVigencias();
+
+    // Categorias without any period (created before the history existed, or written straight to the table):
+    // their current fee is taken as valid since inicio
+    @Transactional
+    @Modifying
+    @Query(value = "insert into categoria_preco (categoria_id, inicio_vigencia, valor_mensalidade) "
+            + "select c.id, :inicio, c.valor_mensalidade from categoria c "
+            + "where c.valor_mensalidade is not null "
+            + "and not exists (select 1 from categoria_preco p where p.categoria_id = c.id)", nativeQuery = true)
+    int criarAusentes(@Param("inicio") LocalDate inicio);
+}
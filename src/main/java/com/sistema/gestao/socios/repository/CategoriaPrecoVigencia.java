@@ -0,0 +1,8 @@
+package com.sistema.gestao.socios.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** One fee period as loaded into CategoriaPrecoIndex. */
+public record CategoriaPrecoVigencia(Long categoriaId, LocalDate inicioVigencia, BigDecimal valorMensalidade) {
+}
@@ -2,12 +2,35 @@ package com.sistema.gestao.socios.repository;
 
 import com.sistema.gestao.socios.model.Categoria;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional; // Import Optional
 
 @Repository
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
     // Find category by name, ignoring case
     Optional<Categoria> findByNomeIgnoreCase(String nome);
+
+    @Query("select c.id from Categoria c")
+    List<Long> findAllIds();
+
+    // Change detector polled by CategoriaRegistry: an insert raises max(id) (identity values are never reused),
+    // a delete lowers the count and an update raises sum(versao)
+    @Query("select new com.sistema.gestao.socios.repository.CategoriaAssinatura(count(c), coalesce(max(c.id), 0L), coalesce(sum(c.versao), 0L)) "
+            + "from Categoria c")
+    CategoriaAssinatura findAssinatura();
+
+    // Rolls the denormalised current fee forward; matches nothing when it is already up to date. The version bump
+    // makes the change visible to findAssinatura, so CategoriaRegistry reloads on every node
+    @Transactional
+    @Modifying
+    @Query("update Categoria c set c.valorMensalidade = :valor, c.versao = c.versao + 1 "
+            + "where c.id = :id and (c.valorMensalidade is null or c.valorMensalidade <> :valor)")
+    int atualizarValorMensalidade(@Param("id") Long id, @Param("valor") BigDecimal valor);
 }
@@ -2,8 +2,12 @@ package com.sistema.gestao.socios.repository;
 
 import com.sistema.gestao.socios.model.Notificacao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Date;
 
@@ -12,4 +16,9 @@ public interface NotificacaoRepository extends JpaRepository<Notificacao, Long>
     List<Notificacao> findBySocioId(Long socioId);
     List<Notificacao> findByTipoNotificacao(String tipoNotificacao);
     List<Notificacao> findByDataEnvioBetween(Date startDate, Date endDate);
+
+    // Set-based removal used by the socio bulk delete: one statement, no entities loaded
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notificacao n where n.socio.id in :socioIds")
+    int excluirPorSocioIds(@Param("socioIds") Collection<Long> socioIds);
 }
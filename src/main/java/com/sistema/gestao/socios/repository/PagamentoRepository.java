@@ -1,9 +1,14 @@
 package com.sistema.gestao.socios.repository;
 
 import com.sistema.gestao.socios.model.Pagamento;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Date;
 
@@ -11,6 +16,16 @@ import java.util.Date;
 public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
     List<Pagamento> findBySocioId(Long socioId);
     List<Pagamento> findByCategoriaId(Long categoriaId);
+    boolean existsByCategoriaId(Long categoriaId);
+
+    // Keyset page of the payments of a categoria, by id (see SocioRepository.findResponsesAfterId)
+    @Query("select p from Pagamento p where p.categoria.id = :categoriaId and p.id > :id order by p.id")
+    List<Pagamento> findByCategoriaIdAfterId(@Param("categoriaId") Long categoriaId, @Param("id") Long id, Limit limit);
     List<Pagamento> findByDataPagamentoBetween(Date startDate, Date endDate);
     List<Pagamento> findByStatus(String status);
+
+    // Set-based removal used by the socio bulk delete: one statement, no entities loaded
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Pagamento p where p.socio.id in :socioIds")
+    int excluirPorSocioIds(@Param("socioIds") Collection<Long> socioIds);
 }
@@ -0,0 +1,14 @@
+package com.sistema.gestao.socios.repository;
+
+import com.sistema.gestao.socios.dto.SocioResponseDTO;
+import com.sistema.gestao.socios.model.Socio;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/** Repository fragment running dynamic socio filters straight into the SocioResponseDTO read model. */
+public interface SocioBuscaRepository {
+
+    List<SocioResponseDTO> buscarResponses(Specification<Socio> filtro, Sort ordenacao, int limite);
+}
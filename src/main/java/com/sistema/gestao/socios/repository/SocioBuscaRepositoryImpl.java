@@ -0,0 +1,41 @@
+package com.sistema.gestao.socios.repository;
+
+import com.sistema.gestao.socios.dto.SocioResponseDTO;
+import com.sistema.gestao.socios.model.Categoria;
+import com.sistema.gestao.socios.model.Socio;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class SocioBuscaRepositoryImpl implements SocioBuscaRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Same projection as SocioRepository.SELECT_RESPONSE, built with the Criteria API so the filter can vary
+    @Override
+    public List<SocioResponseDTO> buscarResponses(Specification<Socio> filtro, Sort ordenacao, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SocioResponseDTO> query = cb.createQuery(SocioResponseDTO.class);
+        Root<Socio> socio = query.from(Socio.class);
+        Join<Socio, Categoria> categoria = socio.join("categoria", JoinType.LEFT);
+        query.select(cb.construct(SocioResponseDTO.class,
+                socio.get("id"), socio.get("nome"), socio.get("documento"), socio.get("email"), socio.get("telefone"),
+                socio.get("statusPagamento"), categoria.get("id"), categoria.get("nome"), categoria.get("beneficios"),
+                categoria.get("valorMensalidade")));
+        if (filtro != null) {
+            query.where(filtro.toPredicate(socio, query, cb));
+        }
+        query.orderBy(QueryUtils.toOrders(ordenacao, socio, cb));
+        return entityManager.createQuery(query).setMaxResults(limite).getResultList();
+    }
+}
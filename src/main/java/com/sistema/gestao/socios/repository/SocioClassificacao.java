@@ -0,0 +1,5 @@
+package com.sistema.gestao.socios.repository;
+
+/** Columns of a socio that the categoria counters depend on, read before set-based deletes. */
+public record SocioClassificacao(Long id, Long categoriaId, String statusPagamento) {
+}
@@ -1,13 +1,66 @@
 package com.sistema.gestao.socios.repository;
 
+import com.sistema.gestao.socios.dto.SocioResponseDTO;
 import com.sistema.gestao.socios.model.Socio;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SocioRepository extends JpaRepository<Socio, Long> {
+public interface SocioRepository extends JpaRepository<Socio, Long>, SocioBuscaRepository {
+
+    // Read model for the read-only endpoints: a single joined SELECT projected straight into SocioResponseDTO,
+    // so no managed entities, dirty-checking snapshots or lazy proxies are created just to be copied and dropped
+    String SELECT_RESPONSE = "select new com.sistema.gestao.socios.dto.SocioResponseDTO("
+            + "s.id, s.nome, s.documento, s.email, s.telefone, s.statusPagamento, "
+            + "c.id, c.nome, c.beneficios, c.valorMensalidade) "
+            + "from Socio s left join s.categoria c ";
+
     Optional<Socio> findByEmail(String email); // Example custom query
     Optional<Socio> findByDocumento(String documento); // Example custom query
+
+    // Key sets preloaded by the bulk import to check uniqueness in memory instead of two lookups per row
+    @Query("select s.email from Socio s")
+    List<String> findAllEmails();
+
+    @Query("select s.documento from Socio s")
+    List<String> findAllDocumentos();
+
+    // Socios selected by the bulk delete, with what the categoria counters need; null filters are ignored
+    @Query("select new com.sistema.gestao.socios.repository.SocioClassificacao(s.id, s.categoria.id, s.statusPagamento) "
+            + "from Socio s where (:statusPagamento is null or s.statusPagamento = :statusPagamento) "
+            + "and (:categoriaId is null or s.categoria.id = :categoriaId)")
+    List<SocioClassificacao> findClassificacoesByFiltro(@Param("statusPagamento") String statusPagamento, @Param("categoriaId") Long categoriaId);
+
+    @Query("select new com.sistema.gestao.socios.repository.SocioClassificacao(s.id, s.categoria.id, s.statusPagamento) "
+            + "from Socio s where s.id = :id")
+    Optional<SocioClassificacao> findClassificacaoById(@Param("id") Long id);
+
+    // Children (pagamentos, notificacoes) must be removed first, see SocioService.excluir
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Socio s where s.id in :ids")
+    int excluirPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_RESPONSE + "order by s.id")
+    List<SocioResponseDTO> findAllResponses();
+
+    // Keyset page: seeks past the last id already seen using the primary key index (no OFFSET scan)
+    @Query(SELECT_RESPONSE + "where s.id > :id order by s.id")
+    List<SocioResponseDTO> findResponsesAfterId(@Param("id") Long id, Limit limit);
+
+    @Query(SELECT_RESPONSE + "where s.id = :id")
+    Optional<SocioResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + "where s.email = :email")
+    Optional<SocioResponseDTO> findResponseByEmail(@Param("email") String email);
+
+    @Query(SELECT_RESPONSE + "where s.documento = :documento")
+    Optional<SocioResponseDTO> findResponseByDocumento(@Param("documento") String documento);
 }
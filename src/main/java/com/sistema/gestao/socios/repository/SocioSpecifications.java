@@ -0,0 +1,49 @@
+package com.sistema.gestao.socios.repository;
+
+import com.sistema.gestao.socios.model.Socio;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filters for the socio search. Each factory returns null for a missing argument, which
+ * {@link Specification#where} and {@link Specification#and} treat as "no restriction".
+ * The predicates only touch indexed columns (see the indexes declared on {@link Socio}).
+ */
+public final class SocioSpecifications {
+
+    private SocioSpecifications() {
+    }
+
+    public static Specification<Socio> daCategoria(Long categoriaId) {
+        return categoriaId == null ? null : (root, query, cb) -> cb.equal(root.get("categoria").get("id"), categoriaId);
+    }
+
+    public static Specification<Socio> comStatusPagamento(String statusPagamento) {
+        return statusPagamento == null ? null : (root, query, cb) -> cb.equal(root.get("statusPagamento"), statusPagamento);
+    }
+
+    /**
+     * Case-sensitive prefix match as a plain LIKE 'prefixo%'. No extra [prefixo, sucessor) range: the database
+     * compares ranges in the column collation, where (e.g. PostgreSQL en_US) punctuation is ignored, so a range
+     * built from code points can drop rows the LIKE matches ("Jean-", "D'"). Under such a collation the LIKE
+     * seeks an index only with text_pattern_ops (see the note on {@link Socio}).
+     */
+    public static Specification<Socio> nomeComecaCom(String prefixo) {
+        if (prefixo == null || prefixo.isEmpty()) {
+            return null;
+        }
+        String padrao = prefixo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("nome"), padrao, '\\');
+    }
+
+    /** Keyset condition for searches ordered by id. */
+    public static Specification<Socio> aposId(Long id) {
+        return id == null ? null : (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    /** Keyset condition for searches ordered by (nome, id). */
+    public static Specification<Socio> aposNome(String nome, Long id) {
+        return nome == null ? null : (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("nome"), nome),
+                cb.and(cb.equal(root.get("nome"), nome), cb.greaterThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.sistema.gestao.socios.repository;
+
+import com.sistema.gestao.socios.model.TokenRevogado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+    // Only the ids of revocations that still matter, used to rebuild the in-memory filter
+    @Query("select t.jti from TokenRevogado t where t.expiraEm > :agora")
+    List<String> findJtisAtivos(@Param("agora") Instant agora);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevogado t where t.expiraEm <= :agora")
+    int excluirExpirados(@Param("agora") Instant agora);
+}
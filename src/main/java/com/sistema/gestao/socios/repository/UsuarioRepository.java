@@ -2,11 +2,25 @@ package com.sistema.gestao.socios.repository;
 
 import com.sistema.gestao.socios.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
+
+    // Lightweight projection used by the stateless token version check
+    @Query("select u.tokenVersion from Usuario u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    // Rehash of the same password (cost factor upgrade): bypasses Usuario.setSenha so existing tokens stay valid
+    @Transactional
+    @Modifying
+    @Query("update Usuario u set u.senha = :senha where u.id = :id")
+    int atualizarHashSenha(@Param("id") Long id, @Param("senha") String senha);
 }
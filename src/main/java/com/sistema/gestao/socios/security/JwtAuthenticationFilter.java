@@ -1,11 +1,14 @@
 package com.sistema.gestao.socios.security;
 
+import com.sistema.gestao.socios.model.Role;
+import com.sistema.gestao.socios.model.Usuario;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.ObjectProvider; // Import ObjectProvider
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,64 +27,141 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     // Use ObjectProvider for lazy resolution
     private final ObjectProvider<UserDetailsService> userDetailsServiceProvideer; 
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final JwtFilterMetrics jwtFilterMetrics;
+
+    private static final PublicRouteClassifier PUBLIC_ROUTES = new PublicRouteClassifier(SecurityConfig.PUBLIC_PATHS);
+
+    // Stateless and immutable: one instance for all requests
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
+
+    // Stateless mode: build the principal from verified claims instead of loading the user on every request
+    @Value("${application.security.jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
 
     // Keep @RequiredArgsConstructor, it will handle the ObjectProvider injection
 
+    // Public routes (auth, Swagger, api-docs) never need an authenticated context: skip the filter entirely
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return PUBLIC_ROUTES.isPublic(request);
+    }
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
+        // Only the authentication work is timed; the rest of the chain (controller etc.) is not
+        JwtFilterMetrics.Medicao medicao = jwtFilterMetrics.iniciar();
+        String outcome = "error";
+        try {
+            outcome = authenticate(request, medicao);
+        } finally {
+            medicao.concluir(request.getRequestURI(), outcome);
+        }
+        // 10. Continue the filter chain
+        filterChain.doFilter(request, response);
+    }
 
+    /**
+     * Steps 1-9: authenticates the request from its bearer token when possible.
+     * Returns a short outcome label used for profiling.
+     */
+    private String authenticate(HttpServletRequest request, JwtFilterMetrics.Medicao medicao) {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final VerifiedClaims claims;
 
         // 1. Check if Authorization header exists and starts with "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response); // Continue chain if no token
-            return;
+            medicao.header();
+            return "no-token"; // Continue chain if no token
         }
 
         // 2. Extract the token (substring after "Bearer ")
         jwt = authHeader.substring(7);
+        medicao.header();
 
-        // 3. Extract user email (subject) from the token using JwtService
+        // 3. Verify the token once (signature + expiration); the result is reused below
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            claims = jwtService.verify(jwt);
         } catch (Exception e) {
             // Handle potential exceptions during token parsing (e.g., expired, malformed)
             // Log the error or send an appropriate response if needed
             logger.warn("Error parsing JWT token: " + e.getMessage());
-            filterChain.doFilter(request, response);
-            return;
+            medicao.verify();
+            return "invalid";
         }
 
+        // Refresh tokens are only valid at /api/auth/refresh; revoked tokens (logout, rotation) are ignored.
+        // The revocation check is answered in memory, without a query.
+        if (claims.isRefreshToken() || tokenRevocationStore.isRevoked(claims.getTokenId())) {
+            medicao.verify();
+            return "rejected";
+        }
+        medicao.verify();
 
         // 4. Check if email is extracted and user is not already authenticated
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // 5. Get UserDetailsService instance from the provider
-            UserDetailsService userDetailsService = this.userDetailsServiceProvideer.getObject(); 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-
-            // 6. Validate the token against UserDetails
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                // 7. Create an authentication token
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null, // Credentials are null for JWT-based auth
-                        userDetails.getAuthorities()
-                );
-                // 8. Set details from the request
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                // 9. Update the SecurityContextHolder
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        final String userEmail = claims.getSubject();
+        if (userEmail == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return "skipped";
         }
-        // 10. Continue the filter chain
-        filterChain.doFilter(request, response);
+
+        // 5. Resolve the principal: from the token itself in stateless mode, otherwise from the UserDetailsService
+        UserDetails userDetails;
+        if (statelessEnabled && claims.hasPrincipalClaims()) {
+            userDetails = principalFromClaims(claims);
+        } else {
+            UserDetailsService userDetailsService = this.userDetailsServiceProvideer.getObject();
+            userDetails = userDetailsService.loadUserByUsername(userEmail);
+        }
+
+        // 6. Validate the token against UserDetails
+        boolean valid = userDetails != null && jwtService.isTokenValid(claims, userDetails);
+        medicao.principal();
+        if (!valid) {
+            return "rejected";
+        }
+
+        // 7. Create an authentication token
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null, // Credentials are null for JWT-based auth
+                userDetails.getAuthorities()
+        );
+        // 8. Set details from the request
+        authToken.setDetails(
+                authenticationDetailsSource.buildDetails(request)
+        );
+        // 9. Update the SecurityContextHolder
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        medicao.context();
+        return "authenticated";
+    }
+
+    /**
+     * Builds a detached {@link Usuario} from verified claims. Returns null when the token version is no longer
+     * current (role or password changed since it was issued) or when the role claim is unknown.
+     */
+    private UserDetails principalFromClaims(VerifiedClaims claims) {
+        if (!tokenVersionRegistry.isCurrent(claims.getUserId(), claims.getTokenVersion())) {
+            return null;
+        }
+        Role role;
+        try {
+            role = Role.valueOf(claims.getRole());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown role in JWT token: " + claims.getRole());
+            return null;
+        }
+        return Usuario.builder()
+                .id(claims.getUserId())
+                .email(claims.getSubject())
+                .role(role)
+                .tokenVersion(claims.getTokenVersion())
+                .build();
     }
 }
@@ -0,0 +1,46 @@
+package com.sistema.gestao.socios.security;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event emitted once per {@link JwtAuthenticationFilter} pass, carrying the time spent in each stage.
+ * Disabled unless a recording enables it, e.g.
+ * {@code jcmd <pid> JFR.start settings=profile +com.sistema.gestao.socios.JwtFilter#enabled=true}.
+ */
+@Name("com.sistema.gestao.socios.JwtFilter")
+@Label("JWT Authentication Filter")
+@Category({"AssociaGest", "Security"})
+@Description("Per-request cost of JWT authentication, split by stage")
+@StackTrace(false)
+@Enabled(false)
+class JwtFilterEvent extends Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Header")
+    @Timespan(Timespan.NANOSECONDS)
+    long headerNanos;
+
+    @Label("Verify")
+    @Timespan(Timespan.NANOSECONDS)
+    long verifyNanos;
+
+    @Label("Principal")
+    @Timespan(Timespan.NANOSECONDS)
+    long principalNanos;
+
+    @Label("Context")
+    @Timespan(Timespan.NANOSECONDS)
+    long contextNanos;
+}
@@ -0,0 +1,123 @@
+package com.sistema.gestao.socios.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.EventType;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stage timers for {@link JwtAuthenticationFilter}: header extraction, token verification, principal load
+ * and security-context setup. Published as the "auth.filter.stage" histogram (tag stage) and, when a JFR
+ * recording enables it, as one {@link JwtFilterEvent} per request. Timers are registered up front and each thread
+ * reuses one {@link Medicao}; a request only takes {@code System.nanoTime()} stamps and records the stages it actually
+ * reached. The JFR event is only allocated while a recording has it enabled.
+ */
+@Component
+public class JwtFilterMetrics {
+
+    static final String METRIC_NAME = "auth.filter.stage";
+
+    private static final EventType EVENTO = EventType.getEventType(JwtFilterEvent.class);
+
+    private final Timer header;
+    private final Timer verify;
+    private final Timer principal;
+    private final Timer context;
+    private final ThreadLocal<Medicao> medicoes = ThreadLocal.withInitial(Medicao::new);
+
+    public JwtFilterMetrics(MeterRegistry meterRegistry) {
+        this.header = timer(meterRegistry, "header");
+        this.verify = timer(meterRegistry, "verify");
+        this.principal = timer(meterRegistry, "principal");
+        this.context = timer(meterRegistry, "context");
+    }
+
+    // The previous request of the thread has always concluded: concluir runs in the filter's finally block
+    Medicao iniciar() {
+        Medicao medicao = medicoes.get();
+        medicao.iniciar();
+        return medicao;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(METRIC_NAME)
+                .description("Latency of each JWT authentication stage")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /** Stamps for the current request of one thread; not thread-safe, never leaves its thread. */
+    final class Medicao {
+
+        private JwtFilterEvent event;
+        private long ultimo;
+        private long headerNanos;
+        private long verifyNanos;
+        private long principalNanos;
+        private long contextNanos;
+
+        private Medicao() {
+        }
+
+        private void iniciar() {
+            headerNanos = -1;
+            verifyNanos = -1;
+            principalNanos = -1;
+            contextNanos = -1;
+            event = EVENTO.isEnabled() ? new JwtFilterEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            ultimo = System.nanoTime();
+        }
+
+        void header() {
+            headerNanos = decorrido();
+        }
+
+        void verify() {
+            verifyNanos = decorrido();
+        }
+
+        void principal() {
+            principalNanos = decorrido();
+        }
+
+        void context() {
+            contextNanos = decorrido();
+        }
+
+        void concluir(String path, String outcome) {
+            registrar(header, headerNanos);
+            registrar(verify, verifyNanos);
+            registrar(principal, principalNanos);
+            registrar(context, contextNanos);
+            if (event != null && event.shouldCommit()) {
+                event.path = path;
+                event.outcome = outcome;
+                event.headerNanos = Math.max(0, headerNanos);
+                event.verifyNanos = Math.max(0, verifyNanos);
+                event.principalNanos = Math.max(0, principalNanos);
+                event.contextNanos = Math.max(0, contextNanos);
+                event.commit();
+            }
+            event = null;
+        }
+
+        private long decorrido() {
+            long agora = System.nanoTime();
+            long nanos = agora - ultimo;
+            ultimo = agora;
+            return nanos;
+        }
+
+        private void registrar(Timer timer, long nanos) {
+            if (nanos >= 0) {
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
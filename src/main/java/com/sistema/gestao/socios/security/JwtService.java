@@ -1,6 +1,10 @@
 package com.sistema.gestao.socios.security;
 
-import io.jsonwebtoken.Claims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sistema.gestao.socios.model.Usuario;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -9,15 +13,29 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    // Claims that let the filter build the principal without a database lookup (stateless mode)
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    // Marks refresh tokens so they are never accepted as access tokens
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
     // It's highly recommended to externalize this secret key via application properties
     // and use a strong, secure key.
     @Value("${application.security.jwt.secret-key:4D6251655468576D5A7134743777217A25432A462D4A614E645267556B587032}") // Default value for development
@@ -26,17 +44,62 @@ public class JwtService {
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration; // Expiration time in milliseconds
 
+    @Value("${application.security.jwt.refresh-expiration:604800000}")
+    private long refreshExpiration = 604_800_000L; // 7 days, in milliseconds
+
+    // Verified tokens are cached by digest so repeated requests with the same bearer token skip HMAC + JSON parsing
+    @Value("${application.security.jwt.cache.enabled:true}")
+    private boolean cacheEnabled = true;
+
+    @Value("${application.security.jwt.cache.max-size:10000}")
+    private long cacheMaxSize = 10_000;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    });
+
+    // Key, parser and cache are built once (lazily, so the service also works when created outside Spring)
+    private volatile VerificationEngine engine;
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
+    }
+
+    // Goes through verify(): a token is parsed at most once, whichever accessor callers use
+    public <T> T extractClaim(String token, Function<VerifiedClaims, T> claimsResolver) {
+        return claimsResolver.apply(verify(token));
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    /**
+     * Verifies signature and expiration once and returns the resulting claims.
+     * Throws the usual jjwt exceptions (expired, malformed, bad signature) on failure.
+     */
+    public VerifiedClaims verify(String token) {
+        VerificationEngine engine = engine();
+        if (engine.cache == null) {
+            return VerifiedClaims.from(engine.parser.parseClaimsJws(token).getBody());
+        }
+
+        ByteBuffer digest = digest(token);
+        VerifiedClaims cached = engine.cache.getIfPresent(digest);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return cached;
+        }
+
+        // Cache miss (or entry just expired): full verification, which throws ExpiredJwtException when due
+        VerifiedClaims claims = VerifiedClaims.from(engine.parser.parseClaimsJws(token).getBody());
+        if (claims.hasExpiration()) {
+            engine.cache.put(digest, claims);
+        }
+        return claims;
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        return generateToken(principalClaims(userDetails), userDetails);
     }
 
     public String generateToken(
@@ -46,51 +109,112 @@ public class JwtService {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
 
-    // Optional: Method to generate refresh token if needed
-    // public String generateRefreshToken(UserDetails userDetails) {
-    //     return buildToken(new HashMap<>(), userDetails, refreshTokenExpiration);
-    // }
+    // Long-lived token only accepted by the refresh endpoint; carries the same principal claims for the version check
+    public String generateRefreshToken(UserDetails userDetails) {
+        Map<String, Object> claims = principalClaims(userDetails);
+        claims.put(CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH);
+        return buildToken(claims, userDetails, refreshExpiration);
+    }
+
+    private Map<String, Object> principalClaims(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof Usuario usuario && usuario.getId() != null && usuario.getRole() != null) {
+            claims.put(CLAIM_USER_ID, usuario.getId());
+            claims.put(CLAIM_ROLE, usuario.getRole().name());
+            claims.put(CLAIM_TOKEN_VERSION, usuario.getTokenVersion());
+        }
+        return claims;
+    }
 
     private String buildToken(
             Map<String, Object> extraClaims,
             UserDetails userDetails,
             long expiration
     ) {
+        long now = System.currentTimeMillis();
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString()) // jti: lets a single token be revoked
                 .setSubject(userDetails.getUsername()) // Usually email or username
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(engine().key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(VerifiedClaims claims, UserDetails userDetails) {
+        return claims.getSubject() != null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && !claims.isExpired(System.currentTimeMillis());
     }
 
     public Date extractExpiration(String token) { // Changed from private to public
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).getExpiration();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private VerificationEngine engine() {
+        VerificationEngine current = engine;
+        if (current == null) {
+            synchronized (this) {
+                current = engine;
+                if (current == null) {
+                    current = new VerificationEngine(secretKey, cacheEnabled, cacheMaxSize);
+                    engine = current;
+                }
+            }
+        }
+        return current;
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static ByteBuffer digest(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Holds everything that only depends on configuration: the decoded HMAC key, a thread-safe parser and
+     * the bounded cache of verified tokens. Entries expire together with the token they describe.
+     */
+    private static final class VerificationEngine {
+
+        private final Key key;
+        private final JwtParser parser;
+        private final Cache<ByteBuffer, VerifiedClaims> cache;
+
+        private VerificationEngine(String secretKey, boolean cacheEnabled, long cacheMaxSize) {
+            this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+            this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+            this.cache = cacheEnabled
+                    ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaxSize)
+                        .expireAfter(new TokenExpiry())
+                        .build()
+                    : null;
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<ByteBuffer, VerifiedClaims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedClaims value, long currentTime) {
+            long remainingMillis = value.getExpiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
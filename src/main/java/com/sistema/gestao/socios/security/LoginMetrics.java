@@ -0,0 +1,48 @@
+package com.sistema.gestao.socios.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-stage login latency, published as the "auth.login.stage" timer tagged stage=lookup|verify|sign:
+ * loading the user, checking the password hash and signing the token.
+ * Timers are registered once so the hot path only records.
+ */
+@Component
+public class LoginMetrics {
+
+    static final String METRIC_NAME = "auth.login.stage";
+
+    private final Timer lookup;
+    private final Timer verify;
+    private final Timer sign;
+
+    public LoginMetrics(MeterRegistry meterRegistry) {
+        this.lookup = timer(meterRegistry, "lookup");
+        this.verify = timer(meterRegistry, "verify");
+        this.sign = timer(meterRegistry, "sign");
+    }
+
+    public <T> T timeLookup(Supplier<T> stage) {
+        return lookup.record(stage);
+    }
+
+    public void timeVerify(Runnable stage) {
+        verify.record(stage);
+    }
+
+    public <T> T timeSign(Supplier<T> stage) {
+        return sign.record(stage);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(METRIC_NAME)
+                .description("Latency of each login stage")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
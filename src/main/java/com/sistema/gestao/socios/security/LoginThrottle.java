@@ -0,0 +1,101 @@
+package com.sistema.gestao.socios.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sistema.gestao.socios.exception.MuitasTentativasException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory login throttle with one token bucket per account (email) and one per client IP.
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (GCRA), updated with CAS,
+ * so concurrent attempts never take a lock. Buckets live in a size-bounded cache and are evicted once idle;
+ * an evicted bucket is equivalent to a full one, so eviction never makes the limit stricter.
+ */
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final Limite porEmail;
+    private final Limite porIp;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LoginThrottle(
+            @Value("${application.security.login-throttle.enabled:true}") boolean enabled,
+            @Value("${application.security.login-throttle.email.capacity:5}") int emailCapacity,
+            @Value("${application.security.login-throttle.email.refill-interval:1m}") Duration emailRefill,
+            @Value("${application.security.login-throttle.ip.capacity:20}") int ipCapacity,
+            @Value("${application.security.login-throttle.ip.refill-interval:3s}") Duration ipRefill,
+            @Value("${application.security.login-throttle.max-keys:100000}") long maxKeys,
+            @Value("${application.security.login-throttle.idle-eviction:15m}") Duration idleEviction
+    ) {
+        this(enabled, new Limite(emailCapacity, emailRefill), new Limite(ipCapacity, ipRefill), maxKeys, idleEviction, System::nanoTime);
+    }
+
+    LoginThrottle(boolean enabled, Limite porEmail, Limite porIp, long maxKeys, Duration idleEviction, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.porEmail = porEmail;
+        this.porIp = porIp;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleEviction)
+                .build();
+    }
+
+    /**
+     * Consumes one attempt from the IP bucket and then from the account bucket.
+     *
+     * @throws MuitasTentativasException when either bucket is exhausted
+     */
+    public void verificar(String email, String ip) {
+        if (!enabled) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (ip != null) {
+            consumir("ip:" + ip, porIp, now);
+        }
+        if (email != null) {
+            consumir("email:" + email.trim().toLowerCase(Locale.ROOT), porEmail, now);
+        }
+    }
+
+    long chavesAtivas() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private void consumir(String chave, Limite limite, long now) {
+        // New buckets start "full": TAT = now means a whole burst is available
+        AtomicLong tat = buckets.get(chave, key -> new AtomicLong(now));
+        while (true) {
+            long atual = tat.get();
+            long novo = Math.max(atual, now) + limite.intervaloNanos;
+            long excesso = novo - now - limite.janelaNanos;
+            if (excesso > 0) {
+                throw new MuitasTentativasException(
+                        "Muitas tentativas de login. Tente novamente mais tarde.",
+                        Duration.ofNanos(excesso));
+            }
+            if (tat.compareAndSet(atual, novo)) {
+                return;
+            }
+        }
+    }
+
+    record Limite(long intervaloNanos, long janelaNanos) {
+
+        Limite(int capacity, Duration refillInterval) {
+            this(refillInterval.toNanos(), refillInterval.toNanos() * capacity);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.sistema.gestao.socios.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Precompiled matcher for the public route patterns of {@link SecurityConfig}.
+ * Supports the two forms used there: exact paths ("/swagger-ui.html") and subtree patterns ("/api/auth/**",
+ * matching "/api/auth" and anything below it). Matching is a set lookup plus a few prefix comparisons,
+ * with no pattern parsing or allocation per request. Misclassifying a protected route as public is fail-safe:
+ * the request simply reaches the authorization rules unauthenticated.
+ */
+final class PublicRouteClassifier {
+
+    private final Set<String> exatos;
+    private final String[] prefixos;
+
+    PublicRouteClassifier(String... patterns) {
+        Set<String> exatos = new HashSet<>();
+        List<String> prefixos = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern.endsWith("/**")) {
+                String base = pattern.substring(0, pattern.length() - 3);
+                exatos.add(base);
+                prefixos.add(base + "/");
+            } else if (pattern.contains("*")) {
+                throw new IllegalArgumentException("Padrão de rota não suportado: " + pattern);
+            } else {
+                exatos.add(pattern);
+            }
+        }
+        this.exatos = Set.copyOf(exatos);
+        this.prefixos = prefixos.toArray(String[]::new);
+    }
+
+    boolean isPublic(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
+            path = path.substring(contextPath.length());
+        }
+        return isPublic(path);
+    }
+
+    boolean isPublic(String path) {
+        if (exatos.contains(path)) {
+            return true;
+        }
+        for (String prefixo : prefixos) {
+            if (path.startsWith(prefixo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
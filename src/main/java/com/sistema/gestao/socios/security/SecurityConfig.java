@@ -4,6 +4,7 @@ package com.sistema.gestao.socios.security;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 // import org.springframework.context.annotation.Lazy; // No longer needed here
 // Removed AuthenticationManager import (defined in ApplicationConfig)
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -46,7 +47,8 @@ public class SecurityConfig {
     }
 
     // Define public paths for better readability and management
-    private static final String[] PUBLIC_PATHS = {
+    // Also used by JwtAuthenticationFilter to skip token processing on these routes
+    static final String[] PUBLIC_PATHS = {
             "/api/auth/**",          // Authentication endpoints
             "/api-docs/**",         // OpenAPI spec JSON/YAML (Corrected path based on application.properties)
             "/swagger-ui/**",       // Swagger UI resources (CSS, JS, etc.)
@@ -66,7 +68,9 @@ public class SecurityConfig {
                         // Permit access to public paths defined above
                         .requestMatchers(PUBLIC_PATHS).permitAll()
                         // Admin-specific endpoints (ensure these come AFTER permitAll)
-                        .requestMatchers("/api/administradores/**", "/api/categorias/**", "/api/relatorios-financeiros/**").hasRole("ADMIN")
+                        .requestMatchers("/api/administradores/**", "/api/categorias/**", "/api/relatorios-financeiros/**", "/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/api/socios/importacao").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/socios").hasRole("ADMIN")
                         // Socio and Admin endpoints (ensure these come AFTER permitAll)
                         .requestMatchers("/api/socios/**", "/api/pagamentos/**", "/api/notificacoes/**").hasAnyRole("ADMIN", "SOCIO")
                         // Secure any other request (require authentication)
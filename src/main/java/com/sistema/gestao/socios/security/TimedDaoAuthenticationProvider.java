@@ -0,0 +1,30 @@
+package com.sistema.gestao.socios.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * DaoAuthenticationProvider that records the user lookup and the password check as separate
+ * {@link LoginMetrics} stages. Failed attempts are timed too, since they cost the same work.
+ * The lookup is timed by wrapping the UserDetailsService because {@code retrieveUser} is final.
+ */
+public class TimedDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final LoginMetrics loginMetrics;
+
+    public TimedDaoAuthenticationProvider(LoginMetrics loginMetrics) {
+        this.loginMetrics = loginMetrics;
+    }
+
+    @Override
+    public void setUserDetailsService(UserDetailsService userDetailsService) {
+        super.setUserDetailsService(username -> loginMetrics.timeLookup(() -> userDetailsService.loadUserByUsername(username)));
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication) {
+        loginMetrics.timeVerify(() -> super.additionalAuthenticationChecks(userDetails, authentication));
+    }
+}
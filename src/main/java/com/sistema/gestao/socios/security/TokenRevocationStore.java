@@ -0,0 +1,123 @@
+package com.sistema.gestao.socios.security;
+
+import com.sistema.gestao.socios.model.TokenRevogado;
+import com.sistema.gestao.socios.repository.TokenRevogadoRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids, persisted in tokens_revogados and mirrored in memory so the per-request check does no I/O.
+ * The mirror is a Bloom filter in front of an exact set: almost every token is not revoked and is answered by the
+ * filter alone; the exact set only settles the rare positives. The mirror is rebuilt from the table on a schedule
+ * (which also purges expired rows), so revocations made on another node become visible within one refresh interval;
+ * revocations made on this node are visible immediately.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    private final TokenRevogadoRepository tokenRevogadoRepository;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    // Local revocations (jti -> System.nanoTime() after commit), carried into rebuilds until the table is known to have them
+    private final Map<String, Long> revogacoesLocais = new ConcurrentHashMap<>();
+    private final Object swapLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public TokenRevocationStore(
+            TokenRevogadoRepository tokenRevogadoRepository,
+            @Value("${application.security.revocation.expected-insertions:100000}") int expectedInsertions,
+            @Value("${application.security.revocation.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.snapshot = new Snapshot(BloomFilter.create(expectedInsertions, falsePositiveRate), ConcurrentHashMap.newKeySet());
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.bloom.mightContain(jti) && current.exatos.contains(jti);
+    }
+
+    /**
+     * Persists the revocation and makes it visible locally right away.
+     *
+     * @return false when the token had already been revoked (by this or another request)
+     */
+    public boolean revoke(String jti, Instant expiraEm) {
+        if (jti == null) {
+            return false;
+        }
+        try {
+            tokenRevogadoRepository.save(TokenRevogado.builder()
+                    .jti(jti)
+                    .expiraEm(expiraEm)
+                    .revogadoEm(Instant.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+        synchronized (swapLock) {
+            revogacoesLocais.put(jti, System.nanoTime());
+            snapshot.add(jti);
+        }
+        return true;
+    }
+
+    @PostConstruct
+    @Scheduled(
+            fixedDelayString = "${application.security.revocation.refresh-interval:PT30S}",
+            initialDelayString = "${application.security.revocation.refresh-interval:PT30S}"
+    )
+    public void atualizar() {
+        long inicio = System.nanoTime();
+        Instant agora = Instant.now();
+        Collection<String> ativos;
+        try {
+            tokenRevogadoRepository.excluirExpirados(agora);
+            ativos = tokenRevogadoRepository.findJtisAtivos(agora);
+        } catch (DataAccessException e) {
+            // Keep serving from the previous mirror; the next run retries
+            log.warn("Falha ao atualizar tokens revogados: {}", e.getMessage());
+            return;
+        }
+
+        Snapshot novo = new Snapshot(
+                BloomFilter.create(Math.max(expectedInsertions, ativos.size() * 2), falsePositiveRate),
+                ConcurrentHashMap.newKeySet(ativos.size())
+        );
+        ativos.forEach(novo::add);
+        synchronized (swapLock) {
+            revogacoesLocais.keySet().forEach(novo::add);
+            snapshot = novo;
+            // Committed before the query started, hence already part of what was just loaded
+            revogacoesLocais.values().removeIf(revogadoEm -> revogadoEm - inicio < 0);
+        }
+    }
+
+    private record Snapshot(BloomFilter bloom, Set<String> exatos) {
+
+        void add(String jti) {
+            exatos.add(jti);
+            bloom.put(jti);
+        }
+    }
+}
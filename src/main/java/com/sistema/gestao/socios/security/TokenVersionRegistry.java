@@ -0,0 +1,73 @@
+package com.sistema.gestao.socios.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sistema.gestao.socios.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "is this token version still current for the user?" without a query per request.
+ * Versions are read once per user and kept for a short TTL, which bounds how long a change made
+ * on another node can go unnoticed; local changes invalidate the entry immediately and again once their transaction
+ * completes. As in {@link UsuarioDetailsCache}, a version read while an invalidation ran is answered but not cached.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final int USUARIO_INEXISTENTE = -1;
+
+    private final UsuarioRepository usuarioRepository;
+    private final Cache<Long, Integer> versions;
+    private final AtomicLong geracao = new AtomicLong();
+
+    public TokenVersionRegistry(
+            UsuarioRepository usuarioRepository,
+            @Value("${application.security.jwt.stateless.version-ttl:30s}") Duration ttl,
+            @Value("${application.security.jwt.stateless.version-cache-size:100000}") long maxSize
+    ) {
+        this.usuarioRepository = usuarioRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean isCurrent(Long usuarioId, int tokenVersion) {
+        if (usuarioId == null) {
+            return false;
+        }
+        int[] carregada = new int[1];
+        Integer versao = versions.get(usuarioId, id -> {
+            long inicio = geracao.get();
+            carregada[0] = usuarioRepository.findTokenVersionById(id).orElse(USUARIO_INEXISTENTE);
+            return geracao.get() == inicio ? carregada[0] : null;
+        });
+        return (versao != null ? versao : carregada[0]) == tokenVersion;
+    }
+
+    public void invalidate(Long usuarioId) {
+        if (usuarioId == null) {
+            return;
+        }
+        remover(usuarioId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remover(usuarioId);
+                }
+            });
+        }
+    }
+
+    private void remover(Long usuarioId) {
+        geracao.incrementAndGet();
+        versions.invalidate(usuarioId);
+    }
+}
@@ -0,0 +1,130 @@
+package com.sistema.gestao.socios.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sistema.gestao.socios.model.Role;
+import com.sistema.gestao.socios.model.Usuario;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache in front of the usuarios lookup done by the UserDetailsService
+ * (once per authenticated request in the default mode, once more during login).
+ * Entries are immutable snapshots of the row; every lookup returns a new detached Usuario built from one, so request
+ * threads never share (or mutate) the same instance. Entries are invalidated by key by {@link UsuarioEntityListener}
+ * whenever a Usuario row is inserted, updated or removed, and again once the transaction completes, since a concurrent
+ * login may reload the pre-commit row in between. Every invalidation advances a generation; a load during which it
+ * advanced is returned to its caller but not cached, so a row read before the commit never outlives it.
+ * Hit/miss/eviction statistics are published as the standard Micrometer "cache.*" meters (cache=usuarioDetails).
+ */
+@Component
+public class UsuarioDetailsCache {
+
+    static final String CACHE_NAME = "usuarioDetails";
+
+    private final boolean enabled;
+    private final Cache<String, Snapshot> cache;
+    // Email each cached row is stored under, so an email change can still evict the entry of the previous one
+    private final ConcurrentMap<Long, String> emailPorId = new ConcurrentHashMap<>();
+    private final Counter invalidations;
+    private final AtomicLong geracao = new AtomicLong();
+
+    public UsuarioDetailsCache(
+            MeterRegistry meterRegistry,
+            @Value("${application.security.user-cache.enabled:true}") boolean enabled,
+            @Value("${application.security.user-cache.ttl:5m}") Duration ttl,
+            @Value("${application.security.user-cache.max-size:10000}") long maxSize
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .executor(Runnable::run) // Removal listener runs inline, keeping emailPorId in step with the cache
+                .<String, Snapshot>removalListener((email, snapshot, causa) -> {
+                    if (snapshot != null) {
+                        emailPorId.remove(snapshot.id(), email);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.invalidations = Counter.builder("cache.invalidations")
+                .description("Entries removed because the underlying Usuario row changed")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public Optional<Usuario> get(String email, Function<String, Optional<Usuario>> loader) {
+        if (!enabled || email == null) {
+            return loader.apply(email);
+        }
+        // Absent users are not cached: the loader returning null leaves no entry behind
+        Snapshot[] carregado = new Snapshot[1];
+        Snapshot snapshot = cache.get(email, key -> {
+            long inicio = geracao.get();
+            carregado[0] = loader.apply(key).map(Snapshot::de).orElse(null);
+            // Checked inside the compute: invalidate() advances the generation before removing this key, which waits for it
+            if (carregado[0] == null || geracao.get() != inicio) {
+                return null;
+            }
+            if (carregado[0].id() != null) {
+                emailPorId.put(carregado[0].id(), key);
+            }
+            return carregado[0];
+        });
+        return Optional.ofNullable(snapshot != null ? snapshot : carregado[0]).map(Snapshot::toUsuario);
+    }
+
+    /** Evicts the usuario now and, inside a transaction, once more after it completes. */
+    public void invalidate(Usuario usuario) {
+        Long id = usuario.getId();
+        String email = usuario.getEmail();
+        remover(id, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remover(id, email);
+                }
+            });
+        }
+        invalidations.increment();
+    }
+
+    private void remover(Long id, String email) {
+        geracao.incrementAndGet();
+        if (email != null) {
+            cache.invalidate(email);
+        }
+        // The email itself may have changed: also drop the entry cached under the previous one
+        if (id != null) {
+            String anterior = emailPorId.get(id);
+            if (anterior != null) {
+                cache.invalidate(anterior);
+            }
+        }
+    }
+
+    private record Snapshot(Long id, String email, String senha, Role role, int tokenVersion) {
+
+        static Snapshot de(Usuario usuario) {
+            return new Snapshot(usuario.getId(), usuario.getEmail(), usuario.getSenha(), usuario.getRole(), usuario.getTokenVersion());
+        }
+
+        Usuario toUsuario() {
+            return new Usuario(id, email, senha, role, tokenVersion);
+        }
+    }
+}
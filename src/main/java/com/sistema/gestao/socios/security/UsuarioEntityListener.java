@@ -0,0 +1,34 @@
+package com.sistema.gestao.socios.security;
+
+import com.sistema.gestao.socios.model.Usuario;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps the in-memory security state in step with the usuarios table.
+ * Instantiated by Hibernate through Spring's bean container; collaborators are resolved lazily
+ * because the listener is created while the EntityManagerFactory itself is still being built.
+ */
+public class UsuarioEntityListener {
+
+    private final ObjectProvider<TokenVersionRegistry> tokenVersionRegistry;
+    private final ObjectProvider<UsuarioDetailsCache> usuarioDetailsCache;
+
+    public UsuarioEntityListener(
+            ObjectProvider<TokenVersionRegistry> tokenVersionRegistry,
+            ObjectProvider<UsuarioDetailsCache> usuarioDetailsCache
+    ) {
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.usuarioDetailsCache = usuarioDetailsCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void usuarioAlterado(Usuario usuario) {
+        tokenVersionRegistry.ifAvailable(registry -> registry.invalidate(usuario.getId()));
+        usuarioDetailsCache.ifAvailable(cache -> cache.invalidate(usuario));
+    }
+}
@@ -0,0 +1,102 @@
+package com.sistema.gestao.socios.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a token whose signature and expiration were already checked by {@link JwtService}.
+ * Instances are shared between requests through the verification cache, so nothing here may be mutated.
+ */
+public final class VerifiedClaims {
+
+    private final String tokenId;
+    private final String subject;
+    private final long issuedAtMillis;
+    private final long expiresAtMillis;
+    private final Map<String, Object> claims;
+
+    private VerifiedClaims(String tokenId, String subject, long issuedAtMillis, long expiresAtMillis, Map<String, Object> claims) {
+        this.tokenId = tokenId;
+        this.subject = subject;
+        this.issuedAtMillis = issuedAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+        this.claims = claims;
+    }
+
+    static VerifiedClaims from(Claims body) {
+        Date issuedAt = body.getIssuedAt();
+        Date expiration = body.getExpiration();
+        return new VerifiedClaims(
+                body.getId(),
+                body.getSubject(),
+                issuedAt != null ? issuedAt.getTime() : 0L,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE,
+                Collections.unmodifiableMap(new LinkedHashMap<>(body))
+        );
+    }
+
+    /** The jti claim; null for tokens issued before revocation support. */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public long getIssuedAtMillis() {
+        return issuedAtMillis;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public Date getExpiration() {
+        return new Date(expiresAtMillis);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+
+    public boolean hasExpiration() {
+        return expiresAtMillis != Long.MAX_VALUE;
+    }
+
+    public <T> T get(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    public Long getUserId() {
+        Number value = get(JwtService.CLAIM_USER_ID, Number.class);
+        return value != null ? value.longValue() : null;
+    }
+
+    public String getRole() {
+        return get(JwtService.CLAIM_ROLE, String.class);
+    }
+
+    public Integer getTokenVersion() {
+        Number value = get(JwtService.CLAIM_TOKEN_VERSION, Number.class);
+        return value != null ? value.intValue() : null;
+    }
+
+    public boolean isRefreshToken() {
+        return JwtService.TOKEN_TYPE_REFRESH.equals(get(JwtService.CLAIM_TOKEN_TYPE, String.class));
+    }
+
+    /** True when the token carries everything needed to authenticate without loading the user. */
+    public boolean hasPrincipalClaims() {
+        return getUserId() != null && getRole() != null && getTokenVersion() != null;
+    }
+
+    public Map<String, Object> asMap() {
+        return claims;
+    }
+}
@@ -2,14 +2,20 @@ package com.sistema.gestao.socios.service;
 
 import com.sistema.gestao.socios.dto.AuthenticationResponseDTO;
 import com.sistema.gestao.socios.dto.LoginRequestDTO;
+import com.sistema.gestao.socios.dto.RefreshTokenRequestDTO;
 import com.sistema.gestao.socios.dto.RegisterRequestDTO;
 import com.sistema.gestao.socios.exception.RegraNegocioException;
 import com.sistema.gestao.socios.model.Usuario;
 import com.sistema.gestao.socios.repository.UsuarioRepository;
 import com.sistema.gestao.socios.security.JwtService;
+import com.sistema.gestao.socios.security.LoginMetrics;
+import com.sistema.gestao.socios.security.TokenRevocationStore;
+import com.sistema.gestao.socios.security.VerifiedClaims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -22,6 +28,8 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final LoginMetrics loginMetrics;
+    private final TokenRevocationStore tokenRevocationStore;
 
     public AuthenticationResponseDTO register(RegisterRequestDTO request) {
         // Check if user already exists
@@ -38,19 +46,15 @@ public class AuthenticationService {
         // Save the user
         usuarioRepository.save(usuario);
 
-        // Generate JWT token for the new user
-        var jwtToken = jwtService.generateToken(usuario);
-
-        // Return the token
-        return AuthenticationResponseDTO.builder()
-                .token(jwtToken)
-                .build();
+        // Generate JWT tokens for the new user
+        return emitirTokens(usuario);
     }
 
     public AuthenticationResponseDTO login(LoginRequestDTO request) {
+        Authentication authentication;
         try {
             // Authenticate the user using Spring Security's AuthenticationManager
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getEmail(),
                             request.getSenha()
@@ -61,17 +65,67 @@ public class AuthenticationService {
             throw new RegraNegocioException("Credenciais inválidas para o email: " + request.getEmail(), e);
         }
 
+        // Reuse the principal loaded during authentication instead of querying the user again
+        if (authentication == null || !(authentication.getPrincipal() instanceof Usuario usuario)) {
+            throw new RegraNegocioException("Erro inesperado: Usuário não encontrado após autenticação bem-sucedida."); // Should not happen if authenticate passed
+        }
 
-        // If authentication is successful, find the user (should exist)
-        var usuario = usuarioRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RegraNegocioException("Erro inesperado: Usuário não encontrado após autenticação bem-sucedida.")); // Should not happen if authenticate passed
+        // Generate JWT tokens
+        return loginMetrics.timeSign(() -> emitirTokens(usuario));
+    }
 
-        // Generate JWT token
-        var jwtToken = jwtService.generateToken(usuario);
+    public AuthenticationResponseDTO refresh(RefreshTokenRequestDTO request) {
+        VerifiedClaims claims = verificarToken(request.getRefreshToken(), "Refresh token inválido ou expirado.");
+        if (!claims.isRefreshToken() || tokenRevocationStore.isRevoked(claims.getTokenId())) {
+            throw new RegraNegocioException("Refresh token inválido ou expirado.");
+        }
+
+        var usuario = usuarioRepository.findByEmail(claims.getSubject())
+                .orElseThrow(() -> new RegraNegocioException("Refresh token inválido ou expirado."));
+        // Password or role changed since the token was issued
+        Integer versao = claims.getTokenVersion();
+        if (versao == null || versao != usuario.getTokenVersion()) {
+            throw new RegraNegocioException("Refresh token inválido ou expirado.");
+        }
+
+        // Rotation: each refresh token is single-use; a concurrent second use loses on the revocation insert
+        if (!tokenRevocationStore.revoke(claims.getTokenId(), claims.getExpiration().toInstant())) {
+            throw new RegraNegocioException("Refresh token inválido ou expirado.");
+        }
+        return emitirTokens(usuario);
+    }
 
-        // Return the token
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken == null || accessToken.isBlank()) {
+            throw new RegraNegocioException("Token de acesso não informado.");
+        }
+        VerifiedClaims access = verificarToken(accessToken, "Token de acesso inválido ou expirado.");
+        if (access.isRefreshToken()) {
+            throw new RegraNegocioException("Token de acesso inválido ou expirado.");
+        }
+        tokenRevocationStore.revoke(access.getTokenId(), access.getExpiration().toInstant());
+
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            VerifiedClaims refresh = verificarToken(refreshToken, "Refresh token inválido ou expirado.");
+            if (!refresh.isRefreshToken() || !refresh.getSubject().equals(access.getSubject())) {
+                throw new RegraNegocioException("Refresh token inválido ou expirado.");
+            }
+            tokenRevocationStore.revoke(refresh.getTokenId(), refresh.getExpiration().toInstant());
+        }
+    }
+
+    private AuthenticationResponseDTO emitirTokens(Usuario usuario) {
         return AuthenticationResponseDTO.builder()
-                .token(jwtToken)
+                .token(jwtService.generateToken(usuario))
+                .refreshToken(jwtService.generateRefreshToken(usuario))
                 .build();
     }
+
+    private VerifiedClaims verificarToken(String token, String mensagemErro) {
+        try {
+            return jwtService.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RegraNegocioException(mensagemErro, e);
+        }
+    }
 }
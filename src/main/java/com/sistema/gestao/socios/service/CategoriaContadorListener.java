@@ -0,0 +1,219 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.model.Categoria;
+import com.sistema.gestao.socios.model.Socio;
+import com.sistema.gestao.socios.repository.SocioClassificacao;
+import com.sistema.gestao.socios.service.CategoriaContadores.Contagem;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains categoria_contador from Hibernate's post-insert/update/delete events. Changes are accumulated per session
+ * and written once, just before the transaction commits (after the final flush), as one UPDATE per affected categoria;
+ * a rollback discards them. Categorias are written in id order so concurrent transactions lock counter rows in the
+ * same order. Set-based JPQL deletes raise no events: callers report those through {@link #registrarExclusoes}.
+ */
+@Component
+public class CategoriaContadorListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String SQL_CRIAR =
+            "insert into categoria_contador (categoria_id, total, pagos, pendentes, atrasados) values (?, 0, 0, 0, 0)";
+    private static final String SQL_SOMAR =
+            "update categoria_contador set total = total + ?, pagos = pagos + ?, pendentes = pendentes + ?, atrasados = atrasados + ? "
+                    + "where categoria_id = ?";
+    private static final String SQL_REMOVER = "delete from categoria_contador where categoria_id = ?";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final CategoriaContadores contadores;
+    private final Map<SessionImplementor, Lote> lotes = new ConcurrentHashMap<>();
+
+    public CategoriaContadorListener(EntityManagerFactory entityManagerFactory, EntityManager entityManager, CategoriaContadores contadores) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.contadores = contadores;
+    }
+
+    @PostConstruct
+    void registrar() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Socio socio) {
+            lote(event.getSession()).somar(categoriaId(socio.getCategoria()), socio.getStatusPagamento(), 1);
+        } else if (event.getEntity() instanceof Categoria categoria) {
+            lote(event.getSession()).criadas.add(categoria.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Socio) || event.getOldState() == null) {
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        int indiceCategoria = persister.getEntityMetamodel().getPropertyIndex("categoria");
+        int indiceStatus = persister.getEntityMetamodel().getPropertyIndex("statusPagamento");
+        Long categoriaAnterior = categoriaId(event.getOldState()[indiceCategoria]);
+        Long categoriaAtual = categoriaId(event.getState()[indiceCategoria]);
+        String statusAnterior = (String) event.getOldState()[indiceStatus];
+        String statusAtual = (String) event.getState()[indiceStatus];
+        if (Objects.equals(categoriaAnterior, categoriaAtual) && Objects.equals(statusAnterior, statusAtual)) {
+            return;
+        }
+        Lote lote = lote(event.getSession());
+        lote.somar(categoriaAnterior, statusAnterior, -1);
+        lote.somar(categoriaAtual, statusAtual, 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Socio socio) {
+            lote(event.getSession()).somar(categoriaId(socio.getCategoria()), socio.getStatusPagamento(), -1);
+        } else if (event.getEntity() instanceof Categoria categoria) {
+            lote(event.getSession()).removidas.add(categoria.getId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /** Socios removed by a set-based delete in the current transaction. */
+    public void registrarExclusoes(Collection<SocioClassificacao> socios) {
+        if (socios.isEmpty()) {
+            return;
+        }
+        Lote lote = lote(entityManager.unwrap(SessionImplementor.class));
+        socios.forEach(socio -> lote.somar(socio.categoriaId(), socio.statusPagamento(), -1));
+    }
+
+    private Lote lote(SessionImplementor session) {
+        return lotes.computeIfAbsent(session, s -> {
+            Lote novo = new Lote();
+            s.getActionQueue().registerProcess(sessao -> gravar(sessao, novo, contadores));
+            s.getActionQueue().registerProcess((sucesso, sessao) -> {
+                lotes.remove(sessao);
+                if (!novo.iniciado) {
+                    return;
+                }
+                if (sucesso) {
+                    contadores.aplicar(novo.categorias(), novo.criadas, novo.deltas, novo.removidas);
+                } else {
+                    contadores.descartar(novo.categorias());
+                }
+            });
+            return novo;
+        });
+    }
+
+    private static void gravar(SessionImplementor session, Lote lote, CategoriaContadores contadores) {
+        if (lote.isVazio()) {
+            return;
+        }
+        // Announced before the UPDATE: from here on a reload cannot know whether it sees this transaction's delta
+        contadores.iniciar(lote.categorias());
+        lote.iniciado = true;
+        session.doWork(conexao -> {
+            if (!lote.criadas.isEmpty()) {
+                try (PreparedStatement insert = conexao.prepareStatement(SQL_CRIAR)) {
+                    for (Long id : lote.criadas) {
+                        insert.setLong(1, id);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            }
+            if (!lote.deltas.isEmpty()) {
+                try (PreparedStatement update = conexao.prepareStatement(SQL_SOMAR)) {
+                    for (Map.Entry<Long, Contagem> entrada : lote.deltas.entrySet()) {
+                        Contagem delta = entrada.getValue();
+                        update.setLong(1, delta.total());
+                        update.setLong(2, delta.pagos());
+                        update.setLong(3, delta.pendentes());
+                        update.setLong(4, delta.atrasados());
+                        update.setLong(5, entrada.getKey());
+                        update.addBatch();
+                    }
+                    update.executeBatch();
+                }
+            }
+            if (!lote.removidas.isEmpty()) {
+                try (PreparedStatement delete = conexao.prepareStatement(SQL_REMOVER)) {
+                    for (Long id : lote.removidas) {
+                        delete.setLong(1, id);
+                        delete.addBatch();
+                    }
+                    delete.executeBatch();
+                }
+            }
+        });
+    }
+
+    private static Long categoriaId(Object categoria) {
+        if (categoria instanceof HibernateProxy proxy) {
+            return (Long) proxy.getHibernateLazyInitializer().getInternalIdentifier(); // Does not initialize the proxy
+        }
+        return categoria instanceof Categoria c ? c.getId() : null;
+    }
+
+    /** Counter changes of one transaction. */
+    private static final class Lote {
+
+        private final Set<Long> criadas = new LinkedHashSet<>();
+        private final Map<Long, Contagem> deltas = new TreeMap<>(); // Id order: see class comment
+        private final Set<Long> removidas = new LinkedHashSet<>();
+        private boolean iniciado;
+
+        void somar(Long categoriaId, String statusPagamento, int sinal) {
+            if (categoriaId == null) {
+                return;
+            }
+            Contagem delta = deltas.merge(categoriaId, Contagem.de(statusPagamento, sinal), Contagem::somar);
+            if (delta.isZero()) {
+                deltas.remove(categoriaId); // Moved out and back in within the same transaction
+            }
+        }
+
+        boolean isVazio() {
+            return criadas.isEmpty() && deltas.isEmpty() && removidas.isEmpty();
+        }
+
+        Set<Long> categorias() {
+            Set<Long> categorias = new LinkedHashSet<>(criadas);
+            categorias.addAll(deltas.keySet());
+            categorias.addAll(removidas);
+            return categorias;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.model.CategoriaContador;
+import com.sistema.gestao.socios.repository.CategoriaContadorRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory mirror of the categoria_contador table, read by the dashboard endpoints.
+ * Committed changes from this node are applied by {@link CategoriaContadorListener} right after commit; the mirror
+ * is also reloaded from the table on a schedule, which brings in changes made on other nodes.
+ * <p>
+ * A transaction's counter UPDATE may or may not be visible to a reload that runs while it commits, so the reload
+ * cannot tell whether its delta still has to be applied. The listener therefore announces the categorias it is about
+ * to commit ({@link #iniciar}); a reload keeps the current mirror entry, not the table row, for every categoria
+ * changed on this node while it ran, and their deltas land on whichever map is current when they are applied. Such
+ * categorias pick up changes from other nodes on the next reload. Swaps and deltas are serialised by a lock; readers
+ * never take it.
+ */
+@Component
+public class CategoriaContadores {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoriaContadores.class);
+
+    private final CategoriaContadorRepository categoriaContadorRepository;
+    private volatile Map<Long, Contagem> contagens = new ConcurrentHashMap<>();
+
+    private final Object trava = new Object();
+    // Categorias of transactions between their counter UPDATE and aplicar/descartar, with the number of such transactions
+    private final Map<Long, Integer> emAndamento = new HashMap<>();
+    // Categorias changed on this node since the running reload started; null outside a reload
+    private Set<Long> alteradasNaRecarga;
+    // Advanced by every announced change; lets buscar detect a change racing with its read
+    private long alteracoes;
+
+    public CategoriaContadores(CategoriaContadorRepository categoriaContadorRepository) {
+        this.categoriaContadorRepository = categoriaContadorRepository;
+    }
+
+    /** Counters of one categoria; a categoria missing from the mirror is read from the table once. */
+    public Optional<Contagem> buscar(Long categoriaId) {
+        Contagem contagem = contagens.get(categoriaId);
+        if (contagem == null) {
+            long antes;
+            synchronized (trava) {
+                antes = alteracoes;
+            }
+            contagem = categoriaContadorRepository.findById(categoriaId).map(Contagem::de).orElse(null);
+            if (contagem != null) {
+                synchronized (trava) {
+                    // Only mirrored if no change was announced meanwhile; otherwise the next reload brings it in
+                    if (alteracoes == antes && !emAndamento.containsKey(categoriaId)) {
+                        contagens.putIfAbsent(categoriaId, contagem);
+                    }
+                }
+            }
+        }
+        return Optional.ofNullable(contagem);
+    }
+
+    /** Counters of every categoria, ordered by categoria id. */
+    public SortedMap<Long, Contagem> todos() {
+        return new TreeMap<>(contagens);
+    }
+
+    @PostConstruct
+    @Scheduled(
+            fixedDelayString = "${application.categorias.contadores.intervalo-atualizacao:PT5M}",
+            initialDelayString = "${application.categorias.contadores.intervalo-atualizacao:PT5M}"
+    )
+    public synchronized void recarregar() {
+        synchronized (trava) {
+            alteradasNaRecarga = new HashSet<>(emAndamento.keySet());
+        }
+        try {
+            categoriaContadorRepository.criarAusentes();
+            Map<Long, Contagem> novas = new ConcurrentHashMap<>();
+            for (CategoriaContador contador : categoriaContadorRepository.findAll()) {
+                novas.put(contador.getCategoriaId(), Contagem.de(contador));
+            }
+            synchronized (trava) {
+                Map<Long, Contagem> atuais = contagens;
+                for (Long id : alteradasNaRecarga) {
+                    Contagem atual = atuais.get(id);
+                    if (atual == null) {
+                        novas.remove(id);
+                    } else {
+                        novas.put(id, atual);
+                    }
+                }
+                contagens = novas;
+            }
+        } catch (DataAccessException e) {
+            // Keep serving from the previous mirror; the next run retries
+            log.warn("Falha ao recarregar contadores das categorias: {}", e.getMessage());
+        } finally {
+            synchronized (trava) {
+                alteradasNaRecarga = null;
+            }
+        }
+    }
+
+    /** Announces a transaction about to commit counter changes of these categorias; must be followed by aplicar or descartar. */
+    void iniciar(Set<Long> categorias) {
+        synchronized (trava) {
+            categorias.forEach(id -> emAndamento.merge(id, 1, Integer::sum));
+            if (alteradasNaRecarga != null) {
+                alteradasNaRecarga.addAll(categorias);
+            }
+            alteracoes++;
+        }
+    }
+
+    /** Applies the changes of a committed transaction. */
+    void aplicar(Set<Long> categorias, Collection<Long> criadas, Map<Long, Contagem> deltas, Collection<Long> removidas) {
+        synchronized (trava) {
+            Map<Long, Contagem> atuais = contagens;
+            criadas.forEach(id -> atuais.putIfAbsent(id, Contagem.ZERO));
+            deltas.forEach((id, delta) -> atuais.computeIfPresent(id, (chave, contagem) -> contagem.somar(delta)));
+            removidas.forEach(atuais::remove);
+            concluir(categorias);
+        }
+    }
+
+    /** Withdraws the announcement of a transaction that rolled back. */
+    void descartar(Set<Long> categorias) {
+        synchronized (trava) {
+            concluir(categorias);
+        }
+    }
+
+    private void concluir(Set<Long> categorias) {
+        categorias.forEach(id -> emAndamento.computeIfPresent(id, (chave, transacoes) -> transacoes > 1 ? transacoes - 1 : null));
+    }
+
+    public record Contagem(long total, long pagos, long pendentes, long atrasados) {
+
+        public static final Contagem ZERO = new Contagem(0, 0, 0, 0);
+
+        static Contagem de(CategoriaContador contador) {
+            return new Contagem(contador.getTotal(), contador.getPagos(), contador.getPendentes(), contador.getAtrasados());
+        }
+
+        /** One socio with the given status; sinal is +1 when it joins the categoria and -1 when it leaves. */
+        static Contagem de(String statusPagamento, int sinal) {
+            return new Contagem(sinal,
+                    "PAGO".equals(statusPagamento) ? sinal : 0,
+                    "PENDENTE".equals(statusPagamento) ? sinal : 0,
+                    "ATRASADO".equals(statusPagamento) ? sinal : 0);
+        }
+
+        Contagem somar(Contagem outra) {
+            return new Contagem(total + outra.total, pagos + outra.pagos, pendentes + outra.pendentes, atrasados + outra.atrasados);
+        }
+
+        boolean isZero() {
+            return total == 0 && pagos == 0 && pendentes == 0 && atrasados == 0;
+        }
+    }
+}
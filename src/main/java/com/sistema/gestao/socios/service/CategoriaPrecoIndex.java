@@ -0,0 +1,170 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.model.CategoriaPreco;
+import com.sistema.gestao.socios.repository.CategoriaPrecoRepository;
+import com.sistema.gestao.socios.repository.CategoriaPrecoVigencia;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Interval index over the categoria fee periods, answering "fee of categoria C on day D" with two binary searches
+ * over primitive arrays: one over the sorted categoria ids, one over the period starts of that categoria.
+ * Periods are stored flattened, grouped by categoria and sorted by start; a period ends where the next one of the
+ * same categoria begins. Fees are kept in centavos so lookups, including {@link #avaliar} over large batches, allocate
+ * nothing. The arrays form an immutable snapshot swapped atomically: after commit of a local change, and on a schedule
+ * to pick up changes made on other nodes. A batch evaluation reads a single snapshot.
+ */
+@Component
+public class CategoriaPrecoIndex {
+
+    /** Returned (in centavos) when the categoria has no fee on the requested day. */
+    public static final long SEM_VALOR = -1L;
+
+    private static final Logger log = LoggerFactory.getLogger(CategoriaPrecoIndex.class);
+
+    private final CategoriaPrecoRepository categoriaPrecoRepository;
+    private volatile Snapshot snapshot = Snapshot.VAZIO;
+
+    public CategoriaPrecoIndex(CategoriaPrecoRepository categoriaPrecoRepository) {
+        this.categoriaPrecoRepository = categoriaPrecoRepository;
+    }
+
+    /** Fee in force on the given day, or null when there is none. */
+    public BigDecimal valor(Long categoriaId, LocalDate data) {
+        long centavos = snapshot.centavos(categoriaId, (int) data.toEpochDay());
+        return centavos == SEM_VALOR ? null : BigDecimal.valueOf(centavos, 2);
+    }
+
+    /** Fee in centavos on the given epoch day, or {@link #SEM_VALOR}. */
+    public long centavos(long categoriaId, int epochDay) {
+        return snapshot.centavos(categoriaId, epochDay);
+    }
+
+    /**
+     * Fills destino[i] with the fee in centavos of categoriaIds[i] on epochDays[i] (or {@link #SEM_VALOR}) for the first
+     * quantidade pairs, e.g. every (socio, month) of a billing run. All pairs are priced against the same snapshot.
+     */
+    public void avaliar(long[] categoriaIds, int[] epochDays, long[] destino, int quantidade) {
+        snapshot.avaliar(categoriaIds, epochDays, destino, quantidade);
+    }
+
+    public int tamanho() {
+        return snapshot.inicios.length;
+    }
+
+    @PostConstruct
+    @Scheduled(
+            fixedDelayString = "${application.categorias.precos.intervalo-atualizacao:PT5M}",
+            initialDelayString = "${application.categorias.precos.intervalo-atualizacao:PT5M}"
+    )
+    public void recarregar() {
+        try {
+            categoriaPrecoRepository.criarAusentes(CategoriaPreco.INICIO_HISTORICO);
+            carregar(categoriaPrecoRepository.findVigencias());
+        } catch (DataAccessException e) {
+            // Keep serving from the previous snapshot; the next run retries
+            log.warn("Falha ao recarregar o índice de preços das categorias: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the index once the current transaction commits (right away outside a transaction). Only reads: inside
+     * afterCommit the finished transaction is still bound, so a write there would never be committed.
+     */
+    public void recarregarAposCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lerVigencias();
+                }
+            });
+        } else {
+            lerVigencias();
+        }
+    }
+
+    private void lerVigencias() {
+        try {
+            carregar(categoriaPrecoRepository.findVigencias());
+        } catch (DataAccessException e) {
+            // The scheduled reload catches up
+            log.warn("Falha ao recarregar o índice de preços das categorias: {}", e.getMessage());
+        }
+    }
+
+    /** Replaces the snapshot; vigencias must be ordered by categoria id and then by start. */
+    void carregar(List<CategoriaPrecoVigencia> vigencias) {
+        int n = vigencias.size();
+        long[] categoriaIds = new long[n];
+        int[] offsets = new int[n + 1];
+        int[] inicios = new int[n];
+        long[] centavos = new long[n];
+        int categorias = 0;
+        for (int i = 0; i < n; i++) {
+            CategoriaPrecoVigencia vigencia = vigencias.get(i);
+            if (categorias == 0 || categoriaIds[categorias - 1] != vigencia.categoriaId()) {
+                categoriaIds[categorias] = vigencia.categoriaId();
+                offsets[categorias] = i;
+                categorias++;
+            }
+            inicios[i] = (int) vigencia.inicioVigencia().toEpochDay();
+            centavos[i] = vigencia.valorMensalidade().setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        }
+        offsets[categorias] = n;
+        snapshot = new Snapshot(Arrays.copyOf(categoriaIds, categorias), Arrays.copyOf(offsets, categorias + 1),
+                inicios, centavos);
+    }
+
+    private record Snapshot(long[] categoriaIds, int[] offsets, int[] inicios, long[] centavos) {
+
+        static final Snapshot VAZIO = new Snapshot(new long[0], new int[]{0}, new int[0], new long[0]);
+
+        long centavos(long categoriaId, int epochDay) {
+            int categoria = Arrays.binarySearch(categoriaIds, categoriaId);
+            return categoria < 0 ? SEM_VALOR : naCategoria(categoria, epochDay);
+        }
+
+        void avaliar(long[] ids, int[] dias, long[] destino, int quantidade) {
+            // Batches are usually grouped by categoria: reuse the previous categoria search when the id repeats
+            long ultimoId = Long.MIN_VALUE;
+            int ultimaCategoria = -1;
+            for (int i = 0; i < quantidade; i++) {
+                if (ids[i] != ultimoId) {
+                    ultimoId = ids[i];
+                    ultimaCategoria = Arrays.binarySearch(categoriaIds, ultimoId);
+                }
+                destino[i] = ultimaCategoria < 0 ? SEM_VALOR : naCategoria(ultimaCategoria, dias[i]);
+            }
+        }
+
+        // Last period of the categoria starting on or before epochDay
+        private long naCategoria(int categoria, int epochDay) {
+            int baixo = offsets[categoria];
+            int alto = offsets[categoria + 1] - 1;
+            int encontrado = -1;
+            while (baixo <= alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (inicios[meio] <= epochDay) {
+                    encontrado = meio;
+                    baixo = meio + 1;
+                } else {
+                    alto = meio - 1;
+                }
+            }
+            return encontrado < 0 ? SEM_VALOR : centavos[encontrado];
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.model.Categoria;
+import com.sistema.gestao.socios.repository.CategoriaAssinatura;
+import com.sistema.gestao.socios.repository.CategoriaRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory copy of the categoria table used to validate and resolve categorias on the socio and pagamento write paths
+ * without a SELECT. Readers see an immutable snapshot held in a volatile field; every change builds a new map and swaps
+ * it in, so lookups never lock. Changes made through {@link CategoriaService} on this node are applied after commit;
+ * changes made on other nodes are picked up by a periodic check of the table signature (count, max id, sum of versions),
+ * which triggers a full reload only when something actually changed. An id missing from the snapshot is looked up in the
+ * database once before being reported as absent, so a categoria created elsewhere is usable before the next check.
+ * A reload that finds a categoria changed or gone evicts its socios from {@link SocioCache}, whose entries embed it.
+ */
+@Component
+public class CategoriaRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoriaRegistry.class);
+
+    private final CategoriaRepository categoriaRepository;
+    private final SocioCache socioCache;
+    private final Object swapLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(null, Map.of());
+
+    public CategoriaRegistry(CategoriaRepository categoriaRepository, SocioCache socioCache) {
+        this.categoriaRepository = categoriaRepository;
+        this.socioCache = socioCache;
+    }
+
+    /**
+     * A detached copy of the categoria, safe to modify and to assign to a Socio or Pagamento being saved
+     * (it carries id and version, so Hibernate only writes the foreign key).
+     */
+    public Optional<Categoria> buscar(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Entrada entrada = snapshot.categorias.get(id);
+        if (entrada == null && categoriaRepository.existsById(id)) {
+            recarregar();
+            entrada = snapshot.categorias.get(id);
+        }
+        return Optional.ofNullable(entrada).map(Entrada::copia);
+    }
+
+    public boolean existe(Long id) {
+        return buscar(id).isPresent();
+    }
+
+    public int tamanho() {
+        return snapshot.categorias.size();
+    }
+
+    @PostConstruct
+    @Scheduled(
+            fixedDelayString = "${application.categorias.registro.intervalo-verificacao:PT30S}",
+            initialDelayString = "${application.categorias.registro.intervalo-verificacao:PT30S}"
+    )
+    public void verificarVersao() {
+        try {
+            if (!categoriaRepository.findAssinatura().equals(snapshot.assinatura)) {
+                recarregar();
+            }
+        } catch (DataAccessException e) {
+            // Keep serving from the previous snapshot; the next run retries
+            log.warn("Falha ao verificar versão das categorias: {}", e.getMessage());
+        }
+    }
+
+    /** Replaces the snapshot with the current table contents. */
+    public void recarregar() {
+        synchronized (swapLock) {
+            // Signature first: a change committed while findAll runs leaves a stale signature, forcing another reload later
+            CategoriaAssinatura assinatura = categoriaRepository.findAssinatura();
+            List<Categoria> categorias = categoriaRepository.findAll();
+            Map<Long, Entrada> novas = new HashMap<>(categorias.size() * 2);
+            for (Categoria categoria : categorias) {
+                novas.put(categoria.getId(), Entrada.de(categoria));
+            }
+            Map<Long, Entrada> anteriores = snapshot.categorias;
+            snapshot = new Snapshot(assinatura, Map.copyOf(novas));
+            // Changes made elsewhere (other nodes, the fee roll in CategoriaService) reach the socio cache only here
+            anteriores.forEach((id, anterior) -> {
+                if (!anterior.equals(novas.get(id))) {
+                    socioCache.invalidarCategoria(id);
+                }
+            });
+        }
+    }
+
+    /** Publishes a created or updated categoria; inside a transaction this happens after commit. */
+    public void registrar(Categoria categoria) {
+        aposCommit(() -> {
+            Entrada entrada = Entrada.de(categoria); // Read after commit, once the flush has bumped the version
+            synchronized (swapLock) {
+                Map<Long, Entrada> novas = new HashMap<>(snapshot.categorias);
+                novas.put(entrada.id, entrada);
+                snapshot = new Snapshot(snapshot.assinatura, Map.copyOf(novas));
+            }
+        });
+    }
+
+    /** Withdraws a deleted categoria; inside a transaction this happens after commit. */
+    public void remover(Long id) {
+        aposCommit(() -> {
+            synchronized (swapLock) {
+                if (snapshot.categorias.containsKey(id)) {
+                    Map<Long, Entrada> novas = new HashMap<>(snapshot.categorias);
+                    novas.remove(id);
+                    snapshot = new Snapshot(snapshot.assinatura, Map.copyOf(novas));
+                }
+            }
+        });
+    }
+
+    private static void aposCommit(Runnable alteracao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    alteracao.run();
+                }
+            });
+        } else {
+            alteracao.run();
+        }
+    }
+
+    private record Snapshot(CategoriaAssinatura assinatura, Map<Long, Entrada> categorias) {
+    }
+
+    private record Entrada(Long id, String nome, String beneficios, BigDecimal valorMensalidade, Long versao) {
+
+        static Entrada de(Categoria categoria) {
+            return new Entrada(categoria.getId(), categoria.getNome(), categoria.getBeneficios(),
+                    categoria.getValorMensalidade(), categoria.getVersao());
+        }
+
+        Categoria copia() {
+            return new Categoria(id, nome, beneficios, valorMensalidade, versao);
+        }
+    }
+}
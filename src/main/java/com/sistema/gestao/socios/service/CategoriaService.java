@@ -2,12 +2,28 @@ package com.sistema.gestao.socios.service;
 
 import com.sistema.gestao.socios.exception.RecursoNaoEncontradoException;
 import com.sistema.gestao.socios.exception.RegraNegocioException;
+import com.sistema.gestao.socios.dto.CategoriaContadorDTO;
+import com.sistema.gestao.socios.dto.CategoriaPrecoRequestDTO;
+import com.sistema.gestao.socios.dto.CategoriaPrecoResponseDTO;
 import com.sistema.gestao.socios.model.Categoria;
+import com.sistema.gestao.socios.model.CategoriaContador;
+import com.sistema.gestao.socios.model.CategoriaPreco;
+import com.sistema.gestao.socios.repository.CategoriaContadorRepository;
+import com.sistema.gestao.socios.repository.CategoriaPrecoRepository;
 import com.sistema.gestao.socios.repository.CategoriaRepository;
+import com.sistema.gestao.socios.repository.PagamentoRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Collections; // Import Collections
@@ -15,19 +31,47 @@ import java.util.Collections; // Import Collections
 @Service
 public class CategoriaService {
 
+    private static final Logger log = LoggerFactory.getLogger(CategoriaService.class);
+
     @Autowired
     private CategoriaRepository categoriaRepository;
 
     @Autowired // Inject Mapper
     private com.sistema.gestao.socios.mapper.CategoriaMapper categoriaMapper;
 
+    @Autowired
+    private CategoriaRegistry categoriaRegistry;
+
+    @Autowired
+    private CategoriaContadorRepository categoriaContadorRepository;
+
+    @Autowired
+    private CategoriaContadores categoriaContadores;
+
+    @Autowired
+    private CategoriaPrecoRepository categoriaPrecoRepository;
+
+    @Autowired
+    private CategoriaPrecoIndex categoriaPrecoIndex;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private SocioCache socioCache;
+
     @Transactional
     public Categoria cadastrar(Categoria categoria) {
         // Validation: Check if category name already exists (case-insensitive example)
         categoriaRepository.findByNomeIgnoreCase(categoria.getNome()).ifPresent(c -> {
             throw new RegraNegocioException("Nome da categoria já existe: " + categoria.getNome());
         });
-        return categoriaRepository.save(categoria);
+        Categoria salva = categoriaRepository.save(categoria);
+        if (salva.getValorMensalidade() != null) {
+            definirPreco(salva, LocalDate.now(), salva.getValorMensalidade());
+        }
+        categoriaRegistry.registrar(salva);
+        return salva;
     }
 
     @Transactional(readOnly = true)
@@ -41,6 +85,121 @@ public class CategoriaService {
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria não encontrada com id: " + id)); // Standardizing to lowercase 'id'
     }
 
+    /**
+     * Detached copy served from {@link CategoriaRegistry}, for callers that only need to validate the id and link the
+     * categoria to another entity. Use {@link #buscarPorId} when the managed entity is needed.
+     */
+    public Categoria obterPorId(Long id) {
+        return categoriaRegistry.buscar(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria não encontrada com id: " + id));
+    }
+
+    public void verificarExistencia(Long id) {
+        if (!categoriaRegistry.existe(id)) {
+            throw new RecursoNaoEncontradoException("Categoria não encontrada com id: " + id);
+        }
+    }
+
+    /** Socio counts per payment status of every categoria, from the in-memory mirror. */
+    public List<CategoriaContadorDTO> listarContadores() {
+        return categoriaContadores.todos().entrySet().stream()
+                .map(entrada -> toContadorDTO(entrada.getKey(), entrada.getValue()))
+                .toList();
+    }
+
+    public CategoriaContadorDTO buscarContadores(Long id) {
+        verificarExistencia(id);
+        return toContadorDTO(id, categoriaContadores.buscar(id).orElse(CategoriaContadores.Contagem.ZERO));
+    }
+
+    private static CategoriaContadorDTO toContadorDTO(Long categoriaId, CategoriaContadores.Contagem contagem) {
+        return new CategoriaContadorDTO(categoriaId, contagem.total(), contagem.pagos(), contagem.pendentes(), contagem.atrasados());
+    }
+
+    /**
+     * Adds a fee period starting on dto.inicioVigencia (past or future). Categoria.valorMensalidade keeps mirroring
+     * the fee in force today; a future period is rolled into it by {@link #atualizarValoresVigentes} once it starts.
+     */
+    @Transactional
+    public CategoriaPrecoResponseDTO registrarPreco(Long id, CategoriaPrecoRequestDTO dto) {
+        Categoria categoria = buscarPorId(id);
+        if (categoriaPrecoRepository.findByCategoriaIdAndInicioVigencia(id, dto.getInicioVigencia()).isPresent()) {
+            throw new RegraNegocioException("Já existe um valor de mensalidade com início em " + dto.getInicioVigencia() + " para esta categoria.");
+        }
+        definirPreco(categoria, dto.getInicioVigencia(), dto.getValorMensalidade());
+        categoriaPrecoRepository.findFirstByCategoriaIdAndInicioVigenciaLessThanEqualOrderByInicioVigenciaDesc(id, LocalDate.now())
+                .ifPresent(vigente -> categoria.setValorMensalidade(vigente.getValorMensalidade()));
+        categoriaRegistry.registrar(categoria);
+        socioCache.invalidarCategoria(id);
+        return listarPrecos(id).stream()
+                .filter(preco -> preco.getInicioVigencia().equals(dto.getInicioVigencia()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * Rolls Categoria.valorMensalidade forward when a future-dated period starts, so the column served by the categoria
+     * and socio endpoints and by {@link CategoriaRegistry} keeps matching {@link CategoriaPrecoIndex}. Categorias whose
+     * registry copy already matches are skipped; the UPDATE is guarded as well (another node may have rolled it first)
+     * and bumps the version, so every node's registry reloads and evicts the cached socios of that categoria.
+     */
+    @PostConstruct
+    @Scheduled(
+            fixedDelayString = "${application.categorias.precos.intervalo-atualizacao:PT5M}",
+            initialDelayString = "${application.categorias.precos.intervalo-atualizacao:PT5M}"
+    )
+    public void atualizarValoresVigentes() {
+        LocalDate hoje = LocalDate.now();
+        try {
+            boolean alterada = false;
+            for (Long id : categoriaRepository.findAllIds()) {
+                BigDecimal vigente = categoriaPrecoIndex.valor(id, hoje);
+                BigDecimal atual = categoriaRegistry.buscar(id).map(Categoria::getValorMensalidade).orElse(null);
+                if (vigente != null && (atual == null || vigente.compareTo(atual) != 0)) {
+                    alterada |= categoriaRepository.atualizarValorMensalidade(id, vigente) > 0;
+                }
+            }
+            if (alterada) {
+                categoriaRegistry.recarregar();
+            }
+        } catch (DataAccessException e) {
+            // The next run retries
+            log.warn("Falha ao atualizar o valor vigente das categorias: {}", e.getMessage());
+        }
+    }
+
+    /** Fee history of the categoria, oldest period first. */
+    @Transactional(readOnly = true)
+    public List<CategoriaPrecoResponseDTO> listarPrecos(Long id) {
+        verificarExistencia(id);
+        List<CategoriaPreco> precos = categoriaPrecoRepository.findByCategoriaIdOrderByInicioVigencia(id);
+        List<CategoriaPrecoResponseDTO> dtos = new ArrayList<>(precos.size());
+        for (int i = 0; i < precos.size(); i++) {
+            LocalDate fim = i + 1 < precos.size() ? precos.get(i + 1).getInicioVigencia() : null;
+            dtos.add(new CategoriaPrecoResponseDTO(precos.get(i).getInicioVigencia(), fim, precos.get(i).getValorMensalidade()));
+        }
+        return dtos;
+    }
+
+    /** Fee of the categoria on the given date, answered by {@link CategoriaPrecoIndex}. */
+    public BigDecimal buscarValorVigente(Long id, LocalDate data) {
+        verificarExistencia(id);
+        BigDecimal valor = categoriaPrecoIndex.valor(id, data);
+        if (valor == null) {
+            throw new RecursoNaoEncontradoException("Nenhum valor de mensalidade vigente em " + data + " para a categoria " + id);
+        }
+        return valor;
+    }
+
+    // Inserts the period, or replaces the value of the one starting on the same day (several edits in one day)
+    private void definirPreco(Categoria categoria, LocalDate inicio, BigDecimal valor) {
+        CategoriaPreco preco = categoriaPrecoRepository.findByCategoriaIdAndInicioVigencia(categoria.getId(), inicio)
+                .orElseGet(() -> new CategoriaPreco(null, categoria, inicio, null));
+        preco.setValorMensalidade(valor);
+        categoriaPrecoRepository.save(preco);
+        categoriaPrecoIndex.recarregarAposCommit();
+    }
+
     @Transactional
     public Categoria atualizar(Long id, com.sistema.gestao.socios.dto.CategoriaRequestDTO dto) {
         Categoria categoriaExistente = buscarPorId(id); // Uses the method above which throws if not found
@@ -52,25 +211,36 @@ public class CategoriaService {
             });
         }
 
-        // Use mapper to update fields from DTO
+        // Use mapper to update fields from DTO. The entity is managed: dirty checking flushes a single UPDATE of the
+        // categoria row (with its version), whatever the number of socios and payments in it
+        BigDecimal valorAnterior = categoriaExistente.getValorMensalidade();
         categoriaMapper.updateCategoriaFromDto(dto, categoriaExistente);
-        return categoriaRepository.save(categoriaExistente);
+        Categoria atualizada = categoriaRepository.save(categoriaExistente);
+        // A new fee applies from today on; earlier months keep the previous value
+        if (atualizada.getValorMensalidade() != null
+                && (valorAnterior == null || valorAnterior.compareTo(atualizada.getValorMensalidade()) != 0)) {
+            definirPreco(atualizada, LocalDate.now(), atualizada.getValorMensalidade());
+        }
+        categoriaRegistry.registrar(atualizada);
+        socioCache.invalidarCategoria(id); // Cached socios embed the categoria
+        return atualizada;
     }
 
     @Transactional
     public void deletar(Long id) {
-        Categoria categoria = buscarPorId(id); // Check if exists first
+        buscarPorId(id); // Check if exists first
 
-        // Validation: Check if category is associated with any Socio
-        // Ensure lazy-loaded collection is initialized within the transaction
-        if (categoria.getSocios() != null && !categoria.getSocios().isEmpty()) {
+        // Validation: Check if category is associated with any Socio. Reads the counter row rather than the mirror,
+        // so a socio committed by another node just before is still seen
+        if (categoriaContadorRepository.findById(id).map(CategoriaContador::getTotal).orElse(0L) > 0) {
              throw new RegraNegocioException("Não é possível excluir categoria pois existem sócios associados.");
         }
-        // Add similar check for Pagamentos if needed
-        // if (categoria.getPagamentos() != null && !categoria.getPagamentos().isEmpty()) {
-        //     throw new RegraNegocioException("Não é possível excluir categoria pois existem pagamentos associados.");
-        // }
+        // Payments are no longer cascaded with the categoria; they may remain from socios that moved to another one
+        if (pagamentoRepository.existsByCategoriaId(id)) {
+            throw new RegraNegocioException("Não é possível excluir categoria pois existem pagamentos associados.");
+        }
 
         categoriaRepository.deleteById(id);
+        categoriaRegistry.remover(id);
     }
 }
@@ -25,6 +25,9 @@ public class NotificacaoService {
     @Autowired
     private SocioRepository socioRepository;
 
+    @Autowired
+    private SocioService socioService; // Existence checks through the socio cache
+
     @Autowired // Inject Mapper
     private NotificacaoMapper notificacaoMapper;
 
@@ -32,8 +35,10 @@ public class NotificacaoService {
     @Transactional
     public Notificacao criarNotificacao(NotificacaoRequestDTO dto) {
         // Validate Socio existence
-        Socio socio = socioRepository.findById(dto.getSocioId())
-             .orElseThrow(() -> new RecursoNaoEncontradoException("Sócio não encontrado com id: " + dto.getSocioId())); // Standardizing to lowercase 'id'
+        if (!socioService.existe(dto.getSocioId())) {
+            throw new RecursoNaoEncontradoException("Sócio não encontrado com id: " + dto.getSocioId());
+        }
+        Socio socio = socioRepository.getReferenceById(dto.getSocioId()); // No SELECT: only the foreign key is needed
 
         Notificacao notificacao = notificacaoMapper.toNotificacao(dto);
         notificacao.setSocio(socio);
@@ -47,8 +52,10 @@ public class NotificacaoService {
     // Convenience method to create and send notification (already uses custom exceptions indirectly)
     @Transactional
     public Notificacao enviarNotificacaoParaSocio(Long socioId, String tipo, String mensagem) {
-         Socio socio = socioRepository.findById(socioId)
-             .orElseThrow(() -> new RecursoNaoEncontradoException("Sócio não encontrado para enviar notificação: " + socioId));
+         if (!socioService.existe(socioId)) {
+             throw new RecursoNaoEncontradoException("Sócio não encontrado para enviar notificação: " + socioId);
+         }
+         Socio socio = socioRepository.getReferenceById(socioId); // No SELECT: only the foreign key is needed
 
          if (tipo == null || tipo.trim().isEmpty()) {
              throw new RegraNegocioException("Tipo da notificação não pode ser vazio.");
@@ -83,8 +90,9 @@ public class NotificacaoService {
     @Transactional(readOnly = true)
     public List<Notificacao> buscarPorSocioId(Long socioId) {
         // Optional: Check if socio exists first
-        socioRepository.findById(socioId)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Sócio não encontrado com id: " + socioId)); // Standardizing to lowercase 'id'
+        if (!socioService.existe(socioId)) {
+            throw new RecursoNaoEncontradoException("Sócio não encontrado com id: " + socioId);
+        }
         return notificacaoRepository.findBySocioId(socioId);
     }
 
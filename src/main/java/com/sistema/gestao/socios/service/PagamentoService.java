@@ -1,6 +1,8 @@
 package com.sistema.gestao.socios.service;
 
 import com.sistema.gestao.socios.dto.PagamentoRequestDTO; // Import DTO
+import com.sistema.gestao.socios.dto.PagamentoResponseDTO;
+import com.sistema.gestao.socios.dto.PaginaCursorResponseDTO;
 import com.sistema.gestao.socios.exception.RecursoNaoEncontradoException;
 import com.sistema.gestao.socios.exception.RegraNegocioException;
 import com.sistema.gestao.socios.mapper.PagamentoMapper; // Import Mapper
@@ -10,6 +12,8 @@ import com.sistema.gestao.socios.model.Socio; // Import Socio
 import com.sistema.gestao.socios.repository.PagamentoRepository;
 import com.sistema.gestao.socios.repository.SocioRepository; // Import SocioRepository
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,17 +30,30 @@ public class PagamentoService {
     @Autowired
     private SocioRepository socioRepository;
 
+    @Autowired
+    private SocioService socioService; // Existence checks through the socio cache
+
     @Autowired // Inject CategoriaService for validation
     private CategoriaService categoriaService;
 
     @Autowired // Inject Mapper
     private PagamentoMapper pagamentoMapper;
+
+    // Same page limits as the socio listing
+    @Value("${application.socios.paginacao.tamanho-padrao:50}")
+    private int tamanhoPadrao;
+
+    @Value("${application.socios.paginacao.tamanho-maximo:500}")
+    private int tamanhoMaximo;
+
     @Transactional
     public Pagamento registrarPagamento(PagamentoRequestDTO dto) {
         // Validate Socio and Categoria existence
-        Socio socio = socioRepository.findById(dto.getSocioId())
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Sócio não encontrado com id: " + dto.getSocioId())); // Standardizing to lowercase 'id'
-        Categoria categoria = categoriaService.buscarPorId(dto.getCategoriaId()); // Throws if not found
+        if (!socioService.existe(dto.getSocioId())) {
+            throw new RecursoNaoEncontradoException("Sócio não encontrado com id: " + dto.getSocioId());
+        }
+        Socio socio = socioRepository.getReferenceById(dto.getSocioId()); // No SELECT: only the foreign key is needed
+        Categoria categoria = categoriaService.obterPorId(dto.getCategoriaId()); // Throws if not found; no SELECT
 
         // Example validation: Only allow payment for socios with specific status
         // if (!"ATIVO".equalsIgnoreCase(socio.getStatusPagamento()) && !"PENDENTE".equalsIgnoreCase(socio.getStatusPagamento())) {
@@ -71,18 +88,39 @@ public class PagamentoService {
     @Transactional(readOnly = true)
     public List<Pagamento> buscarPorSocioId(Long socioId) {
         // Optional: Check if socio exists first
-        socioRepository.findById(socioId)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Sócio não encontrado com id: " + socioId)); // Already lowercase 'id'
+        if (!socioService.existe(socioId)) {
+            throw new RecursoNaoEncontradoException("Sócio não encontrado com id: " + socioId);
+        }
         return pagamentoRepository.findBySocioId(socioId);
     }
 
      @Transactional(readOnly = true)
     public List<Pagamento> buscarPorCategoriaId(Long categoriaId) {
         // Optional: Check if categoria exists first
-        categoriaService.buscarPorId(categoriaId); // Throws if not found
+        categoriaService.verificarExistencia(categoriaId); // Throws if not found
         return pagamentoRepository.findByCategoriaId(categoriaId);
     }
 
+    /** Payments of one categoria, by id with the same keyset cursor as {@link SocioService#listarPagina}. */
+    @Transactional(readOnly = true)
+    public PaginaCursorResponseDTO<PagamentoResponseDTO> listarPaginaPorCategoria(Long categoriaId, String cursor, Integer tamanho) {
+        if (tamanho != null && tamanho < 1) {
+            throw new RegraNegocioException("Tamanho da página deve ser maior que zero.");
+        }
+        categoriaService.verificarExistencia(categoriaId);
+        int limite = Math.min(tamanho != null ? tamanho : tamanhoPadrao, tamanhoMaximo);
+        Long ultimoId = cursor == null || cursor.isBlank() ? 0L : SocioService.decodificarCursor(cursor);
+
+        // One extra row tells whether another page exists without a count query
+        List<Pagamento> pagamentos = pagamentoRepository.findByCategoriaIdAfterId(categoriaId, ultimoId, Limit.of(limite + 1));
+        String proximoCursor = null;
+        if (pagamentos.size() > limite) {
+            pagamentos = pagamentos.subList(0, limite);
+            proximoCursor = SocioService.codificarCursor(pagamentos.get(limite - 1).getId());
+        }
+        return new PaginaCursorResponseDTO<>(pagamentoMapper.toPagamentoResponseDTOList(pagamentos), proximoCursor);
+    }
+
     @Transactional(readOnly = true)
     public List<Pagamento> buscarPorPeriodo(Date inicio, Date fim) {
         if (inicio == null || fim == null || inicio.after(fim)) {
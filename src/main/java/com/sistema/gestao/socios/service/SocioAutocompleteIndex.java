@@ -0,0 +1,488 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.dto.SocioResponseDTO;
+import com.sistema.gestao.socios.model.Socio;
+import com.sistema.gestao.socios.repository.SocioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process trigram index over nome, email and documento for the autocomplete endpoint.
+ * <p>
+ * Text is folded to lowercase ASCII letters and digits, so a trigram fits a dense code (37 symbols, 37^3 slots)
+ * and each slot holds a sorted int array of document ordinals; no boxed collections are kept per socio.
+ * Words are padded with two leading blanks, which makes the first trigrams of a word double as a prefix index.
+ * <p>
+ * A lookup only reads the shortest posting lists: a socio sharing at least {@code minimo} of the q query trigrams
+ * must appear in one of the q - minimo + 1 shortest lists, the remaining lists are probed with binary search.
+ * Once k results are held, {@code minimo} rises to the worst of them, so fewer (and shorter) lists keep generating
+ * candidates. Results are ranked by shared trigrams, then by trigram similarity (shared / union), then by id.
+ * <p>
+ * Loaded once the application is ready and kept current by {@link SocioEntityListener} and the bulk delete;
+ * changes made inside a transaction are applied after it commits. Changes committed while the load is running are
+ * queued and replayed once it finishes, so a batch read before the commit cannot bring back a removed socio or an
+ * older version of an updated one. An updated or removed socio leaves a tombstoned
+ * ordinal behind, and the postings are compacted once tombstones make up half of the ordinals.
+ */
+@Component
+public class SocioAutocompleteIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SocioAutocompleteIndex.class);
+
+    private static final int SIMBOLOS = 37; // blank, a-z, 0-9
+    private static final int TOTAL_TRIGRAMAS = SIMBOLOS * SIMBOLOS * SIMBOLOS;
+    private static final int TAMANHO_LOTE_CARGA = 5000;
+    private static final int[] VAZIO = new int[0];
+
+    private final SocioRepository socioRepository;
+    private final boolean enabled;
+    private final double similaridadeMinima;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int[][] postings = new int[TOTAL_TRIGRAMAS][];
+    private final int[] tamanhos = new int[TOTAL_TRIGRAMAS];
+    private long[] ids = new long[1024]; // ordinal -> socio id, 0 once tombstoned
+    private int[] trigramasPorDocumento = new int[1024];
+    private final OrdinalPorId ordinais = new OrdinalPorId();
+    private int documentos;
+    private int removidos;
+    private List<Runnable> pendentes; // Non-null while construir runs; guarded by the write lock
+
+    public SocioAutocompleteIndex(
+            SocioRepository socioRepository,
+            @Value("${application.socios.autocomplete.enabled:true}") boolean enabled,
+            @Value("${application.socios.autocomplete.similaridade-minima:0.5}") double similaridadeMinima
+    ) {
+        this.socioRepository = socioRepository;
+        this.enabled = enabled;
+        this.similaridadeMinima = similaridadeMinima;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        if (!enabled) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendentes = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            long ultimoId = 0L;
+            List<SocioResponseDTO> lote;
+            do {
+                lote = socioRepository.findResponsesAfterId(ultimoId, Limit.of(TAMANHO_LOTE_CARGA));
+                for (SocioResponseDTO socio : lote) {
+                    inserir(socio.getId(), socio.getNome(), socio.getEmail(), socio.getDocumento());
+                    ultimoId = socio.getId();
+                }
+            } while (lote.size() == TAMANHO_LOTE_CARGA);
+        } finally {
+            // Replay in commit order; holding the write lock keeps new changes from slipping in between
+            lock.writeLock().lock();
+            try {
+                pendentes.forEach(Runnable::run);
+                pendentes = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Índice de autocomplete de sócios carregado: {} sócios em {} ms",
+                tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /** Indexes a persisted or updated socio; inside a transaction this happens after commit. */
+    public void indexar(Socio socio) {
+        if (!enabled || socio.getId() == null) {
+            return;
+        }
+        long id = socio.getId();
+        String nome = socio.getNome();
+        String email = socio.getEmail();
+        String documento = socio.getDocumento();
+        aposCommit(() -> aplicar(() -> inserir(id, nome, email, documento)));
+    }
+
+    /** Drops a removed socio; inside a transaction this happens after commit. */
+    public void remover(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        aposCommit(() -> aplicar(() -> retirar(id)));
+    }
+
+    // Runs a committed change now, or queues it while construir may still index an older snapshot of the socio
+    private void aplicar(Runnable alteracao) {
+        lock.writeLock().lock();
+        try {
+            if (pendentes != null) {
+                pendentes.add(alteracao);
+            } else {
+                alteracao.run(); // The write lock is reentrant
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void aposCommit(Runnable alteracao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    alteracao.run();
+                }
+            });
+        } else {
+            alteracao.run();
+        }
+    }
+
+    /** Ids of the best matches for a partial nome, email or documento, best first. */
+    public List<Long> buscar(String consulta, int limite) {
+        int[] trigramas = trigramasConsulta(consulta);
+        if (trigramas.length == 0 || limite < 1) {
+            return List.of();
+        }
+        int q = trigramas.length;
+        int minimo = Math.max(1, (int) Math.ceil(q * similaridadeMinima));
+        PriorityQueue<Candidato> melhores = new PriorityQueue<>(limite + 1, Candidato.ORDEM.reversed());
+
+        lock.readLock().lock();
+        try {
+            // Lists by ascending length: only the first (q - minimo + 1) can introduce a candidate
+            int[] listas = Arrays.stream(trigramas).boxed()
+                    .sorted(Comparator.comparingInt(t -> tamanhos[t]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            int geradoras = q - minimo + 1;
+            int[] posicoes = new int[q];
+
+            while (true) {
+                // Smallest ordinal still unread among the generating lists, and how many of them hold it
+                int ordinal = Integer.MAX_VALUE;
+                for (int i = 0; i < geradoras; i++) {
+                    if (posicoes[i] < tamanhos[listas[i]]) {
+                        ordinal = Math.min(ordinal, postings[listas[i]][posicoes[i]]);
+                    }
+                }
+                if (ordinal == Integer.MAX_VALUE) {
+                    break;
+                }
+                int comuns = 0;
+                for (int i = 0; i < geradoras; i++) {
+                    if (posicoes[i] < tamanhos[listas[i]] && postings[listas[i]][posicoes[i]] == ordinal) {
+                        comuns++;
+                        posicoes[i]++;
+                    }
+                }
+                long id = ids[ordinal];
+                int maximo = comuns + q - geradoras;
+                if (id == 0L || maximo < minimo || (melhores.size() == limite
+                        && Candidato.ORDEM.compare(candidato(id, maximo, q, ordinal), melhores.peek()) >= 0)) {
+                    continue; // Removed, or cannot beat the current results even matching every remaining list
+                }
+                // Candidates arrive in ordinal order, so each remaining list is only ever searched forward
+                for (int i = geradoras; i < q && comuns + (q - i) >= minimo; i++) {
+                    int posicao = avancar(postings[listas[i]], tamanhos[listas[i]], posicoes[i], ordinal);
+                    posicoes[i] = posicao;
+                    if (posicao < tamanhos[listas[i]] && postings[listas[i]][posicao] == ordinal) {
+                        comuns++;
+                    }
+                }
+                if (comuns < minimo) {
+                    continue;
+                }
+                Candidato novo = candidato(id, comuns, q, ordinal);
+                if (melhores.size() < limite) {
+                    melhores.add(novo);
+                } else if (Candidato.ORDEM.compare(novo, melhores.peek()) < 0) {
+                    melhores.poll(); // Drop the worst
+                    melhores.add(novo);
+                }
+                if (melhores.size() == limite && melhores.peek().comuns() > minimo) {
+                    // Anything new must share at least as many trigrams as the current worst result
+                    minimo = melhores.peek().comuns();
+                    geradoras = q - minimo + 1;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Candidato> resultado = new ArrayList<>(melhores);
+        resultado.sort(Candidato.ORDEM);
+        return resultado.stream().map(Candidato::id).toList();
+    }
+
+    private Candidato candidato(long id, int comuns, int trigramasConsulta, int ordinal) {
+        return new Candidato(id, comuns, (double) comuns / (trigramasConsulta + trigramasPorDocumento[ordinal] - comuns));
+    }
+
+    // First position >= inicio holding a value >= alvo: galloping steps, then a binary search inside the last step
+    private static int avancar(int[] lista, int tamanho, int inicio, int alvo) {
+        int baixo = inicio;
+        int alto = inicio;
+        int passo = 1;
+        while (alto < tamanho && lista[alto] < alvo) {
+            baixo = alto + 1;
+            alto += passo;
+            passo <<= 1;
+        }
+        int posicao = Arrays.binarySearch(lista, baixo, Math.min(alto, tamanho), alvo);
+        return posicao >= 0 ? posicao : -posicao - 1;
+    }
+
+    /** Number of socios currently indexed. */
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos - removidos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void inserir(long id, String nome, String email, String documento) {
+        int[] trigramas = trigramasDocumento(nome, email, documento);
+        lock.writeLock().lock();
+        try {
+            retirarSemLock(id);
+            if (documentos == ids.length) {
+                ids = Arrays.copyOf(ids, documentos + (documentos >> 1));
+                trigramasPorDocumento = Arrays.copyOf(trigramasPorDocumento, ids.length);
+            }
+            int ordinal = documentos++;
+            ids[ordinal] = id;
+            trigramasPorDocumento[ordinal] = trigramas.length;
+            ordinais.put(id, ordinal);
+            // Ordinals only grow, so appending keeps every posting list sorted
+            for (int t : trigramas) {
+                int[] lista = postings[t];
+                if (lista == null) {
+                    lista = postings[t] = new int[4];
+                } else if (tamanhos[t] == lista.length) {
+                    lista = postings[t] = Arrays.copyOf(lista, lista.length + (lista.length >> 1));
+                }
+                lista[tamanhos[t]++] = ordinal;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void retirar(long id) {
+        lock.writeLock().lock();
+        try {
+            retirarSemLock(id);
+            if (removidos > 1024 && removidos * 2 > documentos) {
+                compactar();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void retirarSemLock(long id) {
+        int ordinal = ordinais.remove(id);
+        if (ordinal >= 0) {
+            ids[ordinal] = 0L;
+            removidos++;
+        }
+    }
+
+    // Renumbers the live ordinals densely; the mapping is monotonic, so posting lists stay sorted
+    private void compactar() {
+        int[] novoOrdinal = new int[documentos];
+        int vivos = 0;
+        for (int ordinal = 0; ordinal < documentos; ordinal++) {
+            if (ids[ordinal] != 0L) {
+                novoOrdinal[ordinal] = vivos;
+                ids[vivos] = ids[ordinal];
+                trigramasPorDocumento[vivos] = trigramasPorDocumento[ordinal];
+                ordinais.put(ids[vivos], vivos);
+                vivos++;
+            } else {
+                novoOrdinal[ordinal] = -1;
+            }
+        }
+        for (int t = 0; t < TOTAL_TRIGRAMAS; t++) {
+            int escritos = 0;
+            for (int i = 0; i < tamanhos[t]; i++) {
+                int ordinal = novoOrdinal[postings[t][i]];
+                if (ordinal >= 0) {
+                    postings[t][escritos++] = ordinal;
+                }
+            }
+            tamanhos[t] = escritos;
+            if (escritos == 0) {
+                postings[t] = null;
+            } else if (escritos < postings[t].length / 2) {
+                postings[t] = Arrays.copyOf(postings[t], escritos);
+            }
+        }
+        documentos = vivos;
+        removidos = 0;
+    }
+
+    /** Distinct trigrams of the three fields; documento is indexed as a single word, punctuation removed. */
+    static int[] trigramasDocumento(String nome, String email, String documento) {
+        StringBuilder texto = new StringBuilder();
+        texto.append(normalizar(nome)).append(' ').append(normalizar(email)).append(' ')
+                .append(normalizar(documento).replace(" ", ""));
+        return trigramas(texto.toString(), true);
+    }
+
+    static int[] trigramasConsulta(String consulta) {
+        // No trailing blank: the last word is usually still being typed
+        return trigramas(normalizar(consulta), false);
+    }
+
+    private static int[] trigramas(String texto, boolean fimDePalavra) {
+        int[] codigos = new int[16];
+        int total = 0;
+        for (String palavra : texto.split(" ")) {
+            if (palavra.isEmpty()) {
+                continue;
+            }
+            String completa = "  " + palavra + (fimDePalavra ? " " : "");
+            for (int i = 0; i + 3 <= completa.length(); i++) {
+                if (total == codigos.length) {
+                    codigos = Arrays.copyOf(codigos, total * 2);
+                }
+                codigos[total++] = codigo(completa.charAt(i)) * SIMBOLOS * SIMBOLOS
+                        + codigo(completa.charAt(i + 1)) * SIMBOLOS + codigo(completa.charAt(i + 2));
+            }
+        }
+        if (total == 0) {
+            return VAZIO;
+        }
+        return Arrays.stream(codigos, 0, total).sorted().distinct().toArray();
+    }
+
+    private static int codigo(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return 0;
+    }
+
+    /** Lowercase, accents removed, everything but letters and digits turned into blanks. */
+    static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        String semAcentos = Normalizer.normalize(texto, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder resultado = new StringBuilder(semAcentos.length());
+        for (int i = 0; i < semAcentos.length(); i++) {
+            char c = semAcentos.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            resultado.append((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') ? c : ' ');
+        }
+        return resultado.toString();
+    }
+
+    private record Candidato(long id, int comuns, double similaridade) {
+        // Best first
+        static final Comparator<Candidato> ORDEM = Comparator.comparingInt(Candidato::comuns).reversed()
+                .thenComparing(Comparator.comparingDouble(Candidato::similaridade).reversed())
+                .thenComparingLong(Candidato::id);
+    }
+
+    /** Open-addressing long -> int map (linear probing, backward-shift deletion); id 0 marks a free slot. */
+    private static final class OrdinalPorId {
+
+        private long[] chaves = new long[2048];
+        private int[] valores = new int[2048];
+        private int tamanho;
+
+        void put(long id, int ordinal) {
+            if ((tamanho + 1) * 4 > chaves.length * 3) {
+                redimensionar();
+            }
+            int slot = slot(id, chaves.length);
+            while (chaves[slot] != 0L && chaves[slot] != id) {
+                slot = (slot + 1) & (chaves.length - 1);
+            }
+            if (chaves[slot] == 0L) {
+                tamanho++;
+            }
+            chaves[slot] = id;
+            valores[slot] = ordinal;
+        }
+
+        /** Removes the id and returns its ordinal, or -1 when absent. */
+        int remove(long id) {
+            int mascara = chaves.length - 1;
+            int slot = slot(id, chaves.length);
+            while (chaves[slot] != id) {
+                if (chaves[slot] == 0L) {
+                    return -1;
+                }
+                slot = (slot + 1) & mascara;
+            }
+            int ordinal = valores[slot];
+            // Shift back the entries of the same probe run so lookups never stop at the hole
+            int livre = slot;
+            int proximo = (livre + 1) & mascara;
+            while (chaves[proximo] != 0L) {
+                int ideal = slot(chaves[proximo], chaves.length);
+                if (((proximo - ideal) & mascara) >= ((proximo - livre) & mascara)) {
+                    chaves[livre] = chaves[proximo];
+                    valores[livre] = valores[proximo];
+                    livre = proximo;
+                }
+                proximo = (proximo + 1) & mascara;
+            }
+            chaves[livre] = 0L;
+            tamanho--;
+            return ordinal;
+        }
+
+        private void redimensionar() {
+            long[] antigasChaves = chaves;
+            int[] antigosValores = valores;
+            chaves = new long[antigasChaves.length * 2];
+            valores = new int[chaves.length];
+            tamanho = 0;
+            for (int i = 0; i < antigasChaves.length; i++) {
+                if (antigasChaves[i] != 0L) {
+                    put(antigasChaves[i], antigosValores[i]);
+                }
+            }
+        }
+
+        private static int slot(long id, int capacidade) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & (capacidade - 1);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.sistema.gestao.socios.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sistema.gestao.socios.dto.SocioResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for the socio lookups by id, email and documento. The socio itself is stored once, under its id;
+ * email and documento are secondary indexes pointing at that id. A secondary hit is only served when the cached socio
+ * still carries the same email/documento, so an index entry left behind by a change of email is never followed.
+ * Entries are invalidated by {@link SocioEntityListener} whenever a Socio row is updated or removed, and by
+ * {@link CategoriaService} whenever a categoria embedded in them changes.
+ * Every load is stamped with a generation read before the query and every invalidation advances it, so a row read
+ * before an invalidation is never installed or served after it, whichever thread wins the race.
+ * Cached DTOs are shared between requests and must not be modified by callers.
+ * Hit/miss/eviction statistics are published as the standard Micrometer "cache.*" meters (cache=socio, socio.email, socio.documento).
+ */
+@Component
+public class SocioCache {
+
+    static final String CACHE_NAME = "socio";
+
+    private final boolean enabled;
+    private final Cache<Long, Entrada> porId;
+    private final Cache<String, Long> idPorEmail;
+    private final Cache<String, Long> idPorDocumento;
+    private final Counter invalidations;
+    private final AtomicLong geracao = new AtomicLong();
+    // Generation of the last invalidation of each categoria; entries loaded before it are stale
+    private final ConcurrentMap<Long, Long> invalidacaoPorCategoria = new ConcurrentHashMap<>();
+
+    public SocioCache(
+            MeterRegistry meterRegistry,
+            @Value("${application.socios.cache.enabled:true}") boolean enabled,
+            @Value("${application.socios.cache.ttl:10m}") Duration ttl,
+            @Value("${application.socios.cache.max-size:10000}") long maxSize
+    ) {
+        this.enabled = enabled;
+        this.porId = novoCache(meterRegistry, CACHE_NAME, ttl, maxSize);
+        this.idPorEmail = novoCache(meterRegistry, CACHE_NAME + ".email", ttl, maxSize);
+        this.idPorDocumento = novoCache(meterRegistry, CACHE_NAME + ".documento", ttl, maxSize);
+        this.invalidations = Counter.builder("cache.invalidations")
+                .description("Entries removed because the underlying Socio row changed")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    private static <K, V> Cache<K, V> novoCache(MeterRegistry meterRegistry, String nome, Duration ttl, long maxSize) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, nome);
+        return cache;
+    }
+
+    public Optional<SocioResponseDTO> porId(Long id, Function<Long, Optional<SocioResponseDTO>> loader) {
+        if (!enabled || id == null) {
+            return loader.apply(id);
+        }
+        // Absent socios are not cached: the loader returning null leaves no entry behind
+        Entrada entrada = porId.get(id, key -> carregar(key, loader));
+        if (entrada != null && !atual(entrada)) {
+            // Loaded before its categoria changed: this reload starts after the invalidation
+            porId.asMap().remove(id, entrada);
+            entrada = porId.get(id, key -> carregar(key, loader));
+        }
+        if (entrada == null) {
+            return Optional.empty();
+        }
+        indexar(entrada.socio());
+        return Optional.of(entrada.socio());
+    }
+
+    public Optional<SocioResponseDTO> porEmail(String email, Function<String, Optional<SocioResponseDTO>> loader) {
+        return porChaveSecundaria(email, idPorEmail, SocioResponseDTO::getEmail, loader);
+    }
+
+    public Optional<SocioResponseDTO> porDocumento(String documento, Function<String, Optional<SocioResponseDTO>> loader) {
+        return porChaveSecundaria(documento, idPorDocumento, SocioResponseDTO::getDocumento, loader);
+    }
+
+    private Optional<SocioResponseDTO> porChaveSecundaria(String chave, Cache<String, Long> indice,
+                                                          Function<SocioResponseDTO, String> atributo,
+                                                          Function<String, Optional<SocioResponseDTO>> loader) {
+        if (!enabled || chave == null) {
+            return loader.apply(chave);
+        }
+        Long id = indice.getIfPresent(chave);
+        if (id != null) {
+            Entrada entrada = porId.getIfPresent(id);
+            if (entrada != null && atual(entrada) && chave.equals(atributo.apply(entrada.socio()))) {
+                return Optional.of(entrada.socio());
+            }
+            indice.invalidate(chave); // Stale index entry: the socio changed or was evicted
+        }
+        long inicio = geracao.get();
+        Optional<SocioResponseDTO> carregado = loader.apply(chave);
+        carregado.ifPresent(socio -> {
+            // The load ran outside the cache: install it only if no invalidation ran meanwhile. remover() advances the
+            // generation before removing, and compute is atomic with that removal, so a stale row cannot slip in
+            porId.asMap().compute(socio.getId(), (chaveId, atual) -> geracao.get() == inicio ? new Entrada(socio, inicio) : atual);
+            indexar(socio);
+        });
+        return carregado;
+    }
+
+    private Entrada carregar(Long id, Function<Long, Optional<SocioResponseDTO>> loader) {
+        long inicio = geracao.get(); // Before the query, so an invalidation during the load makes the entry stale
+        return loader.apply(id).map(socio -> new Entrada(socio, inicio)).orElse(null);
+    }
+
+    private boolean atual(Entrada entrada) {
+        if (entrada.socio().getCategoria() == null) {
+            return true;
+        }
+        Long invalidacao = invalidacaoPorCategoria.get(entrada.socio().getCategoria().getId());
+        return invalidacao == null || entrada.geracao() >= invalidacao;
+    }
+
+    private void indexar(SocioResponseDTO socio) {
+        if (socio.getEmail() != null) {
+            idPorEmail.put(socio.getEmail(), socio.getId());
+        }
+        if (socio.getDocumento() != null) {
+            idPorDocumento.put(socio.getDocumento(), socio.getId());
+        }
+    }
+
+    /**
+     * Drops the socio and its secondary keys. Inside a transaction the removal is repeated once it completes,
+     * so a concurrent reader cannot re-populate the cache with the pre-commit row.
+     */
+    public void invalidate(Long id) {
+        if (id == null) {
+            return;
+        }
+        remover(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remover(id);
+                }
+            });
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Marks every cached socio of the categoria as stale, since they embed its nome, beneficios and fee. Like
+     * {@link #invalidate}, the mark is repeated once the surrounding transaction completes.
+     */
+    public void invalidarCategoria(Long categoriaId) {
+        if (categoriaId == null) {
+            return;
+        }
+        marcarCategoria(categoriaId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    marcarCategoria(categoriaId);
+                }
+            });
+        }
+    }
+
+    /** Drops every entry, e.g. so a measurement or a bulk change starts from the database. */
+    public void invalidateAll() {
+        geracao.incrementAndGet();
+        porId.invalidateAll();
+        idPorEmail.invalidateAll();
+        idPorDocumento.invalidateAll();
+    }
+
+    private void marcarCategoria(Long categoriaId) {
+        invalidacaoPorCategoria.merge(categoriaId, geracao.incrementAndGet(), Math::max);
+    }
+
+    private void remover(Long id) {
+        geracao.incrementAndGet();
+        Entrada anterior = porId.asMap().remove(id);
+        // Index entries of a socio that was already evicted are left to the check on read
+        if (anterior != null && anterior.socio().getEmail() != null) {
+            idPorEmail.asMap().remove(anterior.socio().getEmail(), id);
+        }
+        if (anterior != null && anterior.socio().getDocumento() != null) {
+            idPorDocumento.asMap().remove(anterior.socio().getDocumento(), id);
+        }
+    }
+
+    /** A cached socio and the generation read before it was loaded. */
+    private record Entrada(SocioResponseDTO socio, long geracao) {
+    }
+}
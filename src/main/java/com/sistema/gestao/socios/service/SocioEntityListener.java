@@ -0,0 +1,40 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.model.Socio;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps {@link SocioCache} and {@link SocioAutocompleteIndex} in step with the socio table.
+ * Instantiated by Hibernate through Spring's bean container; collaborators are resolved lazily
+ * because the listener is created while the EntityManagerFactory itself is still being built.
+ */
+public class SocioEntityListener {
+
+    private final ObjectProvider<SocioCache> socioCache;
+    private final ObjectProvider<SocioAutocompleteIndex> autocompleteIndex;
+
+    public SocioEntityListener(ObjectProvider<SocioCache> socioCache, ObjectProvider<SocioAutocompleteIndex> autocompleteIndex) {
+        this.socioCache = socioCache;
+        this.autocompleteIndex = autocompleteIndex;
+    }
+
+    @PostPersist
+    public void socioCriado(Socio socio) {
+        autocompleteIndex.ifAvailable(index -> index.indexar(socio));
+    }
+
+    @PostUpdate
+    public void socioAlterado(Socio socio) {
+        socioCache.ifAvailable(cache -> cache.invalidate(socio.getId()));
+        autocompleteIndex.ifAvailable(index -> index.indexar(socio));
+    }
+
+    @PostRemove
+    public void socioRemovido(Socio socio) {
+        socioCache.ifAvailable(cache -> cache.invalidate(socio.getId()));
+        autocompleteIndex.ifAvailable(index -> index.remover(socio.getId()));
+    }
+}
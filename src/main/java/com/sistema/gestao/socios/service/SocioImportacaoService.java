@@ -0,0 +1,320 @@
+package com.sistema.gestao.socios.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistema.gestao.socios.dto.ErroImportacaoDTO;
+import com.sistema.gestao.socios.dto.ImportacaoResultadoDTO;
+import com.sistema.gestao.socios.dto.SocioRequestDTO;
+import com.sistema.gestao.socios.exception.RegraNegocioException;
+import com.sistema.gestao.socios.mapper.SocioMapper;
+import com.sistema.gestao.socios.model.Socio;
+import com.sistema.gestao.socios.repository.CategoriaRepository;
+import com.sistema.gestao.socios.repository.SocioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of socios from a streamed CSV or JSON upload. Uniqueness (email, documento) and categoria existence are
+ * checked in memory against key sets loaded once per import; accepted rows are inserted in chunks of tamanhoLote,
+ * each chunk in its own transaction so Hibernate can send the INSERTs as JDBC batches (see hibernate.jdbc.batch_size).
+ * Rejected rows are reported with their position and do not stop the import. A chunk that fails on write (typically a
+ * socio registered concurrently with the same email or documento) is retried row by row, so only the offending rows
+ * are rejected. Passwords are not imported: a senha column or field is ignored and imported socios have none.
+ */
+@Service
+public class SocioImportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(SocioImportacaoService.class);
+
+    static final List<String> COLUNAS_OBRIGATORIAS = List.of("nome", "documento", "email", "categoriaId");
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private SocioMapper socioMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${application.socios.importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${application.socios.importacao.max-erros:1000}")
+    private int maxErros;
+
+    /** CSV with a header line naming the columns (nome, documento, email, telefone, categoriaId), comma-separated. */
+    public ImportacaoResultadoDTO importarCsv(InputStream entrada) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        String cabecalho = reader.readLine();
+        if (cabecalho == null) {
+            throw new RegraNegocioException("Arquivo CSV vazio.");
+        }
+        Map<String, Integer> colunas = mapearColunas(separarCampos(removerBom(cabecalho)));
+
+        Importacao importacao = new Importacao();
+        String linha;
+        long numero = 0;
+        while ((linha = reader.readLine()) != null) {
+            if (linha.isBlank()) {
+                continue;
+            }
+            numero++;
+            List<String> campos = separarCampos(linha);
+            if (campos.size() != colunas.size()) {
+                importacao.rejeitar(numero, "Quantidade de colunas inválida: esperado " + colunas.size() + ", encontrado " + campos.size());
+                continue;
+            }
+            SocioRequestDTO dto = new SocioRequestDTO();
+            dto.setNome(campo(campos, colunas, "nome"));
+            dto.setDocumento(campo(campos, colunas, "documento"));
+            dto.setEmail(campo(campos, colunas, "email"));
+            dto.setTelefone(campo(campos, colunas, "telefone"));
+            String categoriaId = campo(campos, colunas, "categoriaId");
+            if (categoriaId != null) {
+                try {
+                    dto.setCategoriaId(Long.valueOf(categoriaId));
+                } catch (NumberFormatException e) {
+                    importacao.rejeitar(numero, "ID da Categoria inválido: " + categoriaId);
+                    continue;
+                }
+            }
+            importacao.processar(numero, dto);
+        }
+        return importacao.finalizar();
+    }
+
+    /** JSON array of objects with the same fields as SocioRequestDTO; elements are read one at a time. */
+    public ImportacaoResultadoDTO importarJson(InputStream entrada) throws IOException {
+        Importacao importacao = new Importacao();
+        long numero = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RegraNegocioException("O corpo JSON deve ser um array de sócios.");
+            }
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                numero++;
+                if (token != JsonToken.START_OBJECT) {
+                    // A stray number, null or nested array only rejects its own element
+                    importacao.rejeitar(numero, "Registro inválido: esperado um objeto JSON");
+                    parser.skipChildren();
+                    continue;
+                }
+                // Read the element as a tree first so a bad field value does not leave the parser mid-object
+                JsonNode elemento = parser.readValueAsTree();
+                try {
+                    importacao.processar(numero, objectMapper.treeToValue(elemento, SocioRequestDTO.class));
+                } catch (JsonProcessingException e) {
+                    importacao.rejeitar(numero, "Registro inválido: " + e.getOriginalMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Malformed document: rows already committed stay, the rest of the upload cannot be read
+            importacao.rejeitar(numero + 1, "JSON malformado, importação interrompida: " + e.getOriginalMessage());
+        }
+        return importacao.finalizar();
+    }
+
+    static Map<String, Integer> mapearColunas(List<String> cabecalho) {
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(cabecalho.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        List<String> ausentes = COLUNAS_OBRIGATORIAS.stream()
+                .filter(coluna -> !colunas.containsKey(coluna.toLowerCase(Locale.ROOT)))
+                .toList();
+        if (!ausentes.isEmpty()) {
+            throw new RegraNegocioException("Colunas obrigatórias ausentes no CSV: " + String.join(", ", ausentes));
+        }
+        return colunas;
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> colunas, String nome) {
+        Integer indice = colunas.get(nome.toLowerCase(Locale.ROOT));
+        if (indice == null) {
+            return null;
+        }
+        String valor = campos.get(indice);
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static String removerBom(String linha) {
+        return !linha.isEmpty() && linha.charAt(0) == '\uFEFF' ? linha.substring(1) : linha;
+    }
+
+    /** Splits one CSV line on commas; fields may be quoted, with "" standing for a literal quote. Values are trimmed. */
+    static List<String> separarCampos(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString().trim());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString().trim());
+        return campos;
+    }
+
+    /** State of one import run: preloaded keys, the pending chunk and the report. */
+    private class Importacao {
+
+        private final Set<String> emails = new HashSet<>(socioRepository.findAllEmails());
+        private final Set<String> documentos = new HashSet<>(socioRepository.findAllDocumentos());
+        private final Set<Long> categorias = new HashSet<>(categoriaRepository.findAllIds());
+        private final TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        private final List<SocioRequestDTO> lote = new ArrayList<>();
+        private final List<Long> linhasDoLote = new ArrayList<>();
+        private final ImportacaoResultadoDTO resultado = new ImportacaoResultadoDTO();
+
+        void processar(long linha, SocioRequestDTO dto) {
+            dto.setSenha(null); // Never stored in plaintext; bulk rows do not pay a password hash each either
+            dto.setEmail(SocioService.normalizarEmail(dto.getEmail()));
+            List<String> violacoes = validator.validate(dto).stream()
+                    .filter(violacao -> !"senha".equals(violacao.getPropertyPath().toString()))
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .toList();
+            if (!violacoes.isEmpty()) {
+                rejeitar(linha, String.join("; ", violacoes));
+            } else if (!categorias.contains(dto.getCategoriaId())) {
+                rejeitar(linha, "Categoria não encontrada com id: " + dto.getCategoriaId());
+            } else if (emails.contains(dto.getEmail())) {
+                rejeitar(linha, "Email já cadastrado: " + dto.getEmail());
+            } else if (documentos.contains(dto.getDocumento())) {
+                rejeitar(linha, "Documento já cadastrado: " + dto.getDocumento());
+            } else {
+                // Reserve the keys now so later duplicates in the same upload are rejected too
+                emails.add(dto.getEmail());
+                documentos.add(dto.getDocumento());
+                lote.add(dto);
+                linhasDoLote.add(linha);
+                if (lote.size() >= tamanhoLote) {
+                    gravarLote();
+                }
+            }
+        }
+
+        void rejeitar(long linha, String mensagem) {
+            resultado.setTotalRegistros(resultado.getTotalRegistros() + 1);
+            resultado.setRejeitados(resultado.getRejeitados() + 1);
+            if (resultado.getErros().size() < maxErros) {
+                resultado.getErros().add(new ErroImportacaoDTO(linha, mensagem));
+            }
+        }
+
+        ImportacaoResultadoDTO finalizar() {
+            if (!lote.isEmpty()) {
+                gravarLote();
+            }
+            return resultado;
+        }
+
+        private void gravarLote() {
+            try {
+                transacao.executeWithoutResult(status -> {
+                    lote.forEach(this::persistir);
+                    entityManager.flush();
+                    // The request-scoped persistence context (open-in-view) would otherwise keep every imported row
+                    entityManager.clear();
+                });
+                resultado.setTotalRegistros(resultado.getTotalRegistros() + lote.size());
+                resultado.setImportados(resultado.getImportados() + lote.size());
+            } catch (RuntimeException e) {
+                // Nothing from this chunk was stored: write its rows one per transaction to isolate the failing ones
+                entityManager.clear();
+                for (int i = 0; i < lote.size(); i++) {
+                    gravarRegistro(linhasDoLote.get(i), lote.get(i));
+                }
+            }
+            lote.clear();
+            linhasDoLote.clear();
+        }
+
+        private void gravarRegistro(long linha, SocioRequestDTO dto) {
+            try {
+                transacao.executeWithoutResult(status -> {
+                    persistir(dto);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                resultado.setTotalRegistros(resultado.getTotalRegistros() + 1);
+                resultado.setImportados(resultado.getImportados() + 1);
+            } catch (RuntimeException e) {
+                entityManager.clear();
+                String restricao = SocioService.nomeRestricao(e);
+                // Keep only the key the row collided on reserved, so later rows may still use the other one
+                if (restricao.contains(Socio.UK_EMAIL)) {
+                    documentos.remove(dto.getDocumento());
+                    rejeitar(linha, "Email já cadastrado: " + dto.getEmail());
+                } else if (restricao.contains(Socio.UK_DOCUMENTO)) {
+                    emails.remove(dto.getEmail());
+                    rejeitar(linha, "Documento já cadastrado: " + dto.getDocumento());
+                } else {
+                    emails.remove(dto.getEmail());
+                    documentos.remove(dto.getDocumento());
+                    log.warn("Falha ao importar o registro {}", linha, e);
+                    rejeitar(linha, "Falha ao gravar o registro.");
+                }
+            }
+        }
+
+        private void persistir(SocioRequestDTO dto) {
+            Socio socio = socioMapper.toSocio(dto);
+            socio.setCategoria(categoriaRepository.getReferenceById(dto.getCategoriaId())); // No SELECT
+            socio.setStatusPagamento("PENDENTE");
+            entityManager.persist(socio);
+        }
+    }
+}
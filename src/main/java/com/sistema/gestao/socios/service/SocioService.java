@@ -1,18 +1,36 @@
 package com.sistema.gestao.socios.service;
 
+import com.sistema.gestao.socios.dto.ExclusaoResultadoDTO;
+import com.sistema.gestao.socios.dto.PaginaCursorResponseDTO;
+import com.sistema.gestao.socios.dto.SocioPatchRequestDTO;
 import com.sistema.gestao.socios.dto.SocioRequestDTO; // Import DTO
+import com.sistema.gestao.socios.dto.SocioResponseDTO;
 import com.sistema.gestao.socios.exception.RecursoNaoEncontradoException;
 import com.sistema.gestao.socios.exception.RegraNegocioException;
 import com.sistema.gestao.socios.mapper.SocioMapper; // Import Mapper
 import com.sistema.gestao.socios.model.Categoria; // Import Categoria
 import com.sistema.gestao.socios.model.Socio;
+import com.sistema.gestao.socios.repository.NotificacaoRepository;
+import com.sistema.gestao.socios.repository.PagamentoRepository;
+import com.sistema.gestao.socios.repository.SocioClassificacao;
 import com.sistema.gestao.socios.repository.SocioRepository;
+import com.sistema.gestao.socios.repository.SocioSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 // TODO: Import PasswordEncoder if implementing hashing
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
@@ -27,51 +45,211 @@ public class SocioService {
     @Autowired // Inject CategoriaService for validation
     private CategoriaService categoriaService;
 
+    @Autowired
+    private SocioCache socioCache;
+
+    @Autowired
+    private SocioAutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private NotificacaoRepository notificacaoRepository;
+
+    @Autowired
+    private CategoriaContadorListener categoriaContadorListener;
+
+    @Value("${application.socios.paginacao.tamanho-padrao:50}")
+    private int tamanhoPadrao;
+
+    @Value("${application.socios.paginacao.tamanho-maximo:500}")
+    private int tamanhoMaximo;
+
+    @Value("${application.socios.autocomplete.limite-padrao:10}")
+    private int limiteAutocompletePadrao;
+
+    @Value("${application.socios.autocomplete.limite-maximo:50}")
+    private int limiteAutocompleteMaximo;
+
+    @Value("${application.socios.exclusao.tamanho-lote:1000}")
+    private int tamanhoLoteExclusao;
+
     // TODO: Inject PasswordEncoder for hashing
     // @Autowired
     // private PasswordEncoder passwordEncoder;
     @Transactional
     public Socio cadastrar(SocioRequestDTO dto) {
         // Validate if Categoria exists
-        Categoria categoria = categoriaService.buscarPorId(dto.getCategoriaId()); // Throws if not found
-
-        // Validation: Check if email or documento already exists
-        socioRepository.findByEmail(dto.getEmail()).ifPresent(s -> {
-            throw new RegraNegocioException("Email já cadastrado: " + dto.getEmail());
-        });
-        socioRepository.findByDocumento(dto.getDocumento()).ifPresent(s -> {
-            throw new RegraNegocioException("Documento já cadastrado: " + dto.getDocumento());
-        });
+        Categoria categoria = categoriaService.obterPorId(dto.getCategoriaId()); // Throws if not found; no SELECT
 
         Socio socio = socioMapper.toSocio(dto);
+        socio.setEmail(normalizarEmail(dto.getEmail()));
         socio.setCategoria(categoria);
         // TODO: Hash password before saving
         // socio.setSenha(passwordEncoder.encode(dto.getSenha()));
         socio.setStatusPagamento("PENDENTE"); // Example: Set initial status
 
-        return socioRepository.save(socio);
+        // Email/documento uniqueness is enforced by the unique constraints: flushing here surfaces a duplicate
+        // as a DataIntegrityViolationException inside this method, atomically even under concurrent registrations
+        try {
+            return socioRepository.saveAndFlush(socio);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacaoUnicidade(e, dto.getEmail(), dto.getDocumento(), "");
+        }
+    }
+
+    // Read-only lookups below return DTOs projected by SocioRepository; entities are only loaded on write paths
+
+    @Transactional(readOnly = true)
+    public List<SocioResponseDTO> listarTodos() {
+        return socioRepository.findAllResponses();
+    }
+
+    /**
+     * Keyset pagination ordered by id: each page seeks past the last id of the previous one,
+     * so the cost of a page does not grow with its position. The requested size is capped at tamanhoMaximo.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorResponseDTO<SocioResponseDTO> listarPagina(String cursor, Integer tamanho) {
+        if (tamanho != null && tamanho < 1) {
+            throw new RegraNegocioException("Tamanho da página deve ser maior que zero.");
+        }
+        int limite = Math.min(tamanho != null ? tamanho : tamanhoPadrao, tamanhoMaximo);
+        Long ultimoId = cursor == null || cursor.isBlank() ? 0L : decodificarCursor(cursor);
+
+        // One extra row tells whether another page exists without a count query
+        List<SocioResponseDTO> socios = socioRepository.findResponsesAfterId(ultimoId, Limit.of(limite + 1));
+        String proximoCursor = null;
+        if (socios.size() > limite) {
+            socios = socios.subList(0, limite);
+            proximoCursor = codificarCursor(socios.get(limite - 1).getId());
+        }
+        return new PaginaCursorResponseDTO<>(socios, proximoCursor);
     }
 
+    /**
+     * Filtered search with the same keyset pagination as {@link #listarPagina}. Filters are optional and combined
+     * with AND; results are ordered by id (default) or by nome, both backed by the indexes declared on Socio.
+     * For the nome ordering the cursor carries the last (nome, id) pair.
+     */
     @Transactional(readOnly = true)
-    public List<Socio> listarTodos() {
-        return socioRepository.findAll();
+    public PaginaCursorResponseDTO<SocioResponseDTO> buscar(Long categoriaId, String statusPagamento, String nome,
+                                                            String ordenacao, String cursor, Integer tamanho) {
+        if (tamanho != null && tamanho < 1) {
+            throw new RegraNegocioException("Tamanho da página deve ser maior que zero.");
+        }
+        int limite = Math.min(tamanho != null ? tamanho : tamanhoPadrao, tamanhoMaximo);
+        boolean porNome = ordenacao != null && ordenacao.equals("nome");
+        if (ordenacao != null && !porNome && !ordenacao.equals("id")) {
+            throw new RegraNegocioException("Ordenação inválida: " + ordenacao + ". Use id ou nome.");
+        }
+
+        Specification<Socio> filtro = Specification.where(SocioSpecifications.daCategoria(categoriaId))
+                .and(SocioSpecifications.comStatusPagamento(statusPagamento))
+                .and(SocioSpecifications.nomeComecaCom(nome));
+        boolean temCursor = cursor != null && !cursor.isBlank();
+        if (porNome && temCursor) {
+            String posicao = decodificarTexto(cursor);
+            int separador = posicao.indexOf(':');
+            if (separador < 1) {
+                throw new RegraNegocioException("Cursor de paginação inválido.");
+            }
+            filtro = filtro.and(SocioSpecifications.aposNome(posicao.substring(separador + 1),
+                    decodificarId(posicao.substring(0, separador))));
+        } else if (temCursor) {
+            filtro = filtro.and(SocioSpecifications.aposId(decodificarCursor(cursor)));
+        }
+
+        Sort sort = porNome ? Sort.by("nome", "id") : Sort.by("id");
+        List<SocioResponseDTO> socios = socioRepository.buscarResponses(filtro, sort, limite + 1);
+        String proximoCursor = null;
+        if (socios.size() > limite) {
+            socios = socios.subList(0, limite);
+            SocioResponseDTO ultimo = socios.get(limite - 1);
+            proximoCursor = porNome ? codificarTexto(ultimo.getId() + ":" + ultimo.getNome()) : codificarCursor(ultimo.getId());
+        }
+        return new PaginaCursorResponseDTO<>(socios, proximoCursor);
     }
 
+    /** Socios of one categoria, a page at a time (what Categoria.socios used to load whole). */
+    @Transactional(readOnly = true)
+    public PaginaCursorResponseDTO<SocioResponseDTO> listarPorCategoria(Long categoriaId, String cursor, Integer tamanho) {
+        categoriaService.verificarExistencia(categoriaId);
+        return buscar(categoriaId, null, null, null, cursor, tamanho);
+    }
+
+    /** Ranked ids for a partial nome, email or documento, answered from the in-memory trigram index. */
+    public List<Long> autocompletar(String texto, Integer limite) {
+        if (!autocompleteIndex.isEnabled()) {
+            throw new RecursoNaoEncontradoException("Autocomplete de sócios desativado.");
+        }
+        if (texto == null || texto.isBlank()) {
+            throw new RegraNegocioException("Informe o texto para o autocomplete.");
+        }
+        if (limite != null && limite < 1) {
+            throw new RegraNegocioException("Limite deve ser maior que zero.");
+        }
+        return autocompleteIndex.buscar(texto, Math.min(limite != null ? limite : limiteAutocompletePadrao, limiteAutocompleteMaximo));
+    }
+
+    static String codificarCursor(Long id) {
+        return codificarTexto(id.toString());
+    }
+
+    static Long decodificarCursor(String cursor) {
+        return decodificarId(decodificarTexto(cursor));
+    }
+
+    private static String codificarTexto(String posicao) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodificarTexto(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido.");
+        }
+    }
+
+    private static Long decodificarId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido.");
+        }
+    }
+
+    // Managed entity, for callers that modify the socio or attach it to other entities
     @Transactional(readOnly = true)
     public Socio buscarPorId(Long id) {
         return socioRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Sócio não encontrado com id: " + id)); // Corrected case
     }
 
+    // Existence check served by the socio cache; callers that only associate the socio with another entity
+    // (pagamentos, notificações) pair it with getReferenceById instead of loading the row
+    @Transactional(readOnly = true)
+    public boolean existe(Long id) {
+        return socioCache.porId(id, socioRepository::findResponseById).isPresent();
+    }
+
+    @Transactional(readOnly = true)
+    public SocioResponseDTO consultarPorId(Long id) {
+        return socioCache.porId(id, socioRepository::findResponseById)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Sócio não encontrado com id: " + id));
+    }
+
      @Transactional(readOnly = true)
-    public Socio buscarPorEmail(String email) {
-        return socioRepository.findByEmail(email)
+    public SocioResponseDTO buscarPorEmail(String email) {
+        return socioCache.porEmail(normalizarEmail(email), socioRepository::findResponseByEmail)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Sócio não encontrado com email: " + email));
     }
 
      @Transactional(readOnly = true)
-    public Socio buscarPorDocumento(String documento) {
-        return socioRepository.findByDocumento(documento)
+    public SocioResponseDTO buscarPorDocumento(String documento) {
+        return socioCache.porDocumento(documento, socioRepository::findResponseByDocumento)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Sócio não encontrado com documento: " + documento));
     }
 
@@ -82,26 +260,15 @@ public class SocioService {
         // Validate Categoria if changed
         Categoria categoria = socioExistente.getCategoria();
         if (!categoria.getId().equals(dto.getCategoriaId())) {
-            categoria = categoriaService.buscarPorId(dto.getCategoriaId()); // Throws if not found
+            categoria = categoriaService.obterPorId(dto.getCategoriaId()); // Throws if not found
         }
 
-        // Validate email uniqueness if changed
-        if (!socioExistente.getEmail().equalsIgnoreCase(dto.getEmail())) {
-            socioRepository.findByEmail(dto.getEmail()).ifPresent(s -> {
-                if (!s.getId().equals(id)) { // Ensure it's not the same socio
-                    throw new RegraNegocioException("Email já cadastrado para outro sócio: " + dto.getEmail());
-                }
-            });
-            socioExistente.setEmail(dto.getEmail());
+        // Email/documento uniqueness is checked by the database when the update is flushed below
+        String email = normalizarEmail(dto.getEmail());
+        if (!socioExistente.getEmail().equals(email)) {
+            socioExistente.setEmail(email);
         }
-
-        // Validate documento uniqueness if changed
         if (!socioExistente.getDocumento().equals(dto.getDocumento())) {
-             socioRepository.findByDocumento(dto.getDocumento()).ifPresent(s -> {
-                if (!s.getId().equals(id)) { // Ensure it's not the same socio
-                    throw new RegraNegocioException("Documento já cadastrado para outro sócio: " + dto.getDocumento());
-                }
-            });
              socioExistente.setDocumento(dto.getDocumento());
         }
 
@@ -114,19 +281,118 @@ public class SocioService {
         //     socioExistente.setSenha(passwordEncoder.encode(dto.getSenha()));
         // }
 
-        return socioRepository.save(socioExistente);
+        try {
+            return socioRepository.saveAndFlush(socioExistente);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacaoUnicidade(e, dto.getEmail(), dto.getDocumento(), " para outro sócio");
+        }
     }
 
+    /**
+     * Applies only the supplied fields. Values equal to the current ones leave the entity clean, so Hibernate skips
+     * the UPDATE entirely; otherwise the dynamic UPDATE (see Socio) sets just the changed columns, and the unique
+     * indexes are only touched when email or documento actually change.
+     */
     @Transactional
-    public void deletar(Long id) {
-        Socio socio = buscarPorId(id); // Check if exists first
+    public Socio atualizarParcial(Long id, SocioPatchRequestDTO dto) {
+        Socio socio = buscarPorId(id); // Throws if not found
 
-        // TODO: Add validation (e.g., check for related payments/notifications before deleting?)
-        // Example: Check for payments
-        // if (socio.getPagamentos() != null && !socio.getPagamentos().isEmpty()) {
-        //    throw new RegraNegocioException("Não é possível excluir sócio pois existem pagamentos associados.");
-        // }
+        if (dto.getCategoriaId() != null && !dto.getCategoriaId().equals(socio.getCategoria().getId())) {
+            socio.setCategoria(categoriaService.obterPorId(dto.getCategoriaId())); // Throws if not found
+        }
+        if (dto.getNome() != null) {
+            socio.setNome(dto.getNome());
+        }
+        if (dto.getEmail() != null) {
+            socio.setEmail(normalizarEmail(dto.getEmail()));
+        }
+        if (dto.getDocumento() != null) {
+            socio.setDocumento(dto.getDocumento());
+        }
+        if (dto.getTelefone() != null) {
+            socio.setTelefone(dto.getTelefone());
+        }
+
+        // The entity is managed: flushing is enough, no save/merge needed
+        try {
+            socioRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacaoUnicidade(e, dto.getEmail(), dto.getDocumento(), " para outro sócio");
+        }
+        return socio;
+    }
+
+    /**
+     * Emails are stored lowercased, so every write path (create, PUT, PATCH, import) applies the same rule, a change
+     * of case alone leaves the entity clean, and the unique index rejects addresses that differ only in case.
+     */
+    static String normalizarEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Maps a violation of uk_socio_email / uk_socio_documento to the business message; anything else is rethrown
+    private RegraNegocioException traduzirViolacaoUnicidade(DataIntegrityViolationException e, String email, String documento,
+                                                           String complemento) {
+        String restricao = nomeRestricao(e);
+        if (restricao.contains(Socio.UK_EMAIL)) {
+            return new RegraNegocioException("Email já cadastrado" + complemento + ": " + email);
+        }
+        if (restricao.contains(Socio.UK_DOCUMENTO)) {
+            return new RegraNegocioException("Documento já cadastrado" + complemento + ": " + documento);
+        }
+        throw e;
+    }
+
+    // Also used by SocioImportacaoService, whose EntityManager flushes surface untranslated Hibernate exceptions
+    static String nomeRestricao(Throwable e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null) {
+                return violacao.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        // Driver without constraint name extraction: fall back to the message, which names the index
+        return String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Removes one socio together with its pagamentos and notificacoes using set-based DELETEs, so neither the
+     * socio nor its child collections are loaded into the persistence context.
+     */
+    @Transactional
+    public ExclusaoResultadoDTO deletar(Long id) {
+        SocioClassificacao socio = socioRepository.findClassificacaoById(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Sócio não encontrado com id: " + id));
+        return excluir(List.of(socio));
+    }
+
+    /** Bulk removal of every socio matching the filters; at least one filter is required. */
+    @Transactional
+    public ExclusaoResultadoDTO deletarPorFiltro(String statusPagamento, Long categoriaId) {
+        if (statusPagamento == null && categoriaId == null) {
+            throw new RegraNegocioException("Informe ao menos um filtro para a exclusão em massa (statusPagamento ou categoriaId).");
+        }
+        List<SocioClassificacao> socios = socioRepository.findClassificacoesByFiltro(statusPagamento, categoriaId);
+        ExclusaoResultadoDTO total = new ExclusaoResultadoDTO();
+        // Bounded IN lists keep each statement's parameter count under the driver limits
+        for (int inicio = 0; inicio < socios.size(); inicio += tamanhoLoteExclusao) {
+            ExclusaoResultadoDTO parcial = excluir(socios.subList(inicio, Math.min(inicio + tamanhoLoteExclusao, socios.size())));
+            total.setSociosExcluidos(total.getSociosExcluidos() + parcial.getSociosExcluidos());
+            total.setPagamentosExcluidos(total.getPagamentosExcluidos() + parcial.getPagamentosExcluidos());
+            total.setNotificacoesExcluidas(total.getNotificacoesExcluidas() + parcial.getNotificacoesExcluidas());
+        }
+        return total;
+    }
 
-        socioRepository.deleteById(id);
+    private ExclusaoResultadoDTO excluir(List<SocioClassificacao> selecionados) {
+        List<Long> ids = selecionados.stream().map(SocioClassificacao::id).toList();
+        // Children first so the socio rows are no longer referenced when they are deleted
+        int pagamentos = pagamentoRepository.excluirPorSocioIds(ids);
+        int notificacoes = notificacaoRepository.excluirPorSocioIds(ids);
+        int socios = socioRepository.excluirPorIds(ids);
+        // Bulk JPQL bypasses entity events, so the counters, the read cache and the autocomplete index are updated here
+        categoriaContadorListener.registrarExclusoes(selecionados);
+        ids.forEach(socioCache::invalidate);
+        ids.forEach(autocompleteIndex::remover);
+        return new ExclusaoResultadoDTO(socios, pagamentos, notificacoes);
     }
 }
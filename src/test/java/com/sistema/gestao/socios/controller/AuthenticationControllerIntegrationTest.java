@@ -3,10 +3,12 @@ package com.sistema.gestao.socios.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sistema.gestao.socios.dto.AuthenticationResponseDTO;
 import com.sistema.gestao.socios.dto.LoginRequestDTO;
+import com.sistema.gestao.socios.dto.RefreshTokenRequestDTO;
 import com.sistema.gestao.socios.dto.RegisterRequestDTO;
 import com.sistema.gestao.socios.model.Role;
 import com.sistema.gestao.socios.model.Usuario;
 import com.sistema.gestao.socios.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,7 +23,9 @@ import org.springframework.transaction.annotation.Transactional; // Import Trans
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -44,6 +48,9 @@ class AuthenticationControllerIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder; // Para codificar senhas ao preparar dados
 
+    @Autowired
+    private MeterRegistry meterRegistry; // Para verificar as métricas de login
+
     private RegisterRequestDTO registerAdminDTO;
     private RegisterRequestDTO registerSocioDTO;
     private LoginRequestDTO loginAdminDTO;
@@ -138,6 +145,36 @@ class AuthenticationControllerIntegrationTest {
                 .andExpect(jsonPath("$.token", notNullValue()));
     }
 
+    @Test
+    @DisplayName("Deve registrar o tempo de cada etapa do login")
+    void login_shouldRecordLookupVerifyAndSignStages() throws Exception {
+        // Prepara: Salva o usuário ADMIN no banco
+        Usuario adminUser = new Usuario();
+        adminUser.setEmail(registerAdminDTO.getEmail());
+        adminUser.setSenha(passwordEncoder.encode(registerAdminDTO.getSenha()));
+        adminUser.setRole(registerAdminDTO.getRole());
+        usuarioRepository.save(adminUser);
+        long[] antes = contagensPorEtapa();
+
+        // Executa: Faz login
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginAdminDTO)))
+                .andExpect(status().isOk());
+
+        // Verifica: Cada etapa foi medida exatamente uma vez
+        long[] depois = contagensPorEtapa();
+        for (int i = 0; i < antes.length; i++) {
+            assertEquals(antes[i] + 1, depois[i]);
+        }
+    }
+
+    private long[] contagensPorEtapa() {
+        return java.util.stream.Stream.of("lookup", "verify", "sign")
+                .mapToLong(etapa -> meterRegistry.get("auth.login.stage").tag("stage", etapa).timer().count())
+                .toArray();
+    }
+
      @Test
     @DisplayName("Deve autenticar usuário SOCIO com credenciais válidas e retornar token")
     void login_shouldAuthenticateSocioAndReturnTokenWithValidCredentials() throws Exception {
@@ -196,6 +233,10 @@ class AuthenticationControllerIntegrationTest {
 
     // Helper method to perform login and get token
     private String loginAndGetToken(LoginRequestDTO loginDTO) throws Exception {
+        return loginAndGetTokens(loginDTO).getToken();
+    }
+
+    private AuthenticationResponseDTO loginAndGetTokens(LoginRequestDTO loginDTO) throws Exception {
          MvcResult result = mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginDTO)))
@@ -203,8 +244,7 @@ class AuthenticationControllerIntegrationTest {
                 .andReturn();
 
         String responseBody = result.getResponse().getContentAsString();
-        AuthenticationResponseDTO authResponse = objectMapper.readValue(responseBody, AuthenticationResponseDTO.class);
-        return authResponse.getToken();
+        return objectMapper.readValue(responseBody, AuthenticationResponseDTO.class);
     }
 
     @Test
@@ -282,4 +322,84 @@ class AuthenticationControllerIntegrationTest {
     }
 
      // Teste para token expirado é mais complexo de simular sem libs de manipulação de tempo
+
+    // --- Testes para refresh e logout ---
+
+    private void salvarAdmin() {
+        Usuario adminUser = new Usuario();
+        adminUser.setEmail(registerAdminDTO.getEmail());
+        adminUser.setSenha(passwordEncoder.encode(registerAdminDTO.getSenha()));
+        adminUser.setRole(registerAdminDTO.getRole());
+        usuarioRepository.save(adminUser);
+    }
+
+    @Test
+    @DisplayName("Deve trocar refresh token por novo par e rejeitar reutilização do antigo")
+    void refresh_shouldRotateTokensAndRejectReuse() throws Exception {
+        salvarAdmin();
+        AuthenticationResponseDTO tokens = loginAndGetTokens(loginAdminDTO);
+        String body = objectMapper.writeValueAsString(new RefreshTokenRequestDTO(tokens.getRefreshToken()));
+
+        MvcResult result = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", notNullValue()))
+                .andExpect(jsonPath("$.refreshToken", notNullValue()))
+                .andReturn();
+        AuthenticationResponseDTO novos = objectMapper.readValue(result.getResponse().getContentAsString(), AuthenticationResponseDTO.class);
+        assertNotEquals(tokens.getRefreshToken(), novos.getRefreshToken());
+
+        // O refresh token antigo foi revogado na rotação
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Refresh token inválido ou expirado.")));
+
+        // O novo token de acesso funciona normalmente
+        mockMvc.perform(get("/api/socios")
+                        .header("Authorization", "Bearer " + novos.getToken()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Não deve aceitar refresh token como token de acesso")
+    void protectedRoute_shouldRejectRefreshTokenAsBearer() throws Exception {
+        salvarAdmin();
+        AuthenticationResponseDTO tokens = loginAndGetTokens(loginAdminDTO);
+
+        mockMvc.perform(get("/api/socios")
+                        .header("Authorization", "Bearer " + tokens.getRefreshToken()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Deve revogar token de acesso e refresh token no logout")
+    void logout_shouldRevokeAccessAndRefreshTokens() throws Exception {
+        salvarAdmin();
+        AuthenticationResponseDTO tokens = loginAndGetTokens(loginAdminDTO);
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + tokens.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDTO(tokens.getRefreshToken()))))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/socios")
+                        .header("Authorization", "Bearer " + tokens.getToken()))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDTO(tokens.getRefreshToken()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 no logout sem token de acesso")
+    void logout_shouldReturnBadRequestWithoutAccessToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Token de acesso não informado.")));
+    }
 }
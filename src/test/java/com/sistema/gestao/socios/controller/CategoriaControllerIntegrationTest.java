@@ -2,16 +2,30 @@ package com.sistema.gestao.socios.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistema.gestao.socios.dto.CategoriaPrecoRequestDTO;
 import com.sistema.gestao.socios.dto.CategoriaRequestDTO;
 // LoginRequestDTO and AuthenticationResponseDTO no longer needed for setup
 // import com.sistema.gestao.socios.dto.AuthenticationResponseDTO;
 // import com.sistema.gestao.socios.dto.LoginRequestDTO;
 import com.sistema.gestao.socios.model.Categoria;
+import com.sistema.gestao.socios.model.CategoriaContador;
+import com.sistema.gestao.socios.model.CategoriaPreco;
+import com.sistema.gestao.socios.model.Pagamento;
 import com.sistema.gestao.socios.model.Role;
+import com.sistema.gestao.socios.model.Socio;
 import com.sistema.gestao.socios.model.Usuario;
+import com.sistema.gestao.socios.repository.CategoriaContadorRepository;
+import com.sistema.gestao.socios.repository.CategoriaPrecoRepository;
 import com.sistema.gestao.socios.repository.CategoriaRepository;
+import com.sistema.gestao.socios.repository.PagamentoRepository;
+import com.sistema.gestao.socios.repository.SocioRepository;
 import com.sistema.gestao.socios.repository.UsuarioRepository;
 import com.sistema.gestao.socios.security.JwtService; // Import JwtService
+import com.sistema.gestao.socios.service.CategoriaPrecoIndex;
+import com.sistema.gestao.socios.service.CategoriaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,10 +44,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse; // Add missing import
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -54,6 +72,27 @@ class CategoriaControllerIntegrationTest {
     @Autowired
     private CategoriaRepository categoriaRepository;
 
+    @Autowired
+    private CategoriaContadorRepository categoriaContadorRepository;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private CategoriaPrecoRepository categoriaPrecoRepository;
+
+    @Autowired
+    private CategoriaPrecoIndex categoriaPrecoIndex;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private UsuarioRepository usuarioRepository; // Inject UsuarioRepository
 
@@ -94,12 +133,14 @@ class CategoriaControllerIntegrationTest {
 
     @BeforeEach
     void setupTestData() {
-        // Clean only categoria repository before each test
+        // Socios and pagamentos are no longer removed in cascade with their categoria
+        pagamentoRepository.deleteAll();
+        socioRepository.deleteAll();
         categoriaRepository.deleteAll();
 
         // Test data creation
-        categoria1 = new Categoria(null, "Standard", "Básico", new BigDecimal("50.00"), null, null);
-        categoria2 = new Categoria(null, "Premium", "Completo", new BigDecimal("100.00"), null, null);
+        categoria1 = new Categoria(null, "Standard", "Básico", new BigDecimal("50.00"));
+        categoria2 = new Categoria(null, "Premium", "Completo", new BigDecimal("100.00"));
 
         categoriaRequestDTO = new CategoriaRequestDTO();
         categoriaRequestDTO.setNome("VIP");
@@ -299,5 +340,236 @@ class CategoriaControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", is("Categoria não encontrada com id: " + nonExistentId))); // Expect lowercase 'id'
     }
 
-    // TODO: Add test for deletarCategoria_Fail_HasSocios if that validation is active
+    @Test
+    void testAtualizarCategoria_UmUnicoUpdateIndependenteDoNumeroDeSocios() throws Exception {
+        // given: uma categoria vazia e outra com sócios e pagamentos
+        Categoria vazia = categoriaRepository.save(categoria1);
+        Categoria cheia = categoriaRepository.save(categoria2);
+        for (int i = 0; i < 30; i++) {
+            Socio socio = socioRepository.save(new Socio(null, "Socio " + i, "u-" + i, "socio" + i + ".update@test.com", null, "pass", "PAGO", cheia, null, null));
+            pagamentoRepository.save(new Pagamento(null, new Date(), new BigDecimal("100.00"), "CONFIRMADO", socio, cheia));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        long comandosVazia = renomear(vazia, "Standard Renomeada", statistics);
+        long comandosCheia = renomear(cheia, "Premium Renomeada", statistics);
+
+        // then: só a linha da categoria é lida e atualizada; nenhuma coleção é carregada
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(comandosVazia, comandosCheia);
+        assertEquals("Premium Renomeada", categoriaRepository.findById(cheia.getId()).orElseThrow().getNome());
+        assertEquals(30, socioRepository.count());
+        assertEquals(30, pagamentoRepository.count());
+    }
+
+    // Renames the categoria keeping its other fields; returns the number of statements prepared by the request
+    private long renomear(Categoria categoria, String nome, Statistics statistics) throws Exception {
+        CategoriaRequestDTO dto = new CategoriaRequestDTO();
+        dto.setNome(nome);
+        dto.setBeneficios(categoria.getBeneficios());
+        dto.setValorMensalidade(categoria.getValorMensalidade());
+        statistics.clear();
+        mockMvc.perform(put("/api/categorias/{id}", categoria.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome", is(nome)));
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void testListarSociosEPagamentosDaCategoria_PaginadosPorCursor() throws Exception {
+        Categoria standard = categoriaRepository.save(categoria1);
+        Categoria premium = categoriaRepository.save(categoria2);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Socio socio = socioRepository.save(new Socio(null, "Socio " + i, "p-" + i, "socio" + i + ".pagina@test.com", null, "pass", "PAGO", standard, null, null));
+            ids.add(socio.getId());
+            pagamentoRepository.save(new Pagamento(null, new Date(), new BigDecimal("50.00"), "CONFIRMADO", socio, standard));
+        }
+        socioRepository.save(new Socio(null, "Outro", "p-9", "outro.pagina@test.com", null, "pass", "PAGO", premium, null, null));
+
+        // Sócios: duas páginas, apenas os da categoria
+        String cursor = objectMapper.readTree(mockMvc.perform(get("/api/categorias/{id}/socios", standard.getId())
+                                .param("tamanho", "2")
+                                .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.itens.length()", is(2)))
+                        .andExpect(jsonPath("$.itens[0].id", is(ids.get(0).intValue())))
+                        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .get("proximoCursor").asText();
+        mockMvc.perform(get("/api/categorias/{id}/socios", standard.getId())
+                        .param("tamanho", "2").param("cursor", cursor)
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()", is(1)))
+                .andExpect(jsonPath("$.itens[0].id", is(ids.get(2).intValue())))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+
+        // Pagamentos: mesma paginação
+        cursor = objectMapper.readTree(mockMvc.perform(get("/api/categorias/{id}/pagamentos", standard.getId())
+                                .param("tamanho", "2")
+                                .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.itens.length()", is(2)))
+                        .andExpect(jsonPath("$.itens[0].socioId", is(ids.get(0).intValue())))
+                        .andExpect(jsonPath("$.itens[0].categoriaId", is(standard.getId().intValue())))
+                        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .get("proximoCursor").asText();
+        mockMvc.perform(get("/api/categorias/{id}/pagamentos", standard.getId())
+                        .param("tamanho", "2").param("cursor", cursor)
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()", is(1)))
+                .andExpect(jsonPath("$.itens[0].socioId", is(ids.get(2).intValue())));
+        mockMvc.perform(get("/api/categorias/{id}/pagamentos", premium.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()", is(0)));
+
+        mockMvc.perform(get("/api/categorias/{id}/socios", 9999L)
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testContadores_AcompanhamCadastroAlteracaoEExclusaoDeSocios() throws Exception {
+        Categoria standard = categoriaRepository.save(categoria1);
+        Categoria premium = categoriaRepository.save(categoria2);
+        Socio ana = socioRepository.save(new Socio(null, "Ana", "c-111", "ana.contador@test.com", null, "pass", "PAGO", standard, null, null));
+        socioRepository.save(new Socio(null, "Beto", "c-222", "beto.contador@test.com", null, "pass", "PENDENTE", standard, null, null));
+        socioRepository.save(new Socio(null, "Caio", "c-333", "caio.contador@test.com", null, "pass", "ATRASADO", premium, null, null));
+
+        // Ana muda de categoria e de status na mesma alteração
+        Socio alterada = socioRepository.findById(ana.getId()).orElseThrow();
+        alterada.setCategoria(premium);
+        alterada.setStatusPagamento("ATRASADO");
+        socioRepository.save(alterada);
+
+        mockMvc.perform(get("/api/categorias/{id}/contadores", standard.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.pagos", is(0)))
+                .andExpect(jsonPath("$.pendentes", is(1)));
+        mockMvc.perform(get("/api/categorias/contadores")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[1].categoriaId", is(premium.getId().intValue())))
+                .andExpect(jsonPath("$[1].total", is(2)))
+                .andExpect(jsonPath("$[1].atrasados", is(2)));
+
+        // Exclusão em massa (DELETE em conjunto, sem eventos de entidade) também é contabilizada
+        mockMvc.perform(delete("/api/socios").param("categoriaId", premium.getId().toString())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk());
+
+        CategoriaContador contador = categoriaContadorRepository.findById(premium.getId()).orElseThrow();
+        assertEquals(0, contador.getTotal());
+        assertEquals(0, contador.getAtrasados());
+        assertEquals(1, categoriaContadorRepository.findById(standard.getId()).orElseThrow().getTotal());
+    }
+
+    @Test
+    void testPrecos_HistoricoComVigenciaPorData() throws Exception {
+        String corpo = mockMvc.perform(post("/api/categorias")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(categoriaRequestDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        long id = objectMapper.readTree(corpo).get("id").asLong();
+        LocalDate hoje = LocalDate.now();
+
+        // Reajuste futuro e um valor retroativo: o valor atual da categoria não muda
+        registrarPreco(id, hoje.plusMonths(2), "250.00").andExpect(status().isCreated())
+                .andExpect(jsonPath("$.fimVigencia").doesNotExist());
+        registrarPreco(id, hoje.minusYears(1), "150.00").andExpect(status().isCreated())
+                .andExpect(jsonPath("$.fimVigencia", is(hoje.toString())));
+        registrarPreco(id, hoje.minusYears(1), "160.00").andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/categorias/{id}/precos", id).header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(jsonPath("$[1].inicioVigencia", is(hoje.toString())))
+                .andExpect(jsonPath("$[1].fimVigencia", is(hoje.plusMonths(2).toString())));
+        assertValorVigente(id, hoje.minusMonths(6), 150.0);
+        assertValorVigente(id, hoje, 200.0);
+        assertValorVigente(id, hoje.plusYears(1), 250.0);
+        mockMvc.perform(get("/api/categorias/{id}/precos/vigente", id).param("data", hoje.minusYears(2).toString())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/categorias/{id}", id).header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(jsonPath("$.valorMensalidade", is(200.0)));
+    }
+
+    @Test
+    void testPrecos_ReajusteFuturoEntraEmVigor() throws Exception {
+        String corpo = mockMvc.perform(post("/api/categorias")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(categoriaRequestDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        long id = objectMapper.readTree(corpo).get("id").asLong();
+        Categoria categoria = categoriaRepository.findById(id).orElseThrow();
+        Socio socio = socioRepository.save(new Socio(null, "Ana", "r-1", "ana.reajuste@test.com", null, null, "PAGO", categoria, null, null));
+        mockMvc.perform(get("/api/socios/{id}", socio.getId()).header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(jsonPath("$.categoria.valorMensalidade", is(200.0))); // Sócio agora em cache
+
+        // Simula a virada do dia: o valor atual passa a valer desde ontem e um reajuste registrado antes começa hoje
+        LocalDate hoje = LocalDate.now();
+        CategoriaPreco atual = categoriaPrecoRepository.findByCategoriaIdAndInicioVigencia(id, hoje).orElseThrow();
+        atual.setInicioVigencia(hoje.minusDays(1));
+        categoriaPrecoRepository.save(atual);
+        categoriaPrecoRepository.save(new CategoriaPreco(null, categoria, hoje, new BigDecimal("250.00")));
+        categoriaPrecoIndex.recarregar();
+
+        categoriaService.atualizarValoresVigentes();
+
+        mockMvc.perform(get("/api/categorias/{id}", id).header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(jsonPath("$.valorMensalidade", is(250.0)));
+        mockMvc.perform(get("/api/socios/{id}", socio.getId()).header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(jsonPath("$.categoria.valorMensalidade", is(250.0)));
+        assertEquals(new BigDecimal("250.00"), categoriaService.obterPorId(id).getValorMensalidade());
+    }
+
+    private ResultActions registrarPreco(long categoriaId, LocalDate inicio, String valor) throws Exception {
+        CategoriaPrecoRequestDTO dto = new CategoriaPrecoRequestDTO();
+        dto.setInicioVigencia(inicio);
+        dto.setValorMensalidade(new BigDecimal(valor));
+        return mockMvc.perform(post("/api/categorias/{id}/precos", categoriaId)
+                .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)));
+    }
+
+    private void assertValorVigente(long categoriaId, LocalDate data, double esperado) throws Exception {
+        mockMvc.perform(get("/api/categorias/{id}/precos/vigente", categoriaId).param("data", data.toString())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(esperado)));
+    }
+
+    @Test
+    void testDeletarCategoria_Fail_HasSocios() throws Exception {
+        Categoria savedCategoria = categoriaRepository.save(categoria1);
+        socioRepository.save(new Socio(null, "Ana", "c-444", "ana.exclusao@test.com", null, "pass", "PAGO", savedCategoria, null, null));
+
+        mockMvc.perform(delete("/api/categorias/{id}", savedCategoria.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Não é possível excluir categoria pois existem sócios associados.")));
+
+        // Sem sócios, a categoria e seu contador são removidos
+        socioRepository.deleteAll();
+        mockMvc.perform(delete("/api/categorias/{id}", savedCategoria.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isNoContent());
+        assertFalse(categoriaContadorRepository.existsById(savedCategoria.getId()));
+    }
 }
@@ -109,7 +109,7 @@ class NotificacaoControllerIntegrationTest {
         categoriaRepository.deleteAll();
 
         // Test data creation
-        Categoria categoria = new Categoria(null, "Standard", "Básico", new BigDecimal("50.00"), null, null);
+        Categoria categoria = new Categoria(null, "Standard", "Básico", new BigDecimal("50.00"));
         categoriaRepository.save(categoria); // Salva a categoria antes de usá-la no sócio
         Socio socio = new Socio(null, "Test Socio Notif", "456", "test.notif@socio.com", "222", "pass", "ATIVO", categoria, null, null);
         savedSocio = socioRepository.save(socio);
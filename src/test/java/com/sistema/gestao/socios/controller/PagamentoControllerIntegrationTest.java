@@ -107,7 +107,7 @@ class PagamentoControllerIntegrationTest {
         categoriaRepository.deleteAll();
 
         // Test data creation
-        Categoria categoria = new Categoria(null, "Standard", "Básico", new BigDecimal("50.00"), null, null);
+        Categoria categoria = new Categoria(null, "Standard", "Básico", new BigDecimal("50.00"));
         savedCategoria = categoriaRepository.save(categoria);
         Socio socio = new Socio(null, "Test Socio", "123", "test@socio.com", "111", "pass", "PENDENTE", savedCategoria, null, null);
         savedSocio = socioRepository.save(socio);
@@ -1,19 +1,33 @@
 package com.sistema.gestao.socios.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.sistema.gestao.socios.dto.AuthenticationResponseDTO;
+import com.sistema.gestao.socios.dto.ErroImportacaoDTO;
+import com.sistema.gestao.socios.dto.ImportacaoResultadoDTO;
 import com.sistema.gestao.socios.dto.LoginRequestDTO;
 import com.sistema.gestao.socios.dto.RegisterRequestDTO;
 import com.sistema.gestao.socios.dto.SocioRequestDTO;
 import com.sistema.gestao.socios.model.Categoria;
+import com.sistema.gestao.socios.model.Notificacao;
+import com.sistema.gestao.socios.model.Pagamento;
 import com.sistema.gestao.socios.model.Role;
 import com.sistema.gestao.socios.model.Socio;
 import com.sistema.gestao.socios.model.Usuario;
 import com.sistema.gestao.socios.repository.CategoriaRepository;
+import com.sistema.gestao.socios.repository.NotificacaoRepository;
 import com.sistema.gestao.socios.repository.PagamentoRepository;
 import com.sistema.gestao.socios.repository.SocioRepository;
 import com.sistema.gestao.socios.repository.UsuarioRepository;
 import com.sistema.gestao.socios.security.JwtService; // Import JwtService
+import com.sistema.gestao.socios.service.CategoriaRegistry;
+import com.sistema.gestao.socios.service.SocioCache;
+import com.sistema.gestao.socios.service.SocioImportacaoService;
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,23 +36,44 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetails; // Import UserDetails
 import org.springframework.security.core.userdetails.UserDetailsService; // Import UserDetailsService
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 // MvcResult and AuthenticationResponseDTO no longer needed for token generation here
 // import org.springframework.test.web.servlet.MvcResult;
 // import com.sistema.gestao.socios.dto.AuthenticationResponseDTO;
+import com.sistema.gestao.socios.dto.ImportacaoResultadoDTO;
 // import com.sistema.gestao.socios.dto.LoginRequestDTO;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -59,12 +94,24 @@ class SocioControllerIntegrationTest {
     @Autowired
     private SocioRepository socioRepository;
 
+    @Autowired
+    private CategoriaRegistry categoriaRegistry;
+
     @Autowired
     private CategoriaRepository categoriaRepository;
 
+    @Autowired
+    private SocioImportacaoService socioImportacaoService;
+
+    @Autowired
+    private SocioCache socioCache;
+
     @Autowired
     private PagamentoRepository pagamentoRepository;
 
+    @Autowired
+    private NotificacaoRepository notificacaoRepository;
+
     @Autowired
     private UsuarioRepository usuarioRepository; // Inject UsuarioRepository
 
@@ -77,6 +124,12 @@ class SocioControllerIntegrationTest {
     @Autowired
     private JwtService jwtService; // Inject JwtService
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
     @Autowired
     private UserDetailsService userDetailsService; // Inject UserDetailsService (provided by ApplicationConfig)
 
@@ -116,7 +169,7 @@ class SocioControllerIntegrationTest {
         categoriaRepository.deleteAll();
 
         // Test data creation
-        Categoria categoria = new Categoria(null, "Standard", "Básico", new BigDecimal("50.00"), null, null);
+        Categoria categoria = new Categoria(null, "Standard", "Básico", new BigDecimal("50.00"));
         savedCategoria = categoriaRepository.save(categoria);
 
         socio1 = new Socio(null, "Ana", "111", "ana@test.com", "123", "pass", "PENDENTE", savedCategoria, null, null);
@@ -241,9 +294,234 @@ class SocioControllerIntegrationTest {
         // then
         response.andExpect(status().isOk())
                 .andDo(print())
-                .andExpect(jsonPath("$.size()", is(socios.size())))
-                .andExpect(jsonPath("$[0].nome", is(socio1.getNome())))
-                .andExpect(jsonPath("$[1].nome", is(socio2.getNome())));
+                .andExpect(jsonPath("$.itens.size()", is(socios.size())))
+                .andExpect(jsonPath("$.itens[0].nome", is(socio1.getNome())))
+                .andExpect(jsonPath("$.itens[1].nome", is(socio2.getNome())))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+    }
+
+    @Test
+    void testListarSocios_PaginacaoPorCursor() throws Exception {
+        // given
+        socioRepository.saveAll(List.of(socio1, socio2));
+
+        // when: primeira página com um único sócio
+        MvcResult primeiraPagina = mockMvc.perform(get("/api/socios")
+                        .param("tamanho", "1")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.size()", is(1)))
+                .andExpect(jsonPath("$.itens[0].nome", is(socio1.getNome())))
+                .andExpect(jsonPath("$.proximoCursor").isNotEmpty())
+                .andReturn();
+        String cursor = JsonPath.read(primeiraPagina.getResponse().getContentAsString(), "$.proximoCursor");
+
+        // then: a segunda página continua a partir do cursor e é a última
+        mockMvc.perform(get("/api/socios")
+                        .param("tamanho", "1")
+                        .param("cursor", cursor)
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.size()", is(1)))
+                .andExpect(jsonPath("$.itens[0].nome", is(socio2.getNome())))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/socios")
+                        .param("cursor", "invalido!")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBuscarSocios_FiltraPorCategoriaEStatus() throws Exception {
+        // given
+        Categoria premium = categoriaRepository.save(new Categoria(null, "Premium", "Completo", new BigDecimal("90.00")));
+        socioRepository.saveAll(List.of(socio1, socio2,
+                new Socio(null, "Caio", "333", "caio@test.com", "1", "pass", "ATRASADO", premium, null, null),
+                new Socio(null, "Davi", "444", "davi@test.com", "1", "pass", "ATRASADO", savedCategoria, null, null),
+                new Socio(null, "Elis", "555", "elis@test.com", "1", "pass", "ATRASADO", premium, null, null)));
+
+        // when / then: paginado por id dentro do filtro
+        MvcResult primeiraPagina = mockMvc.perform(get("/api/socios/busca")
+                        .param("categoriaId", premium.getId().toString())
+                        .param("statusPagamento", "ATRASADO")
+                        .param("tamanho", "1")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.size()", is(1)))
+                .andExpect(jsonPath("$.itens[0].nome", is("Caio")))
+                .andExpect(jsonPath("$.itens[0].categoria.nome", is("Premium")))
+                .andExpect(jsonPath("$.proximoCursor").isNotEmpty())
+                .andReturn();
+        String cursor = JsonPath.read(primeiraPagina.getResponse().getContentAsString(), "$.proximoCursor");
+
+        mockMvc.perform(get("/api/socios/busca")
+                        .param("categoriaId", premium.getId().toString())
+                        .param("statusPagamento", "ATRASADO")
+                        .param("tamanho", "1")
+                        .param("cursor", cursor)
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[*].nome", contains("Elis")))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+    }
+
+    @Test
+    void testBuscarSocios_PrefixoDoNomeOrdenadoPorNome() throws Exception {
+        // given: nomes repetidos exigem o desempate por id no cursor
+        socioRepository.saveAll(List.of(socio1,
+                new Socio(null, "Ana Souza", "301", "ana.souza@test.com", "1", "pass", "PAGO", savedCategoria, null, null),
+                new Socio(null, "Ana Lima", "302", "ana.lima@test.com", "1", "pass", "PAGO", savedCategoria, null, null),
+                new Socio(null, "Ana Lima", "303", "ana.lima2@test.com", "1", "pass", "PAGO", savedCategoria, null, null),
+                new Socio(null, "Anabela", "304", "anabela@test.com", "1", "pass", "PAGO", savedCategoria, null, null),
+                new Socio(null, "Bruno", "305", "bruno@test.com", "1", "pass", "PAGO", savedCategoria, null, null),
+                new Socio(null, "An%a", "306", "curinga@test.com", "1", "pass", "PAGO", savedCategoria, null, null)));
+
+        List<String> nomes = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder requisicao = get("/api/socios/busca")
+                    .param("nome", "Ana")
+                    .param("ordenacao", "nome")
+                    .param("tamanho", "2")
+                    .header(HttpHeaders.AUTHORIZATION, getAuthHeader());
+            if (cursor != null) {
+                requisicao.param("cursor", cursor);
+            }
+            String corpo = mockMvc.perform(requisicao).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            nomes.addAll(JsonPath.read(corpo, "$.itens[*].nome"));
+            cursor = JsonPath.read(corpo, "$.proximoCursor");
+        } while (cursor != null);
+
+        // "Ana" (socio1) também casa com o prefixo; "%" é tratado como literal
+        assertEquals(List.of("Ana", "Ana Lima", "Ana Lima", "Ana Souza", "Anabela"), nomes);
+    }
+
+    @Test
+    void testBuscarSocios_PrefixoComPontuacao() throws Exception {
+        // given: hífen e apóstrofo no prefixo, que collations como en_US ignoram ao comparar faixas
+        socioRepository.saveAll(List.of(
+                new Socio(null, "Jean-Paul", "401", "jean.paul@test.com", "1", "pass", "PAGO", savedCategoria, null, null),
+                new Socio(null, "Jean Luc", "402", "jean.luc@test.com", "1", "pass", "PAGO", savedCategoria, null, null),
+                new Socio(null, "Jeanne", "403", "jeanne@test.com", "1", "pass", "PAGO", savedCategoria, null, null),
+                new Socio(null, "D'Ávila", "404", "davila@test.com", "1", "pass", "PAGO", savedCategoria, null, null),
+                new Socio(null, "Dalva", "405", "dalva@test.com", "1", "pass", "PAGO", savedCategoria, null, null)));
+
+        // when / then
+        mockMvc.perform(get("/api/socios/busca")
+                        .param("nome", "Jean-")
+                        .param("ordenacao", "nome")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[*].nome", contains("Jean-Paul")));
+        mockMvc.perform(get("/api/socios/busca")
+                        .param("nome", "D'")
+                        .param("ordenacao", "nome")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[*].nome", contains("D'Ávila")));
+    }
+
+    @Test
+    void testBuscarSocios_PlanoUsaIndices() {
+        // O plano do H2 para as consultas da busca deve percorrer os índices compostos, não a tabela inteira
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        String porCategoria = jdbc.queryForObject("explain select s.id from socio s where s.categoria_id = 1 "
+                + "and s.status_pagamento = 'ATRASADO' and s.id > 10 order by s.id", String.class);
+        assertTrue(porCategoria.toUpperCase().contains("IDX_SOCIO_CATEGORIA_STATUS"), porCategoria);
+
+        String porNome = jdbc.queryForObject("explain select s.id from socio s where s.nome like 'Ana%' escape '\\' "
+                + "order by s.nome, s.id", String.class);
+        assertTrue(porNome.toUpperCase().contains("IDX_SOCIO_NOME"), porNome);
+    }
+
+    @Test
+    void testAutocompleteSocios_AcompanhaCadastroEExclusao() throws Exception {
+        // given: cadastro pela API atualiza o índice após o commit
+        String corpo = mockMvc.perform(post("/api/socios")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(socioRequestDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Integer id = JsonPath.read(corpo, "$.id");
+        String prefixo = socioRequestDTO.getNome().substring(0, 4);
+
+        mockMvc.perform(get("/api/socios/autocomplete").param("q", prefixo)
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]", is(id)));
+
+        // when: exclusão em conjunto
+        mockMvc.perform(delete("/api/socios/{id}", id).header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isNoContent());
+
+        // then
+        mockMvc.perform(get("/api/socios/autocomplete").param("q", prefixo)
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*]", not(hasItem(id))));
+        mockMvc.perform(get("/api/socios/autocomplete").param("q", " ")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testListarTodosSemPaginacao_DesativadoPorPadrao() throws Exception {
+        mockMvc.perform(get("/api/socios/todos")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testConsultasSocio_QuantidadeDeSqlNaoCresceComOsDados() throws Exception {
+        // given: poucos sócios, cada um com sua própria categoria
+        criarSociosComCategoriasDistintas(0, 2);
+        long listagemPequena = contarSql(get("/api/socios"));
+        long emailPequeno = contarSql(get("/api/socios/por-email").param("email", "socio0@test.com"));
+        long documentoPequeno = contarSql(get("/api/socios/por-documento").param("documento", "doc0"));
+
+        // when: a base cresce
+        criarSociosComCategoriasDistintas(2, 12);
+
+        // then: o número de comandos SQL por requisição permanece o mesmo (sem N+1 em categoria)
+        assertEquals(listagemPequena, contarSql(get("/api/socios")));
+        assertEquals(emailPequeno, contarSql(get("/api/socios/por-email").param("email", "socio11@test.com")));
+        assertEquals(documentoPequeno, contarSql(get("/api/socios/por-documento").param("documento", "doc11")));
+    }
+
+    @Test
+    void testBuscarSocioPorEmailEDocumento() throws Exception {
+        socioRepository.save(socio1);
+
+        mockMvc.perform(get("/api/socios/por-email").param("email", socio1.getEmail())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome", is(socio1.getNome())))
+                .andExpect(jsonPath("$.categoria.nome", is(savedCategoria.getNome())));
+        mockMvc.perform(get("/api/socios/por-documento").param("documento", "inexistente")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isNotFound());
+    }
+
+    private void criarSociosComCategoriasDistintas(int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            Categoria categoria = categoriaRepository.save(new Categoria(null, "Cat" + i, "-", new BigDecimal("10.00")));
+            socioRepository.save(new Socio(null, "Socio" + i, "doc" + i, "socio" + i + "@test.com", "0", "pass", "PAGO", categoria, null, null));
+        }
+    }
+
+    // Executa a requisição (já autenticada) e retorna quantos comandos SQL foram preparados
+    private long contarSql(MockHttpServletRequestBuilder requisicao) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        requisicao.header(HttpHeaders.AUTHORIZATION, getAuthHeader());
+        mockMvc.perform(requisicao).andExpect(status().isOk()); // Aquece caches de autenticação
+        socioCache.invalidateAll(); // Mede a consulta ao banco, não o cache de sócios aquecido acima
+        statistics.clear();
+        mockMvc.perform(requisicao).andExpect(status().isOk());
+        assertTrue(statistics.getPrepareStatementCount() > 0, "Nenhum SQL medido");
+        return statistics.getPrepareStatementCount();
     }
 
     @Test
@@ -304,6 +582,60 @@ class SocioControllerIntegrationTest {
                 .andExpect(jsonPath("$.email", is(savedSocio.getEmail()))); // Email shouldn't change unless logic allows
     }
 
+    @Test
+    void testAtualizarParcialSocio_SomenteCamposAlterados() throws Exception {
+        // given
+        Socio savedSocio = socioRepository.save(socio1);
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        assertTrue(sessionFactory.getMappingMetamodel().getEntityDescriptor(Socio.class).getEntityMetamodel().isDynamicUpdate());
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        // when: apenas o telefone é informado
+        mockMvc.perform(patch("/api/socios/{id}", savedSocio.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"telefone\": \"555-0001\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.telefone", is("555-0001")))
+                .andExpect(jsonPath("$.nome", is(socio1.getNome())))
+                .andExpect(jsonPath("$.email", is(socio1.getEmail())));
+
+        // then: um único UPDATE
+        assertEquals(1, statistics.getEntityUpdateCount());
+
+        // when: valores idênticos aos atuais não geram UPDATE
+        statistics.clear();
+        mockMvc.perform(patch("/api/socios/{id}", savedSocio.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"telefone\": \"555-0001\", \"email\": \"" + socio1.getEmail() + "\"}"))
+                .andExpect(status().isOk());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals("555-0001", socioRepository.findById(savedSocio.getId()).orElseThrow().getTelefone());
+    }
+
+    @Test
+    void testAtualizarParcialSocio_EmailDeOutroSocioOuInvalido() throws Exception {
+        Socio savedSocio = socioRepository.save(socio1);
+        socioRepository.save(socio2);
+
+        mockMvc.perform(patch("/api/socios/{id}", savedSocio.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + socio2.getEmail() + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Email já cadastrado para outro sócio: " + socio2.getEmail())));
+
+        mockMvc.perform(patch("/api/socios/{id}", savedSocio.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"nao-e-email\", \"nome\": \" \"}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(socio1.getEmail(), socioRepository.findById(savedSocio.getId()).orElseThrow().getEmail());
+    }
+
     @Test
     void testAtualizarSocio_NotFound() throws Exception {
         // given
@@ -355,5 +687,315 @@ class SocioControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", is("Sócio não encontrado com id: " + nonExistentId)));
     }
 
-     // TODO: Add test for deletarSocio_Fail_HasDependencies if validation is active
+    @Test
+    void testDeletarSocio_ComDependentes_RemoveSemCarregarColecoes() throws Exception {
+        // given: sócio com pagamentos e notificações
+        Socio savedSocio = socioRepository.save(socio1);
+        criarDependentes(savedSocio, 5, 4);
+        Socio outro = socioRepository.save(socio2);
+        criarDependentes(outro, 1, 1);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        mockMvc.perform(get("/api/socios/{id}", outro.getId()).header(HttpHeaders.AUTHORIZATION, getAuthHeader())); // Aquece caches de autenticação
+        statistics.clear();
+
+        // when
+        mockMvc.perform(delete("/api/socios/{id}", savedSocio.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isNoContent());
+
+        // then: nenhuma entidade carregada, apenas existência + três DELETEs em conjunto
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertFalse(socioRepository.existsById(savedSocio.getId()));
+        assertEquals(1, pagamentoRepository.count());
+        assertEquals(1, notificacaoRepository.count());
+    }
+
+    @Test
+    void testDeletarSociosPorFiltro_RetornaContagens() throws Exception {
+        // given: dois pendentes com dependentes e um pago
+        Socio pendente1 = socioRepository.save(socio1);
+        Socio pago = socioRepository.save(socio2);
+        Socio pendente2 = socioRepository.save(new Socio(null, "Caio", "333", "caio@test.com", "789", "pass", "PENDENTE", savedCategoria, null, null));
+        criarDependentes(pendente1, 2, 1);
+        criarDependentes(pendente2, 1, 2);
+        criarDependentes(pago, 3, 3);
+
+        // when / then
+        mockMvc.perform(delete("/api/socios")
+                        .param("statusPagamento", "PENDENTE")
+                        .param("categoriaId", savedCategoria.getId().toString())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sociosExcluidos", is(2)))
+                .andExpect(jsonPath("$.pagamentosExcluidos", is(3)))
+                .andExpect(jsonPath("$.notificacoesExcluidas", is(3)));
+
+        assertEquals(List.of(pago.getId()), socioRepository.findAll().stream().map(Socio::getId).toList());
+        assertEquals(3, pagamentoRepository.count());
+        assertEquals(3, notificacaoRepository.count());
+        // O cache de leitura não deve servir o sócio removido
+        mockMvc.perform(get("/api/socios/{id}", pendente1.getId()).header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDeletarSociosPorFiltro_SemFiltro_BadRequest() throws Exception {
+        socioRepository.save(socio1);
+
+        mockMvc.perform(delete("/api/socios").header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(1, socioRepository.count());
+    }
+
+    private void criarDependentes(Socio socio, int pagamentos, int notificacoes) {
+        for (int i = 0; i < pagamentos; i++) {
+            pagamentoRepository.save(new Pagamento(null, new Date(), new BigDecimal("50.00"), "CONFIRMADO", socio, savedCategoria));
+        }
+        for (int i = 0; i < notificacoes; i++) {
+            notificacaoRepository.save(new Notificacao(null, "AVISO", new Date(), "Aviso " + i, socio));
+        }
+    }
+
+    @Test
+    void testImportarSociosCsv_RelatorioPorLinha() throws Exception {
+        socioRepository.save(socio1); // ana@test.com já existe
+        String csv = String.join("\n",
+                "nome,documento,email,telefone,senha,categoriaId",
+                "Carlos,333,carlos@test.com,789,senha123," + savedCategoria.getId(),
+                "\"Silva, Dora\",444,dora@test.com,,senha123," + savedCategoria.getId(),
+                "Ana Duplicada,555,ana@test.com,1,senha123," + savedCategoria.getId(),
+                "Eva,333,eva@test.com,1,senha123," + savedCategoria.getId(), // documento repetido no próprio arquivo
+                "Fabio,666,fabio@test.com,1,senha123,999999",
+                "Gil,777,gil-sem-arroba,1,senha123," + savedCategoria.getId());
+
+        mockMvc.perform(post("/api/socios/importacao")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRegistros", is(6)))
+                .andExpect(jsonPath("$.importados", is(2)))
+                .andExpect(jsonPath("$.rejeitados", is(4)))
+                .andExpect(jsonPath("$.erros[0].linha", is(3)))
+                .andExpect(jsonPath("$.erros[0].mensagem", is("Email já cadastrado: ana@test.com")))
+                .andExpect(jsonPath("$.erros[1].linha", is(4)))
+                .andExpect(jsonPath("$.erros[1].mensagem", is("Documento já cadastrado: 333")))
+                .andExpect(jsonPath("$.erros[2].mensagem", is("Categoria não encontrada com id: 999999")))
+                .andExpect(jsonPath("$.erros[3].mensagem", is("Formato de email inválido")));
+
+        Socio dora = socioRepository.findByEmail("dora@test.com").orElseThrow();
+        assertEquals("Silva, Dora", dora.getNome());
+        assertEquals("PENDENTE", dora.getStatusPagamento());
+        assertNull(dora.getSenha()); // A coluna senha é ignorada: nada gravado em texto puro
+    }
+
+    @Test
+    void testImportarSociosJson_ConflitoConcorrenteRejeitaSoALinha() throws Exception {
+        String categoriaId = String.valueOf(savedCategoria.getId());
+        byte[] inicio = ("[{\"nome\":\"Hugo\",\"documento\":\"h1\",\"email\":\"hugo@test.com\",\"categoriaId\":" + categoriaId + "},"
+                + "{\"nome\":\"Iris\",\"documento\":\"i1\",\"email\":\"iris@test.com\",\"categoriaId\":" + categoriaId + "},")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] fim = ("{\"nome\":\"Jonas\",\"documento\":\"j1\",\"email\":\"jonas@test.com\",\"categoriaId\":" + categoriaId + "}]")
+                .getBytes(StandardCharsets.UTF_8);
+        // Outro sócio com o email da Iris é gravado durante a leitura, depois de a importação carregar as chaves
+        Enumeration<InputStream> partes = new Enumeration<>() {
+            private int lidas;
+
+            @Override
+            public boolean hasMoreElements() {
+                return lidas < 2;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                if (lidas++ == 0) {
+                    return new ByteArrayInputStream(inicio);
+                }
+                socioRepository.save(new Socio(null, "Concorrente", "c1", "iris@test.com", null, null, "PAGO", savedCategoria, null, null));
+                return new ByteArrayInputStream(fim);
+            }
+        };
+
+        ImportacaoResultadoDTO resultado = socioImportacaoService.importarJson(new SequenceInputStream(partes));
+
+        assertEquals(3, resultado.getTotalRegistros());
+        assertEquals(2, resultado.getImportados());
+        assertEquals(1, resultado.getRejeitados());
+        assertEquals(2, resultado.getErros().get(0).getLinha());
+        assertEquals("Email já cadastrado: iris@test.com", resultado.getErros().get(0).getMensagem());
+        assertTrue(socioRepository.findByEmail("hugo@test.com").isPresent());
+        assertTrue(socioRepository.findByEmail("jonas@test.com").isPresent());
+        assertEquals("Concorrente", socioRepository.findByEmail("iris@test.com").orElseThrow().getNome());
+    }
+
+    @Test
+    void testImportarSociosJson_GravaEmLotesJdbc() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 120; i++) {
+            json.append(i == 0 ? "" : ",").append(String.format(
+                    "{\"nome\":\"Socio %d\",\"documento\":\"lote%d\",\"email\":\"lote%d@test.com\",\"senha\":\"senha123\",\"categoriaId\":%d}",
+                    i, i, i, savedCategoria.getId()));
+        }
+        json.append(",{\"nome\":\"Invalido\",\"categoriaId\":\"abc\"}]");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/socios/importacao")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados", is(120)))
+                .andExpect(jsonPath("$.rejeitados", is(1)))
+                .andExpect(jsonPath("$.erros[0].linha", is(121)));
+
+        assertEquals(120, socioRepository.findAllEmails().stream().filter(e -> e.startsWith("lote")).count());
+        // 120 INSERTs em lotes de 50 + sequência pooled: bem menos comandos preparados do que linhas importadas
+        assertTrue(statistics.getPrepareStatementCount() < 20, "Comandos preparados: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testImportarSociosJson_ElementoQueNaoEObjetoRejeitaSoOElemento() throws Exception {
+        String categoriaId = String.valueOf(savedCategoria.getId());
+        String json = "[{\"nome\":\"Lia\",\"documento\":\"l1\",\"email\":\"lia@test.com\",\"categoriaId\":" + categoriaId + "},"
+                + "42, null, [1, {\"nome\":\"Aninhado\"}],"
+                + "{\"nome\":\"Max\",\"documento\":\"m1\",\"email\":\"max@test.com\",\"categoriaId\":" + categoriaId + "}]";
+
+        ImportacaoResultadoDTO resultado = socioImportacaoService.importarJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(5, resultado.getTotalRegistros());
+        assertEquals(2, resultado.getImportados());
+        assertEquals(3, resultado.getRejeitados());
+        assertEquals(List.of(2L, 3L, 4L), resultado.getErros().stream().map(ErroImportacaoDTO::getLinha).toList());
+        assertEquals("Registro inválido: esperado um objeto JSON", resultado.getErros().get(0).getMensagem());
+        assertTrue(socioRepository.findByEmail("max@test.com").isPresent()); // O registro depois dos inválidos não se perde
+    }
+
+    @Test
+    void testImportarSocios_SomenteAdmin() throws Exception {
+        Usuario socioUser = usuarioRepository.save(Usuario.builder()
+                .email("socio.importacao@test.com")
+                .senha(passwordEncoder.encode("password"))
+                .role(Role.SOCIO)
+                .build());
+        try {
+            String socioToken = jwtService.generateToken(socioUser);
+            mockMvc.perform(post("/api/socios/importacao")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + socioToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isForbidden());
+        } finally {
+            usuarioRepository.delete(socioUser);
+        }
+    }
+
+    @Test
+    void testCadastrarSocio_ConcorrenteNaoGeraDuplicados() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<MvcResult>> respostas = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                SocioRequestDTO dto = new SocioRequestDTO();
+                dto.setNome("Concorrente " + i);
+                dto.setDocumento("conc" + i); // Documentos distintos, mesmo email
+                dto.setEmail("mesmo@test.com");
+                dto.setSenha("senha123");
+                dto.setCategoriaId(savedCategoria.getId());
+                String corpo = objectMapper.writeValueAsString(dto);
+                respostas.add(executor.submit(() -> {
+                    largada.await();
+                    return mockMvc.perform(post("/api/socios")
+                            .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo)).andReturn();
+                }));
+            }
+            largada.countDown();
+
+            int criados = 0;
+            for (Future<MvcResult> resposta : respostas) {
+                MvcResult resultado = resposta.get(30, TimeUnit.SECONDS);
+                if (resultado.getResponse().getStatus() == 201) {
+                    criados++;
+                } else {
+                    // Todas as demais recebem a mensagem de negócio, nunca um 500
+                    assertEquals(400, resultado.getResponse().getStatus());
+                    assertTrue(resultado.getResponse().getContentAsString(StandardCharsets.UTF_8).contains("Email já cadastrado: mesmo@test.com"));
+                }
+            }
+            assertEquals(1, criados);
+            assertEquals(1, socioRepository.findAllEmails().stream().filter("mesmo@test.com"::equals).count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCadastrarSocio_SemConsultasPreviasDeUnicidade() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        mockMvc.perform(get("/api/socios").header(HttpHeaders.AUTHORIZATION, getAuthHeader())); // Aquece caches de autenticação
+        categoriaRegistry.verificarVersao(); // Carrega a categoria gravada direto no repositório
+        statistics.clear();
+
+        mockMvc.perform(post("/api/socios")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(socioRequestDTO)))
+                .andExpect(status().isCreated());
+
+        // Apenas o INSERT: nenhuma consulta por email/documento
+        assertEquals(0, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void testCadastrarSocio_CategoriaResolvidaPeloRegistroEmMemoria() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        categoriaRegistry.verificarVersao(); // A categoria foi gravada direto no repositório: recarrega o registro
+        statistics.clear();
+
+        mockMvc.perform(post("/api/socios")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(socioRequestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.categoria.nome", is("Standard")));
+
+        assertEquals(0, statistics.getEntityStatistics(Categoria.class.getName()).getLoadCount());
+        assertEquals(savedCategoria.getId(), socioRepository.findByEmail("carlos@test.com").orElseThrow().getCategoria().getId());
+    }
+
+    @Test
+    void testBuscarPorEmail_CacheAcompanhaAlteracaoDeEmail() throws Exception {
+        Socio salvo = socioRepository.save(socio1);
+        mockMvc.perform(get("/api/socios/por-email").param("email", "ana@test.com")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk()); // Popula o cache
+
+        SocioRequestDTO alteracao = new SocioRequestDTO();
+        alteracao.setNome("Ana");
+        alteracao.setDocumento("111");
+        alteracao.setEmail("ana.nova@test.com");
+        alteracao.setSenha("senha123");
+        alteracao.setCategoriaId(savedCategoria.getId());
+        mockMvc.perform(put("/api/socios/{id}", salvo.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alteracao)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/socios/por-email").param("email", "ana@test.com")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/socios/por-documento").param("documento", "111")
+                        .header(HttpHeaders.AUTHORIZATION, getAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", is("ana.nova@test.com")));
+    }
 }
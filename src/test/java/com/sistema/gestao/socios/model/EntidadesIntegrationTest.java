@@ -0,0 +1,164 @@
+package com.sistema.gestao.socios.model;
+
+import com.sistema.gestao.socios.repository.AdministradorRepository;
+import com.sistema.gestao.socios.repository.CategoriaPrecoRepository;
+import com.sistema.gestao.socios.repository.CategoriaRepository;
+import com.sistema.gestao.socios.repository.NotificacaoRepository;
+import com.sistema.gestao.socios.repository.PagamentoRepository;
+import com.sistema.gestao.socios.repository.RelatorioFinanceiroRepository;
+import com.sistema.gestao.socios.repository.SocioRepository;
+import com.sistema.gestao.socios.repository.TokenRevogadoRepository;
+import com.sistema.gestao.socios.repository.UsuarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guarda para todas as entidades do metamodelo: equals, hashCode e toString não podem emitir SQL, nem em entidades
+ * carregadas (coleções e associações LAZY) nem em proxies não inicializados. Uma entidade nova sem dados em
+ * {@link #criarDados()} faz o teste falhar.
+ */
+@SpringBootTest
+class EntidadesIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private CategoriaPrecoRepository categoriaPrecoRepository;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private NotificacaoRepository notificacaoRepository;
+
+    @Autowired
+    private RelatorioFinanceiroRepository relatorioFinanceiroRepository;
+
+    @Autowired
+    private AdministradorRepository administradorRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TokenRevogadoRepository tokenRevogadoRepository;
+
+    @BeforeEach
+    void criarDados() {
+        limparDados();
+        Categoria categoria = categoriaRepository.save(new Categoria(null, "Guarda", "Básico", new BigDecimal("50.00")));
+        categoriaPrecoRepository.save(new CategoriaPreco(null, categoria, LocalDate.now(), new BigDecimal("50.00")));
+        Socio socio = socioRepository.save(new Socio(null, "Guarda", "g-1", "guarda.entidades@test.com", null, "pass", "PAGO", categoria, null, null));
+        pagamentoRepository.save(new Pagamento(null, new Date(), new BigDecimal("50.00"), "CONFIRMADO", socio, categoria));
+        notificacaoRepository.save(new Notificacao(null, "AVISO", new Date(), "Mensagem", socio));
+        relatorioFinanceiroRepository.save(new RelatorioFinanceiro(null, "MENSAL", new Date(), new Date(), "{}"));
+        administradorRepository.save(new Administrador(null, "Admin", "admin.entidades@test.com", "senha"));
+        usuarioRepository.save(Usuario.builder().email("usuario.entidades@test.com").senha("senha").role(Role.SOCIO).build());
+        // Já expirado: removido por excluirExpirados na limpeza
+        tokenRevogadoRepository.save(TokenRevogado.builder().jti(UUID.randomUUID().toString())
+                .expiraEm(Instant.now().minusSeconds(60)).revogadoEm(Instant.now().minusSeconds(120)).build());
+    }
+
+    @AfterEach
+    void limparDados() {
+        notificacaoRepository.deleteAll();
+        pagamentoRepository.deleteAll();
+        socioRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        relatorioFinanceiroRepository.deleteAll();
+        administradorRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        tokenRevogadoRepository.excluirExpirados(Instant.now());
+    }
+
+    @Test
+    void equalsHashCodeEToString_NaoEmitemSql() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        List<String> comandos = new ArrayList<>();
+        try (Session carregadas = abrirSessao(sessionFactory, comandos);
+             Session referencias = abrirSessao(sessionFactory, comandos)) {
+            for (EntityType<?> tipo : sessionFactory.getMetamodel().getEntities()) {
+                List<?> entidades = carregar(carregadas, tipo);
+                assertFalse(entidades.isEmpty(), "Sem dados de teste para " + tipo.getName());
+
+                comandos.clear();
+                Set<Object> conjunto = new HashSet<>();
+                for (Object entidade : entidades) {
+                    Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entidade);
+                    Object proxy = referencias.getReference(tipo.getJavaType(), id);
+
+                    assertNotNull(entidade.toString());
+                    assertTrue(conjunto.add(entidade));
+                    assertFalse(conjunto.add(proxy)); // Mesma identidade da entidade carregada
+                    assertEquals(entidade, proxy);
+                    assertEquals(proxy, entidade);
+                    assertFalse(Hibernate.isInitialized(proxy), "Proxy de " + tipo.getName() + " inicializado");
+                }
+                assertEquals(List.of(), comandos, "SQL emitido por equals/hashCode/toString de " + tipo.getName());
+            }
+        }
+    }
+
+    @Test
+    void toString_NaoExpoeSenhas() {
+        List<Object> comSenha = List.of(
+                new Socio(1L, "Ana", "111", "ana@test.com", null, "segredo-socio", "PAGO", null, null, null),
+                new Administrador(1L, "Admin", "admin@test.com", "segredo-admin"),
+                Usuario.builder().id(1L).email("usuario@test.com").senha("segredo-usuario").role(Role.SOCIO).build());
+
+        for (Object entidade : comSenha) {
+            assertFalse(entidade.toString().contains("segredo"), entidade.toString());
+            assertFalse(entidade.toString().contains("senha="), entidade.toString());
+        }
+    }
+
+    @Test
+    void equals_EntidadesNovasSoSaoIguaisAElasMesmas() {
+        Categoria nova = new Categoria(null, "Nova", "-", BigDecimal.ONE);
+        Set<Categoria> conjunto = new HashSet<>(List.of(nova));
+
+        assertNotEquals(nova, new Categoria(null, "Nova", "-", BigDecimal.ONE));
+        Categoria salva = categoriaRepository.save(nova);
+        assertTrue(conjunto.contains(salva)); // hashCode não muda ao receber o id
+        assertEquals(salva, categoriaRepository.findById(salva.getId()).orElseThrow());
+        assertNotEquals(new Socio(salva.getId(), null, null, null, null, null, null, null, null, null), salva);
+    }
+
+    private static Session abrirSessao(SessionFactory sessionFactory, List<String> comandos) {
+        return sessionFactory.withOptions().statementInspector(sql -> {
+            comandos.add(sql);
+            return sql;
+        }).openSession();
+    }
+
+    private static <T> List<T> carregar(Session session, EntityType<T> tipo) {
+        return session.createQuery("select e from " + tipo.getName() + " e", tipo.getJavaType()).getResultList();
+    }
+}
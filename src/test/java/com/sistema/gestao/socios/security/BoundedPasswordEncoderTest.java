@@ -0,0 +1,118 @@
+package com.sistema.gestao.socios.security;
+
+import com.sistema.gestao.socios.exception.ServicoSobrecarregadoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_shouldRoundTripOnPool() {
+        encoder = new BoundedPasswordEncoder(4, 2, 4, Duration.ofSeconds(5), Duration.ofSeconds(1));
+
+        String hash = encoder.encode("senha123");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("senha123", hash));
+        assertFalse(encoder.matches("outraSenha", hash));
+    }
+
+    @Test
+    void encode_shouldRejectImmediatelyWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(4, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(3));
+        CountDownLatch iniciou = new CountDownLatch(1);
+
+        // Ocupa a única thread do pool e a única vaga da fila
+        CompletableFuture<String> emExecucao = CompletableFuture.supplyAsync(() -> encoder.encode(senhaBloqueante(iniciou)));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> naFila = CompletableFuture.supplyAsync(() -> encoder.encode("naFila"));
+        aguardarFilaOcupada();
+
+        ServicoSobrecarregadoException ex = assertThrows(ServicoSobrecarregadoException.class, () -> encoder.encode("rejeitada"));
+        assertEquals(Duration.ofSeconds(3), ex.getRetryAfter());
+
+        liberar.countDown();
+        assertNotNull(emExecucao.get(5, TimeUnit.SECONDS));
+        assertNotNull(naFila.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_shouldFailFastWhenHashingExceedsTimeout() throws Exception {
+        encoder = new BoundedPasswordEncoder(4, 1, 1, Duration.ofMillis(50), Duration.ofSeconds(1));
+
+        assertThrows(ServicoSobrecarregadoException.class,
+                () -> encoder.matches(senhaBloqueante(new CountDownLatch(1)), "$2a$04$abcdefghijklmnopqrstuu5uGcs3O8w3LXH9M0O0WcAZo0GM1ZJ5S"));
+    }
+
+    @Test
+    void upgradeEncoding_shouldFlagHashesWithLowerCostFactor() {
+        BoundedPasswordEncoder antigo = new BoundedPasswordEncoder(4, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(1));
+        encoder = new BoundedPasswordEncoder(5, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(1));
+        try {
+            String hashAntigo = antigo.encode("senha123");
+
+            assertTrue(encoder.upgradeEncoding(hashAntigo));
+            assertFalse(encoder.upgradeEncoding(encoder.encode("senha123")));
+        } finally {
+            antigo.close();
+        }
+    }
+
+    // Senha cuja leitura só termina quando o teste liberar, mantendo a thread de hashing ocupada
+    private CharSequence senhaBloqueante(CountDownLatch iniciou) {
+        return new CharSequence() {
+            @Override
+            public String toString() {
+                iniciou.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "bloqueada";
+            }
+
+            @Override
+            public int length() {
+                return toString().length();
+            }
+
+            @Override
+            public char charAt(int index) {
+                return toString().charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return toString().subSequence(start, end);
+            }
+        };
+    }
+
+    private void aguardarFilaOcupada() throws InterruptedException {
+        // A segunda tarefa entra na fila de forma assíncrona
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.getQueuedTasks() < 1 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, encoder.getQueuedTasks());
+    }
+}
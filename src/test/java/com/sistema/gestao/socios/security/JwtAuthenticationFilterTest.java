@@ -0,0 +1,216 @@
+package com.sistema.gestao.socios.security;
+
+import com.sistema.gestao.socios.model.Role;
+import com.sistema.gestao.socios.model.Usuario;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private ObjectProvider<UserDetailsService> userDetailsServiceProvider;
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+    @Mock
+    private TokenRevocationStore tokenRevocationStore;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtFilterMetrics filterMetrics = new JwtFilterMetrics(meterRegistry);
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "4D6251655468576D5A7134743777217A25432A462D4A614E645267556B587032");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsServiceProvider, tokenVersionRegistry, tokenRevocationStore, filterMetrics);
+
+        usuario = Usuario.builder()
+                .id(7L)
+                .email("socio@test.com")
+                .senha("hash")
+                .role(Role.SOCIO)
+                .build();
+    }
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_shouldAuthenticateFromClaimsWithoutLoadingUser() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessEnabled", true);
+        when(tokenVersionRegistry.isCurrent(7L, 0)).thenReturn(true);
+
+        filter.doFilter(requestCom(jwtService.generateToken(usuario)), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(auth);
+        Usuario principal = (Usuario) auth.getPrincipal();
+        assertEquals(7L, principal.getId());
+        assertEquals("socio@test.com", principal.getUsername());
+        assertTrue(auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_SOCIO")));
+        verifyNoInteractions(userDetailsServiceProvider); // Nenhuma consulta ao banco
+    }
+
+    @Test
+    void statelessMode_shouldRejectTokenIssuedBeforeRoleChange() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessEnabled", true);
+        String token = jwtService.generateToken(usuario); // ver = 0
+
+        usuario.setRole(Role.ADMIN); // Mudança de role incrementa a versão
+        assertEquals(1, usuario.getTokenVersion());
+        when(tokenVersionRegistry.isCurrent(anyLong(), anyInt()))
+                .thenAnswer(inv -> inv.<Integer>getArgument(1) == usuario.getTokenVersion());
+
+        filter.doFilter(requestCom(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsServiceProvider);
+    }
+
+    @Test
+    void defaultMode_shouldLoadUserThroughUserDetailsService() throws Exception {
+        when(userDetailsServiceProvider.getObject()).thenReturn(userDetailsService);
+        when(userDetailsService.loadUserByUsername("socio@test.com")).thenReturn(usuario);
+
+        filter.doFilter(requestCom(jwtService.generateToken(usuario)), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService, times(1)).loadUserByUsername(anyString());
+        verifyNoInteractions(tokenVersionRegistry);
+        // Todas as etapas foram medidas uma vez
+        for (String etapa : new String[]{"header", "verify", "principal", "context"}) {
+            assertEquals(1, meterRegistry.get("auth.filter.stage").tag("stage", etapa).timer().count());
+        }
+    }
+
+    @Test
+    void jfrRecording_shouldReceiveOneEventPerFilterPass() throws Exception {
+        when(userDetailsServiceProvider.getObject()).thenReturn(userDetailsService);
+        when(userDetailsService.loadUserByUsername("socio@test.com")).thenReturn(usuario);
+        Path arquivo = Files.createTempFile("jwt-filter", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.sistema.gestao.socios.JwtFilter").withThreshold(Duration.ZERO);
+            recording.start();
+            filter.doFilter(requestCom(jwtService.generateToken(usuario)), new MockHttpServletResponse(), new MockFilterChain());
+            recording.stop();
+            recording.dump(arquivo);
+
+            List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo).stream()
+                    .filter(e -> e.getEventType().getName().equals("com.sistema.gestao.socios.JwtFilter"))
+                    .toList();
+            assertEquals(1, eventos.size());
+            assertEquals("authenticated", eventos.get(0).getString("outcome"));
+            assertEquals("/api/socios", eventos.get(0).getString("path"));
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    @Test
+    void jfrRecording_shouldNotIncludeEventUnlessEnabled() throws Exception {
+        when(userDetailsServiceProvider.getObject()).thenReturn(userDetailsService);
+        when(userDetailsService.loadUserByUsername("socio@test.com")).thenReturn(usuario);
+        Path arquivo = Files.createTempFile("jwt-filter", ".jfr");
+        // Configuração "default" do JDK: eventos não listados seguem a anotação @Enabled
+        try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+            recording.start();
+            filter.doFilter(requestCom(jwtService.generateToken(usuario)), new MockHttpServletResponse(), new MockFilterChain());
+            recording.stop();
+            recording.dump(arquivo);
+
+            assertTrue(RecordingFile.readAllEvents(arquivo).stream()
+                    .noneMatch(e -> e.getEventType().getName().equals("com.sistema.gestao.socios.JwtFilter")));
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+        assertEquals(1, meterRegistry.get("auth.filter.stage").tag("stage", "context").timer().count());
+    }
+
+    @Test
+    void invalidToken_shouldOnlyRecordStagesReached() throws Exception {
+        filter.doFilter(requestCom("token.invalido.abc"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, meterRegistry.get("auth.filter.stage").tag("stage", "header").timer().count());
+        assertEquals(1, meterRegistry.get("auth.filter.stage").tag("stage", "verify").timer().count());
+        assertEquals(0, meterRegistry.get("auth.filter.stage").tag("stage", "principal").timer().count());
+        assertEquals(0, meterRegistry.get("auth.filter.stage").tag("stage", "context").timer().count());
+    }
+
+    @Test
+    void revokedToken_shouldNotAuthenticate() throws Exception {
+        String token = jwtService.generateToken(usuario);
+        when(tokenRevocationStore.isRevoked(jwtService.verify(token).getTokenId())).thenReturn(true);
+
+        filter.doFilter(requestCom(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsServiceProvider);
+    }
+
+    @Test
+    void refreshToken_shouldNotBeAcceptedAsAccessToken() throws Exception {
+        filter.doFilter(requestCom(jwtService.generateRefreshToken(usuario)), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsServiceProvider, tokenRevocationStore);
+    }
+
+    @Test
+    void publicRoute_shouldSkipTokenProcessing() throws Exception {
+        JwtService jwtServiceEspiao = spy(jwtService);
+        JwtAuthenticationFilter filtro = new JwtAuthenticationFilter(jwtServiceEspiao, userDetailsServiceProvider, tokenVersionRegistry, tokenRevocationStore, filterMetrics);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(usuario));
+        MockFilterChain chain = new MockFilterChain();
+
+        filtro.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest()); // A cadeia continua normalmente
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(jwtServiceEspiao, userDetailsServiceProvider, tokenRevocationStore);
+    }
+
+    private MockHttpServletRequest requestCom(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/socios");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -80,6 +80,8 @@ class JwtServiceTest {
         assertNotNull(token);
         assertTrue(jwtService.isTokenValid(token, userDetailsAdmin));
         assertEquals("customValue", jwtService.extractClaim(token, claims -> claims.get("customClaim", String.class)));
+        // Mesmo caminho de verify(): as claims vêm do cache, sem novo parse
+        assertSame(jwtService.verify(token), jwtService.extractClaim(token, claims -> claims));
     }
 
 
@@ -130,4 +132,71 @@ class JwtServiceTest {
         assertTrue(expirationDate.getTime() > now);
         assertTrue(expirationDate.getTime() <= now + testExpiration + 1000); // Adiciona 1s de margem
     }
+
+    @Test
+    void verify_shouldReuseCachedClaimsForSameToken() {
+        String token = jwtService.generateToken(usuarioAdmin);
+
+        VerifiedClaims first = jwtService.verify(token);
+        VerifiedClaims second = jwtService.verify(token);
+
+        assertSame(first, second); // Segunda chamada vem do cache, sem nova verificação HMAC
+        assertEquals(usuarioAdmin.getEmail(), second.getSubject());
+    }
+
+    @Test
+    void verify_shouldRejectTamperedTokenEvenWhenOriginalIsCached() {
+        String token = jwtService.generateToken(usuarioAdmin);
+        jwtService.verify(token); // Popula o cache
+
+        // Altera um caractere no meio da assinatura (o último só carrega bits de padding)
+        int pos = token.length() - 10;
+        char original = token.charAt(pos);
+        String tampered = token.substring(0, pos) + (original == 'A' ? 'B' : 'A') + token.substring(pos + 1);
+
+        assertThrows(io.jsonwebtoken.JwtException.class, () -> jwtService.verify(tampered));
+    }
+
+    @Test
+    void verify_shouldParseEveryTimeWhenCacheDisabled() {
+        JwtService semCache = new JwtService();
+        ReflectionTestUtils.setField(semCache, "secretKey", testSecretKey);
+        ReflectionTestUtils.setField(semCache, "jwtExpiration", testExpiration);
+        ReflectionTestUtils.setField(semCache, "cacheEnabled", false);
+        String token = semCache.generateToken(usuarioAdmin);
+
+        VerifiedClaims first = semCache.verify(token);
+        VerifiedClaims second = semCache.verify(token);
+
+        assertNotSame(first, second);
+        assertEquals(first.getSubject(), second.getSubject());
+        assertTrue(semCache.isTokenValid(second, userDetailsAdmin));
+    }
+
+    @Test
+    void generateToken_shouldEmbedPrincipalClaimsForPersistedUsuario() {
+        usuarioAdmin.setId(42L);
+
+        VerifiedClaims claims = jwtService.verify(jwtService.generateToken(usuarioAdmin));
+
+        assertTrue(claims.hasPrincipalClaims());
+        assertEquals(42L, claims.getUserId());
+        assertEquals(Role.ADMIN.name(), claims.getRole());
+        assertEquals(0, claims.getTokenVersion());
+    }
+
+    @Test
+    void generateRefreshToken_shouldBeMarkedAsRefreshAndCarryUniqueId() {
+        usuarioAdmin.setId(42L);
+
+        VerifiedClaims refresh = jwtService.verify(jwtService.generateRefreshToken(usuarioAdmin));
+        VerifiedClaims access = jwtService.verify(jwtService.generateToken(usuarioAdmin));
+
+        assertTrue(refresh.isRefreshToken());
+        assertFalse(access.isRefreshToken());
+        assertNotNull(refresh.getTokenId());
+        assertNotEquals(refresh.getTokenId(), access.getTokenId());
+        assertTrue(refresh.getExpiresAtMillis() > access.getExpiresAtMillis());
+        assertEquals(42L, refresh.getUserId());
+    }
 }
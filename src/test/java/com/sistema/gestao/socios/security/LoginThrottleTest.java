@@ -0,0 +1,148 @@
+package com.sistema.gestao.socios.security;
+
+import com.sistema.gestao.socios.exception.MuitasTentativasException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong relogio = new AtomicLong(0);
+
+    private LoginThrottle throttle(int emailCapacity, int ipCapacity, long maxKeys) {
+        return new LoginThrottle(true,
+                new LoginThrottle.Limite(emailCapacity, Duration.ofMinutes(1)),
+                new LoginThrottle.Limite(ipCapacity, Duration.ofSeconds(3)),
+                maxKeys, Duration.ofMinutes(15), relogio::get);
+    }
+
+    @Test
+    void verificar_shouldAllowBurstThenRejectWithRetryAfter() {
+        LoginThrottle throttle = throttle(3, 100, 1000);
+
+        for (int i = 0; i < 3; i++) {
+            throttle.verificar("socio@test.com", "10.0.0.1");
+        }
+        MuitasTentativasException ex = assertThrows(MuitasTentativasException.class,
+                () -> throttle.verificar("socio@test.com", "10.0.0.1"));
+        assertEquals(Duration.ofMinutes(1), ex.getRetryAfter());
+
+        // Após o intervalo de recarga, uma nova tentativa é liberada
+        relogio.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertDoesNotThrow(() -> throttle.verificar("socio@test.com", "10.0.0.1"));
+    }
+
+    @Test
+    void verificar_shouldThrottleAccountIndependentlyOfIpAndCase() {
+        LoginThrottle throttle = throttle(2, 100, 1000);
+
+        throttle.verificar("Socio@Test.com", "10.0.0.1");
+        throttle.verificar("socio@test.com ", "10.0.0.2");
+
+        // Mesma conta, outro IP: continua bloqueada
+        assertThrows(MuitasTentativasException.class, () -> throttle.verificar("socio@test.com", "10.0.0.3"));
+        // Outra conta não é afetada
+        assertDoesNotThrow(() -> throttle.verificar("outro@test.com", "10.0.0.3"));
+    }
+
+    @Test
+    void verificar_shouldThrottleIpAcrossDifferentAccounts() {
+        LoginThrottle throttle = throttle(100, 3, 1000);
+
+        for (int i = 0; i < 3; i++) {
+            throttle.verificar("conta" + i + "@test.com", "10.0.0.9");
+        }
+
+        assertThrows(MuitasTentativasException.class, () -> throttle.verificar("conta99@test.com", "10.0.0.9"));
+    }
+
+    @Test
+    void verificar_shouldDoNothingWhenDisabled() {
+        LoginThrottle throttle = new LoginThrottle(false,
+                new LoginThrottle.Limite(1, Duration.ofMinutes(1)),
+                new LoginThrottle.Limite(1, Duration.ofMinutes(1)),
+                10, Duration.ofMinutes(15), relogio::get);
+
+        for (int i = 0; i < 10; i++) {
+            throttle.verificar("socio@test.com", "10.0.0.1");
+        }
+        assertEquals(0, throttle.chavesAtivas());
+    }
+
+    @Test
+    void verificar_shouldGrantExactlyCapacityUnderHighConcurrency() throws Exception {
+        int capacidade = 50;
+        int threads = 16;
+        int tentativasPorThread = 2_000;
+        LoginThrottle throttle = throttle(capacidade, Integer.MAX_VALUE / 2, 1000);
+        AtomicInteger aceitas = new AtomicInteger();
+        AtomicInteger rejeitadas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futuros.add(pool.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < tentativasPorThread; i++) {
+                        try {
+                            // Mesma conta disputada por todas as threads, IPs variados
+                            throttle.verificar("alvo@test.com", "10.0." + thread + "." + (i % 200));
+                            aceitas.incrementAndGet();
+                        } catch (MuitasTentativasException e) {
+                            rejeitadas.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Sem perda de atualizações nem tentativas extras: exatamente a capacidade é concedida
+        assertEquals(capacidade, aceitas.get());
+        assertEquals(threads * tentativasPorThread - capacidade, rejeitadas.get());
+    }
+
+    @Test
+    void verificar_shouldKeepMemoryBoundedWithManyDistinctKeys() throws Exception {
+        LoginThrottle throttle = throttle(5, 5, 500);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futuros.add(pool.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        throttle.verificar("conta" + thread + "-" + i + "@test.com", "10." + thread + "." + (i / 256) + "." + (i % 256));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> futuro : futuros) {
+                futuro.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(throttle.chavesAtivas() <= 500, "Buckets devem respeitar o limite de chaves");
+    }
+}
@@ -0,0 +1,41 @@
+package com.sistema.gestao.socios.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicRouteClassifierTest {
+
+    private final PublicRouteClassifier classifier = new PublicRouteClassifier(SecurityConfig.PUBLIC_PATHS);
+
+    @Test
+    void isPublic_shouldMatchSubtreesAndExactPaths() {
+        assertTrue(classifier.isPublic("/api/auth/login"));
+        assertTrue(classifier.isPublic("/api/auth"));
+        assertTrue(classifier.isPublic("/api-docs/swagger-config"));
+        assertTrue(classifier.isPublic("/swagger-ui/index.html"));
+        assertTrue(classifier.isPublic("/swagger-ui.html"));
+    }
+
+    @Test
+    void isPublic_shouldNotMatchProtectedOrLookalikeRoutes() {
+        assertFalse(classifier.isPublic("/api/socios"));
+        assertFalse(classifier.isPublic("/api/authx/login")); // Prefixo sem separador não conta
+        assertFalse(classifier.isPublic("/swagger-ui.html.bak"));
+        assertFalse(classifier.isPublic("/actuator/metrics"));
+    }
+
+    @Test
+    void isPublic_shouldIgnoreContextPath() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/associagest/api/auth/login");
+        request.setContextPath("/associagest");
+
+        assertTrue(classifier.isPublic(request));
+    }
+
+    @Test
+    void constructor_shouldRejectUnsupportedPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> new PublicRouteClassifier("/api/*/public"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.sistema.gestao.socios.security;
+
+import com.sistema.gestao.socios.model.TokenRevogado;
+import com.sistema.gestao.socios.repository.TokenRevogadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationStoreTest {
+
+    @Mock
+    private TokenRevogadoRepository tokenRevogadoRepository;
+
+    private TokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TokenRevocationStore(tokenRevogadoRepository, 1000, 0.01);
+    }
+
+    @Test
+    void revoke_shouldPersistAndBeVisibleImmediately() {
+        String jti = UUID.randomUUID().toString();
+
+        assertTrue(store.revoke(jti, Instant.now().plusSeconds(900)));
+
+        assertTrue(store.isRevoked(jti));
+        assertFalse(store.isRevoked(UUID.randomUUID().toString()));
+        verify(tokenRevogadoRepository).save(any(TokenRevogado.class));
+    }
+
+    @Test
+    void revoke_shouldReturnFalseWhenAlreadyRevoked() {
+        when(tokenRevogadoRepository.save(any(TokenRevogado.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertFalse(store.revoke("jti-duplicado", Instant.now().plusSeconds(900)));
+    }
+
+    @Test
+    void atualizar_shouldLoadRevocationsMadeOnOtherNodesAndPurgeExpired() {
+        when(tokenRevogadoRepository.findJtisAtivos(any())).thenReturn(List.of("outro-no-1", "outro-no-2"));
+
+        store.atualizar();
+
+        assertTrue(store.isRevoked("outro-no-1"));
+        assertTrue(store.isRevoked("outro-no-2"));
+        assertFalse(store.isRevoked("nao-revogado"));
+        verify(tokenRevogadoRepository).excluirExpirados(any());
+    }
+
+    @Test
+    void atualizar_shouldKeepLocalRevocationNotYetSeenByQuery() {
+        // A consulta de recarga começou antes da revogação local ser gravada
+        when(tokenRevogadoRepository.findJtisAtivos(any())).thenAnswer(inv -> {
+            store.revoke("local-concorrente", Instant.now().plusSeconds(900));
+            return List.of();
+        });
+
+        store.atualizar();
+
+        assertTrue(store.isRevoked("local-concorrente"));
+    }
+
+    @Test
+    void isRevoked_shouldIgnoreTokensWithoutId() {
+        assertFalse(store.isRevoked(null));
+        assertFalse(store.revoke(null, Instant.now()));
+        verifyNoInteractions(tokenRevogadoRepository);
+    }
+
+    @Test
+    void bloomFilter_shouldHaveNoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter bloom = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloom.put("revogado-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloom.mightContain("revogado-" + i));
+        }
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (bloom.mightContain(UUID.randomUUID().toString())) {
+                falsosPositivos++;
+            }
+        }
+        assertTrue(falsosPositivos < 2_000, "Taxa de falsos positivos muito alta: " + falsosPositivos);
+    }
+}
@@ -0,0 +1,80 @@
+package com.sistema.gestao.socios.security;
+
+import com.sistema.gestao.socios.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenVersionRegistry(usuarioRepository, Duration.ofMinutes(5), 100);
+    }
+
+    @AfterEach
+    void limparSincronizacao() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void invalidate_shouldEvictAgainAfterCommit() {
+        when(usuarioRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.invalidate(1L); // Logout/troca de senha, antes do commit
+        assertTrue(registry.isCurrent(1L, 0)); // Requisição concorrente ainda lê a versão antiga
+
+        when(usuarioRepository.findTokenVersionById(1L)).thenReturn(Optional.of(1)); // Commit
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertFalse(registry.isCurrent(1L, 0));
+        assertTrue(registry.isCurrent(1L, 1));
+    }
+
+    @Test
+    void isCurrent_shouldNotCacheVersionReadWhileInvalidated() throws Exception {
+        Thread invalidacao = new Thread(() -> registry.invalidate(1L));
+        when(usuarioRepository.findTokenVersionById(1L)).thenAnswer(invocation -> {
+            // A alteração é confirmada durante a leitura; a invalidação espera a carga da mesma chave
+            invalidacao.start();
+            aguardarBloqueio(invalidacao);
+            return Optional.of(0);
+        }).thenReturn(Optional.of(1));
+
+        assertTrue(registry.isCurrent(1L, 0));
+        invalidacao.join();
+        assertFalse(registry.isCurrent(1L, 0));
+        verify(usuarioRepository, times(2)).findTokenVersionById(1L);
+    }
+
+    private static void aguardarBloqueio(Thread thread) {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (thread.getState() != Thread.State.BLOCKED && thread.getState() != Thread.State.WAITING) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError("Invalidação não chegou à chave em carga: " + thread.getState());
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.sistema.gestao.socios.security;
+
+import com.sistema.gestao.socios.model.Role;
+import com.sistema.gestao.socios.model.Usuario;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsuarioDetailsCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private UsuarioDetailsCache cache;
+    private Usuario usuario;
+    private AtomicInteger consultas;
+    private Function<String, Optional<Usuario>> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UsuarioDetailsCache(meterRegistry, true, Duration.ofMinutes(5), 100);
+        usuario = Usuario.builder().id(1L).email("admin@test.com").senha("hash").role(Role.ADMIN).build();
+        consultas = new AtomicInteger();
+        // Simula o repositório contando as consultas ao banco
+        loader = email -> {
+            consultas.incrementAndGet();
+            return usuario.getEmail().equals(email) ? Optional.of(usuario) : Optional.empty();
+        };
+    }
+
+    @AfterEach
+    void limparSincronizacao() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_shouldLoadOnceAndServeRepeatedLookupsFromCache() {
+        Usuario primeiro = cache.get("admin@test.com", loader).orElseThrow();
+        Usuario segundo = cache.get("admin@test.com", loader).orElseThrow();
+
+        assertEquals(1, consultas.get());
+        assertNotSame(primeiro, segundo);
+        assertEquals(usuario.getId(), segundo.getId());
+        assertEquals("hash", segundo.getPassword());
+        assertEquals(Role.ADMIN, segundo.getRole());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "usuarioDetails").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "usuarioDetails").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void get_shouldReturnIndependentCopies() {
+        Usuario primeiro = cache.get("admin@test.com", loader).orElseThrow();
+        assertNotSame(usuario, primeiro); // Nem a entidade carregada é compartilhada
+        primeiro.setSenha("alterada");
+        primeiro.setRole(Role.SOCIO);
+
+        Usuario segundo = cache.get("admin@test.com", loader).orElseThrow();
+        assertNotSame(primeiro, segundo);
+        assertEquals("hash", segundo.getSenha()); // O snapshot em cache não é afetado
+        assertEquals(Role.ADMIN, segundo.getRole());
+        assertEquals(0, segundo.getTokenVersion());
+        assertEquals(1, consultas.get());
+    }
+
+    @Test
+    void get_shouldNotCacheMissingUser() {
+        assertTrue(cache.get("inexistente@test.com", loader).isEmpty());
+        assertTrue(cache.get("inexistente@test.com", loader).isEmpty());
+
+        assertEquals(2, consultas.get()); // Cada tentativa consulta o banco novamente
+    }
+
+    @Test
+    void invalidate_shouldForceReloadAfterUsuarioChange() {
+        cache.get("admin@test.com", loader);
+
+        cache.invalidate(usuario);
+        cache.get("admin@test.com", loader);
+
+        assertEquals(2, consultas.get());
+        assertEquals(1.0, meterRegistry.get("cache.invalidations").tag("cache", "usuarioDetails").counter().count());
+    }
+
+    @Test
+    void invalidate_shouldDropEntryCachedUnderPreviousEmail() {
+        cache.get("admin@test.com", loader);
+
+        Usuario alterado = Usuario.builder().id(1L).email("novo@test.com").senha("hash").role(Role.ADMIN).build();
+        cache.invalidate(alterado);
+        cache.get("admin@test.com", loader);
+
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void invalidate_shouldEvictAgainAfterCommit() {
+        Usuario rebaixado = Usuario.builder().id(1L).email("admin@test.com").senha("novo-hash").role(Role.SOCIO).build();
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(rebaixado); // @PostUpdate, antes do commit
+        // Login concorrente ainda lê a linha antiga (a alteração não foi confirmada) e a coloca em cache
+        assertEquals(Role.ADMIN, cache.get("admin@test.com", loader).orElseThrow().getRole());
+
+        usuario = rebaixado; // Commit
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        Usuario atual = cache.get("admin@test.com", loader).orElseThrow();
+        assertEquals(Role.SOCIO, atual.getRole());
+        assertEquals("novo-hash", atual.getSenha());
+    }
+
+    @Test
+    void get_shouldNotCacheRowLoadedWhileInvalidated() throws Exception {
+        Usuario antigo = usuario;
+        Usuario alterado = Usuario.builder().id(1L).email("novo@test.com").senha("novo-hash").role(Role.SOCIO).build();
+        // Login com o email antigo lê a linha antiga; enquanto isso a troca de email é confirmada e invalidada.
+        // A carga ainda não registrou o email do id, então a invalidação não alcança esta chave
+        Usuario lido = cache.get("admin@test.com", email -> {
+            consultas.incrementAndGet();
+            usuario = alterado;
+            Thread invalidacao = new Thread(() -> cache.invalidate(alterado));
+            invalidacao.start();
+            try {
+                invalidacao.join();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return Optional.of(antigo);
+        }).orElseThrow();
+
+        assertEquals(Role.ADMIN, lido.getRole()); // Respondida ao chamador, mas não guardada
+        assertTrue(cache.get("admin@test.com", loader).isEmpty());
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void get_shouldBypassCacheWhenDisabled() {
+        UsuarioDetailsCache desativado = new UsuarioDetailsCache(meterRegistry, false, Duration.ofMinutes(5), 100);
+
+        desativado.get("admin@test.com", loader);
+        desativado.get("admin@test.com", loader);
+
+        assertEquals(2, consultas.get());
+    }
+}
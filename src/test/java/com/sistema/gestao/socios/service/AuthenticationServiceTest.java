@@ -2,28 +2,37 @@ package com.sistema.gestao.socios.service;
 
 import com.sistema.gestao.socios.dto.AuthenticationResponseDTO;
 import com.sistema.gestao.socios.dto.LoginRequestDTO;
+import com.sistema.gestao.socios.dto.RefreshTokenRequestDTO;
 import com.sistema.gestao.socios.dto.RegisterRequestDTO;
 import com.sistema.gestao.socios.exception.RegraNegocioException;
 import com.sistema.gestao.socios.model.Role;
 import com.sistema.gestao.socios.model.Usuario;
 import com.sistema.gestao.socios.repository.UsuarioRepository;
 import com.sistema.gestao.socios.security.JwtService;
+import com.sistema.gestao.socios.security.LoginMetrics;
+import com.sistema.gestao.socios.security.TokenRevocationStore;
+import com.sistema.gestao.socios.security.VerifiedClaims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException; // Import specific exception
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class) // Initialize mocks
@@ -38,6 +47,12 @@ class AuthenticationServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private LoginMetrics loginMetrics = new LoginMetrics(meterRegistry);
+    @Mock
+    private TokenRevocationStore tokenRevocationStore;
+
     @InjectMocks // Inject mocks into this instance
     private AuthenticationService authenticationService;
 
@@ -122,9 +137,9 @@ class AuthenticationServiceTest {
     @Test
     void login_shouldReturnToken_whenCredentialsAreValid() {
         // Arrange
-        // Simulate successful authentication by AuthenticationManager (no exception thrown)
-        // authenticationManager.authenticate(...) doesn't return anything on success
-        when(usuarioRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(usuarioAdmin));
+        // AuthenticationManager returns the authenticated principal loaded during authentication
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(UsernamePasswordAuthenticationToken.authenticated(usuarioAdmin, null, usuarioAdmin.getAuthorities()));
         when(jwtService.generateToken(usuarioAdmin)).thenReturn(testToken);
 
         // Act
@@ -137,8 +152,9 @@ class AuthenticationServiceTest {
         verify(authenticationManager, times(1)).authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getSenha())
         );
-        verify(usuarioRepository, times(1)).findByEmail(loginRequest.getEmail());
+        verify(usuarioRepository, never()).findByEmail(anyString()); // Principal reused, no second lookup
         verify(jwtService, times(1)).generateToken(usuarioAdmin);
+        assertEquals(1, meterRegistry.get("auth.login.stage").tag("stage", "sign").timer().count());
     }
 
     @Test
@@ -160,14 +176,11 @@ class AuthenticationServiceTest {
         verify(jwtService, never()).generateToken(any(Usuario.class)); // Should not be called if auth fails
     }
 
-     @Test
-    void login_shouldThrowRegraNegocioException_whenUserNotFoundAfterSuccessfulAuth() {
-        // Arrange - This case should ideally not happen if authenticate() passes, but test defensively
-        // Simulate successful authentication
-        // authenticationManager.authenticate(...) doesn't return anything on success
-
-        // Simulate user mysteriously disappearing after successful authentication
-        when(usuarioRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.empty());
+    @Test
+    void login_shouldThrowRegraNegocioException_whenAuthenticationHasNoUsuarioPrincipal() {
+        // Arrange - This case should not happen with the configured provider, but test defensively
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(UsernamePasswordAuthenticationToken.authenticated(loginRequest.getEmail(), null, usuarioAdmin.getAuthorities()));
 
         // Act & Assert
         RegraNegocioException exception = assertThrows(RegraNegocioException.class, () -> {
@@ -176,7 +189,84 @@ class AuthenticationServiceTest {
 
         assertEquals("Erro inesperado: Usuário não encontrado após autenticação bem-sucedida.", exception.getMessage());
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(usuarioRepository, times(1)).findByEmail(loginRequest.getEmail());
+        verify(usuarioRepository, never()).findByEmail(anyString());
         verify(jwtService, never()).generateToken(any(Usuario.class));
     }
+
+    // --- Testes para refresh() e logout() ---
+
+    // Gera tokens reais para obter claims verificadas (JwtService é mock nos demais testes)
+    private JwtService jwtServiceReal() {
+        JwtService real = new JwtService();
+        ReflectionTestUtils.setField(real, "secretKey", "4D6251655468576D5A7134743777217A25432A462D4A614E645267556B587032");
+        ReflectionTestUtils.setField(real, "jwtExpiration", 3600000L);
+        return real;
+    }
+
+    @Test
+    void refresh_shouldRevokeOldTokenAndIssueNewPair() {
+        JwtService real = jwtServiceReal();
+        String refreshToken = real.generateRefreshToken(usuarioAdmin);
+        VerifiedClaims claims = real.verify(refreshToken);
+        when(jwtService.verify(refreshToken)).thenReturn(claims);
+        when(usuarioRepository.findByEmail(usuarioAdmin.getEmail())).thenReturn(Optional.of(usuarioAdmin));
+        when(tokenRevocationStore.revoke(eq(claims.getTokenId()), any())).thenReturn(true);
+        when(jwtService.generateToken(usuarioAdmin)).thenReturn(testToken);
+        when(jwtService.generateRefreshToken(usuarioAdmin)).thenReturn("novo-refresh");
+
+        AuthenticationResponseDTO response = authenticationService.refresh(new RefreshTokenRequestDTO(refreshToken));
+
+        assertEquals(testToken, response.getToken());
+        assertEquals("novo-refresh", response.getRefreshToken());
+        verify(tokenRevocationStore).revoke(claims.getTokenId(), claims.getExpiration().toInstant());
+    }
+
+    @Test
+    void refresh_shouldRejectAccessToken() {
+        JwtService real = jwtServiceReal();
+        String accessToken = real.generateToken(usuarioAdmin);
+        when(jwtService.verify(accessToken)).thenReturn(real.verify(accessToken));
+
+        RegraNegocioException exception = assertThrows(RegraNegocioException.class,
+                () -> authenticationService.refresh(new RefreshTokenRequestDTO(accessToken)));
+
+        assertEquals("Refresh token inválido ou expirado.", exception.getMessage());
+        verify(tokenRevocationStore, never()).revoke(anyString(), any());
+    }
+
+    @Test
+    void refresh_shouldRejectTokenIssuedBeforePasswordChange() {
+        JwtService real = jwtServiceReal();
+        String refreshToken = real.generateRefreshToken(usuarioAdmin); // ver = versão atual
+        when(jwtService.verify(refreshToken)).thenReturn(real.verify(refreshToken));
+        usuarioAdmin.setSenha("novaSenhaCodificada"); // Incrementa a versão
+        when(usuarioRepository.findByEmail(usuarioAdmin.getEmail())).thenReturn(Optional.of(usuarioAdmin));
+
+        assertThrows(RegraNegocioException.class, () -> authenticationService.refresh(new RefreshTokenRequestDTO(refreshToken)));
+        verify(tokenRevocationStore, never()).revoke(anyString(), any());
+    }
+
+    @Test
+    void refresh_shouldRejectTokenAlreadyRotatedConcurrently() {
+        JwtService real = jwtServiceReal();
+        String refreshToken = real.generateRefreshToken(usuarioAdmin);
+        when(jwtService.verify(refreshToken)).thenReturn(real.verify(refreshToken));
+        when(usuarioRepository.findByEmail(usuarioAdmin.getEmail())).thenReturn(Optional.of(usuarioAdmin));
+        when(tokenRevocationStore.revoke(anyString(), any())).thenReturn(false); // Outra requisição revogou antes
+
+        assertThrows(RegraNegocioException.class, () -> authenticationService.refresh(new RefreshTokenRequestDTO(refreshToken)));
+        verify(jwtService, never()).generateToken(any(Usuario.class));
+    }
+
+    @Test
+    void logout_shouldRevokeAccessToken() {
+        JwtService real = jwtServiceReal();
+        String accessToken = real.generateToken(usuarioAdmin);
+        VerifiedClaims claims = real.verify(accessToken);
+        when(jwtService.verify(accessToken)).thenReturn(claims);
+
+        authenticationService.logout(accessToken, null);
+
+        verify(tokenRevocationStore).revoke(claims.getTokenId(), claims.getExpiration().toInstant());
+    }
 }
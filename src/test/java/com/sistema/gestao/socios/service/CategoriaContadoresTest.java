@@ -0,0 +1,86 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.model.CategoriaContador;
+import com.sistema.gestao.socios.repository.CategoriaContadorRepository;
+import com.sistema.gestao.socios.service.CategoriaContadores.Contagem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoriaContadoresTest {
+
+    private static final Map<Long, Contagem> UM_PAGO = Map.of(7L, Contagem.de("PAGO", 1));
+
+    @Mock
+    private CategoriaContadorRepository categoriaContadorRepository;
+
+    private CategoriaContadores contadores;
+
+    @BeforeEach
+    void setUp() {
+        contadores = new CategoriaContadores(categoriaContadorRepository);
+        when(categoriaContadorRepository.findAll()).thenReturn(List.of(contador(1)));
+        contadores.recarregar();
+    }
+
+    @Test
+    void recarregar_DeltaJaGravadoAplicadoDepoisDaTroca_NaoContaDuasVezes() {
+        // A transação grava o UPDATE antes da leitura, mas só aplica o delta depois da troca do mapa
+        contadores.iniciar(Set.of(7L));
+        when(categoriaContadorRepository.findAll()).thenReturn(List.of(contador(2)));
+        contadores.recarregar();
+        contadores.aplicar(Set.of(7L), Set.of(), UM_PAGO, Set.of());
+
+        assertEquals(2, contadores.buscar(7L).orElseThrow().total());
+    }
+
+    @Test
+    void recarregar_DeltaAplicadoDuranteALeitura_NaoSePerde() {
+        // O commit acontece depois de a leitura ver a linha antiga, e o delta é aplicado antes da troca
+        when(categoriaContadorRepository.findAll()).thenAnswer(invocation -> {
+            contadores.iniciar(Set.of(7L));
+            contadores.aplicar(Set.of(7L), Set.of(), UM_PAGO, Set.of());
+            return List.of(contador(1));
+        });
+        contadores.recarregar();
+
+        assertEquals(2, contadores.buscar(7L).orElseThrow().total());
+        assertEquals(2, contadores.buscar(7L).orElseThrow().pagos());
+    }
+
+    @Test
+    void recarregar_SemAlteracoesLocais_UsaATabela() {
+        contadores.iniciar(Set.of(7L));
+        contadores.descartar(Set.of(7L)); // Rollback: nada a aplicar
+        when(categoriaContadorRepository.findAll()).thenReturn(List.of(contador(5))); // Alterado em outro nó
+        contadores.recarregar();
+
+        assertEquals(5, contadores.buscar(7L).orElseThrow().total());
+    }
+
+    @Test
+    void buscar_AlteracaoDuranteALeitura_NaoEspelhaALinha() {
+        when(categoriaContadorRepository.findById(8L)).thenAnswer(invocation -> {
+            contadores.iniciar(Set.of(8L));
+            return Optional.of(new CategoriaContador(8L, 1, 0, 1, 0));
+        });
+
+        assertEquals(1, contadores.buscar(8L).orElseThrow().total());
+        assertFalse(contadores.todos().containsKey(8L));
+    }
+
+    private static CategoriaContador contador(long pagos) {
+        return new CategoriaContador(7L, pagos, pagos, 0, 0);
+    }
+}
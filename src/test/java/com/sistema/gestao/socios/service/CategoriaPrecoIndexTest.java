@@ -0,0 +1,71 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.repository.CategoriaPrecoVigencia;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoriaPrecoIndexTest {
+
+    private CategoriaPrecoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CategoriaPrecoIndex(null);
+        index.carregar(List.of(
+                vigencia(1L, "2023-01-01", "50.00"),
+                vigencia(1L, "2024-01-01", "55.50"),
+                vigencia(1L, "2024-07-01", "60"),
+                vigencia(3L, "2024-03-15", "120.00")));
+    }
+
+    @Test
+    void valor_shouldReturnPeriodInForceOnTheDate() {
+        assertEquals(new BigDecimal("50.00"), index.valor(1L, LocalDate.parse("2023-12-31")));
+        assertEquals(new BigDecimal("55.50"), index.valor(1L, LocalDate.parse("2024-01-01"))); // Início é inclusivo
+        assertEquals(new BigDecimal("55.50"), index.valor(1L, LocalDate.parse("2024-06-30")));
+        assertEquals(new BigDecimal("60.00"), index.valor(1L, LocalDate.parse("2030-01-01"))); // Último período não tem fim
+        assertEquals(new BigDecimal("120.00"), index.valor(3L, LocalDate.parse("2024-03-15")));
+    }
+
+    @Test
+    void valor_shouldReturnNullBeforeFirstPeriodOrForUnknownCategoria() {
+        assertNull(index.valor(1L, LocalDate.parse("2022-12-31")));
+        assertNull(index.valor(3L, LocalDate.parse("2024-03-14")));
+        assertNull(index.valor(2L, LocalDate.parse("2024-05-01")));
+        assertEquals(CategoriaPrecoIndex.SEM_VALOR, index.centavos(99L, 0));
+    }
+
+    @Test
+    void avaliar_shouldPriceEveryPairOfTheBatch() {
+        long[] categorias = {1L, 1L, 1L, 2L, 3L, 3L};
+        int[] dias = {
+                dia("2023-06-01"), dia("2024-02-01"), dia("2024-08-01"), dia("2024-08-01"), dia("2024-01-01"), dia("2024-04-01")};
+        long[] destino = new long[8];
+
+        index.avaliar(categorias, dias, destino, categorias.length);
+
+        assertArrayEquals(new long[]{5000, 5550, 6000, CategoriaPrecoIndex.SEM_VALOR, CategoriaPrecoIndex.SEM_VALOR, 12000, 0, 0}, destino);
+    }
+
+    @Test
+    void carregar_shouldReplaceSnapshot() {
+        index.carregar(List.of());
+
+        assertNull(index.valor(1L, LocalDate.parse("2024-01-01")));
+        assertEquals(0, index.tamanho());
+    }
+
+    private static CategoriaPrecoVigencia vigencia(Long categoriaId, String inicio, String valor) {
+        return new CategoriaPrecoVigencia(categoriaId, LocalDate.parse(inicio), new BigDecimal(valor));
+    }
+
+    private static int dia(String data) {
+        return (int) LocalDate.parse(data).toEpochDay();
+    }
+}
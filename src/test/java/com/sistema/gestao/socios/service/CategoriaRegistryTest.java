@@ -0,0 +1,110 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.model.Categoria;
+import com.sistema.gestao.socios.repository.CategoriaAssinatura;
+import com.sistema.gestao.socios.repository.CategoriaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoriaRegistryTest {
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @Mock
+    private SocioCache socioCache;
+
+    private CategoriaRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(categoriaRepository.findAssinatura()).thenReturn(new CategoriaAssinatura(2L, 2L, 0L));
+        when(categoriaRepository.findAll()).thenReturn(List.of(categoria(1L, "Standard", 0L), categoria(2L, "Premium", 0L)));
+        registry = new CategoriaRegistry(categoriaRepository, socioCache);
+        registry.verificarVersao();
+    }
+
+    @AfterEach
+    void limparSincronizacao() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void buscar_shouldReturnIndependentDetachedCopies() {
+        Categoria primeira = registry.buscar(1L).orElseThrow();
+        primeira.setNome("Alterada");
+
+        Categoria segunda = registry.buscar(1L).orElseThrow();
+        assertEquals("Standard", segunda.getNome()); // O snapshot não é afetado
+        assertNotSame(primeira, segunda);
+        assertEquals(0L, segunda.getVersao());
+        verify(categoriaRepository, times(1)).findAll();
+    }
+
+    @Test
+    void buscar_shouldReloadOnceWhenIdIsMissing() {
+        when(categoriaRepository.existsById(3L)).thenReturn(true); // Criada em outro nó
+        when(categoriaRepository.findAll()).thenReturn(List.of(categoria(1L, "Standard", 0L), categoria(2L, "Premium", 0L), categoria(3L, "Família", 0L)));
+
+        assertEquals("Família", registry.buscar(3L).orElseThrow().getNome());
+        assertFalse(registry.existe(99L)); // Inexistente: só consulta a existência, sem recarregar
+        verify(categoriaRepository, times(2)).findAll();
+    }
+
+    @Test
+    void verificarVersao_shouldReloadOnlyWhenSignatureChanges() {
+        registry.verificarVersao();
+        verify(categoriaRepository, times(1)).findAll(); // Assinatura igual: nada a fazer
+
+        when(categoriaRepository.findAssinatura()).thenReturn(new CategoriaAssinatura(2L, 2L, 1L));
+        when(categoriaRepository.findAll()).thenReturn(List.of(categoria(1L, "Standard Plus", 1L), categoria(2L, "Premium", 0L)));
+        registry.verificarVersao();
+
+        assertEquals("Standard Plus", registry.buscar(1L).orElseThrow().getNome());
+        verify(categoriaRepository, times(2)).findAll();
+        verify(socioCache).invalidarCategoria(1L); // Sócios em cache embutem a categoria alterada
+        verify(socioCache, never()).invalidarCategoria(2L);
+    }
+
+    @Test
+    void verificarVersao_shouldKeepSnapshotWhenDatabaseFails() {
+        when(categoriaRepository.findAssinatura()).thenThrow(new DataAccessResourceFailureException("indisponível"));
+
+        assertDoesNotThrow(() -> registry.verificarVersao());
+        assertEquals(2, registry.tamanho());
+    }
+
+    @Test
+    void registrarERemover_shouldWaitForCommitInsideTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.registrar(categoria(1L, "Standard Plus", 1L));
+        registry.remover(2L);
+        assertEquals("Standard", registry.buscar(1L).orElseThrow().getNome()); // Ainda não confirmado
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals("Standard Plus", registry.buscar(1L).orElseThrow().getNome());
+        assertFalse(registry.existe(2L));
+        assertEquals(1, registry.tamanho());
+    }
+
+    private static Categoria categoria(Long id, String nome, Long versao) {
+        return new Categoria(id, nome, "Benefícios", new BigDecimal("50.00"), versao);
+    }
+}
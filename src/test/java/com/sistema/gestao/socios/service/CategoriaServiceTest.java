@@ -1,11 +1,17 @@
 package com.sistema.gestao.socios.service;
 
+import com.sistema.gestao.socios.dto.CategoriaPrecoRequestDTO;
 import com.sistema.gestao.socios.dto.CategoriaRequestDTO;
 import com.sistema.gestao.socios.exception.RecursoNaoEncontradoException;
 import com.sistema.gestao.socios.exception.RegraNegocioException;
 import com.sistema.gestao.socios.mapper.CategoriaMapper;
 import com.sistema.gestao.socios.model.Categoria;
+import com.sistema.gestao.socios.model.CategoriaContador;
+import com.sistema.gestao.socios.model.CategoriaPreco;
+import com.sistema.gestao.socios.repository.CategoriaContadorRepository;
+import com.sistema.gestao.socios.repository.CategoriaPrecoRepository;
 import com.sistema.gestao.socios.repository.CategoriaRepository;
+import com.sistema.gestao.socios.repository.PagamentoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,7 +20,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
-import java.util.Collections;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +40,27 @@ class CategoriaServiceTest {
     @Mock
     private CategoriaMapper categoriaMapper;
 
+    @Mock
+    private CategoriaRegistry categoriaRegistry;
+
+    @Mock
+    private CategoriaContadorRepository categoriaContadorRepository;
+
+    @Mock
+    private CategoriaContadores categoriaContadores;
+
+    @Mock
+    private CategoriaPrecoRepository categoriaPrecoRepository;
+
+    @Mock
+    private CategoriaPrecoIndex categoriaPrecoIndex;
+
+    @Mock
+    private PagamentoRepository pagamentoRepository;
+
+    @Mock
+    private SocioCache socioCache;
+
     @InjectMocks
     private CategoriaService categoriaService;
 
@@ -41,7 +69,7 @@ class CategoriaServiceTest {
 
     @BeforeEach
     void setUp() {
-        categoria = new Categoria(1L, "Premium", "Todos os benefícios", new BigDecimal("100.00"), Collections.emptyList(), Collections.emptyList());
+        categoria = new Categoria(1L, "Premium", "Todos os benefícios", new BigDecimal("100.00"));
         categoriaRequestDTO = new CategoriaRequestDTO();
         categoriaRequestDTO.setNome("Premium");
         categoriaRequestDTO.setBeneficios("Todos os benefícios");
@@ -58,6 +86,11 @@ class CategoriaServiceTest {
         assertNotNull(result);
         assertEquals("Premium", result.getNome());
         verify(categoriaRepository, times(1)).findByNomeIgnoreCase("Premium");
+        verify(categoriaRegistry, times(1)).registrar(categoria); // Registro em memória atualizado
+        // Valor inicial registrado no histórico de preços
+        verify(categoriaPrecoRepository).save(argThat(preco -> preco.getCategoria() == categoria
+                && preco.getInicioVigencia().equals(LocalDate.now()) && preco.getValorMensalidade().equals(new BigDecimal("100.00"))));
+        verify(categoriaPrecoIndex).recarregarAposCommit();
         verify(categoriaRepository, times(1)).save(categoria);
     }
 
@@ -109,6 +142,48 @@ class CategoriaServiceTest {
         verify(categoriaRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void testObterPorId_ShouldServeFromRegistryWithoutRepository() {
+        when(categoriaRegistry.buscar(1L)).thenReturn(Optional.of(categoria));
+
+        assertSame(categoria, categoriaService.obterPorId(1L));
+        verifyNoInteractions(categoriaRepository); // Nenhum SELECT
+    }
+
+    @Test
+    void testObterPorId_NotFound() {
+        when(categoriaRegistry.buscar(9L)).thenReturn(Optional.empty());
+
+        RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> categoriaService.obterPorId(9L));
+
+        assertEquals("Categoria não encontrada com id: 9", exception.getMessage());
+    }
+
+    @Test
+    void testRegistrarPreco_Fail_InicioDuplicado() {
+        CategoriaPrecoRequestDTO dto = new CategoriaPrecoRequestDTO();
+        dto.setInicioVigencia(LocalDate.of(2025, 1, 1));
+        dto.setValorMensalidade(new BigDecimal("110.00"));
+        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(categoriaPrecoRepository.findByCategoriaIdAndInicioVigencia(1L, dto.getInicioVigencia()))
+                .thenReturn(Optional.of(new CategoriaPreco(5L, categoria, dto.getInicioVigencia(), new BigDecimal("100.00"))));
+
+        RegraNegocioException exception = assertThrows(RegraNegocioException.class, () -> categoriaService.registrarPreco(1L, dto));
+
+        assertEquals("Já existe um valor de mensalidade com início em 2025-01-01 para esta categoria.", exception.getMessage());
+        verify(categoriaPrecoRepository, never()).save(any());
+    }
+
+    @Test
+    void testBuscarValorVigente_ShouldUseIndex() {
+        LocalDate data = LocalDate.of(2024, 5, 1);
+        when(categoriaRegistry.existe(1L)).thenReturn(true);
+        when(categoriaPrecoIndex.valor(1L, data)).thenReturn(new BigDecimal("80.00"));
+
+        assertEquals(new BigDecimal("80.00"), categoriaService.buscarValorVigente(1L, data));
+        verifyNoInteractions(categoriaPrecoRepository);
+    }
+
     @Test
     void testAtualizar_Success() {
         CategoriaRequestDTO updateDto = new CategoriaRequestDTO();
@@ -142,6 +217,8 @@ class CategoriaServiceTest {
         verify(categoriaRepository, times(1)).findByNomeIgnoreCase("Premium Plus");
         verify(categoriaMapper, times(1)).updateCategoriaFromDto(updateDto, categoria); // Verify mapper was called
         verify(categoriaRepository, times(1)).save(categoria); // Verify save was called with modified object
+        verify(categoriaPrecoRepository).save(argThat(preco -> preco.getValorMensalidade().equals(new BigDecimal("120.00"))));
+        verify(socioCache).invalidarCategoria(1L); // Sócios em cache trazem a categoria embutida
     }
 
      @Test
@@ -159,7 +236,7 @@ class CategoriaServiceTest {
 
     @Test
     void testAtualizar_Fail_NomeExists() {
-        Categoria existingCategoriaWithSameName = new Categoria(2L, "Premium Plus", "Outros", BigDecimal.ONE, null, null);
+        Categoria existingCategoriaWithSameName = new Categoria(2L, "Premium Plus", "Outros", BigDecimal.ONE);
         CategoriaRequestDTO updateDto = new CategoriaRequestDTO();
         updateDto.setNome("Premium Plus"); // Trying to update to an existing name
 
@@ -180,12 +257,13 @@ class CategoriaServiceTest {
     @Test
     void testDeletar_Success() {
         when(categoriaRepository.findById(anyLong())).thenReturn(Optional.of(categoria)); // Found
-        // Assume categoria.getSocios() returns empty list or null
+        // Sem contador nem pagamentos: os mocks retornam vazio/false
 
         assertDoesNotThrow(() -> categoriaService.deletar(1L));
 
         verify(categoriaRepository, times(1)).findById(1L);
         verify(categoriaRepository, times(1)).deleteById(1L);
+        verify(categoriaRegistry, times(1)).remover(1L);
     }
 
     @Test
@@ -203,9 +281,9 @@ class CategoriaServiceTest {
 
      @Test
     void testDeletar_Fail_HasSocios() {
-        // Simulate categoria having associated socios
-        Categoria categoriaComSocios = new Categoria(1L, "Test", "Bens", BigDecimal.TEN, List.of(new com.sistema.gestao.socios.model.Socio()), null);
-        when(categoriaRepository.findById(anyLong())).thenReturn(Optional.of(categoriaComSocios));
+        // Categoria com sócios associados: o contador informa, sem consultar os sócios
+        when(categoriaRepository.findById(anyLong())).thenReturn(Optional.of(categoria));
+        when(categoriaContadorRepository.findById(1L)).thenReturn(Optional.of(new CategoriaContador(1L, 1, 1, 0, 0)));
 
         RegraNegocioException exception = assertThrows(RegraNegocioException.class, () -> {
             categoriaService.deletar(1L);
@@ -215,4 +293,19 @@ class CategoriaServiceTest {
         verify(categoriaRepository, times(1)).findById(1L);
         verify(categoriaRepository, never()).deleteById(anyLong());
     }
+
+    @Test
+    void testDeletar_Fail_HasPagamentos() {
+        // Pagamentos não são mais removidos em cascata com a categoria
+        when(categoriaRepository.findById(anyLong())).thenReturn(Optional.of(categoria));
+        when(pagamentoRepository.existsByCategoriaId(1L)).thenReturn(true);
+
+        RegraNegocioException exception = assertThrows(RegraNegocioException.class, () -> {
+            categoriaService.deletar(1L);
+        });
+
+        assertEquals("Não é possível excluir categoria pois existem pagamentos associados.", exception.getMessage());
+        verify(categoriaRepository, never()).deleteById(anyLong());
+        verify(categoriaRegistry, never()).remover(anyLong());
+    }
 }
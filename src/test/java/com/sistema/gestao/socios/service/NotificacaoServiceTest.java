@@ -33,6 +33,9 @@ class NotificacaoServiceTest {
     @Mock
     private SocioRepository socioRepository; // Mock SocioRepository
 
+    @Mock
+    private SocioService socioService; // Existência do sócio (cache)
+
     @Mock
     private NotificacaoMapper notificacaoMapper;
 
@@ -56,7 +59,8 @@ class NotificacaoServiceTest {
 
     @Test
     void testCriarNotificacao_Success() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.of(socio));
+        when(socioService.existe(anyLong())).thenReturn(true);
+        when(socioRepository.getReferenceById(anyLong())).thenReturn(socio);
         when(notificacaoMapper.toNotificacao(any(NotificacaoRequestDTO.class))).thenReturn(notificacao); // Assume mapper returns base entity
         when(notificacaoRepository.save(any(Notificacao.class))).thenReturn(notificacao);
 
@@ -65,7 +69,7 @@ class NotificacaoServiceTest {
         assertNotNull(result);
         assertEquals(socio, result.getSocio());
         assertNotNull(result.getDataEnvio()); // Check date is set
-        verify(socioRepository, times(1)).findById(1L);
+        verify(socioService, times(1)).existe(1L);
         verify(notificacaoMapper, times(1)).toNotificacao(notificacaoRequestDTO);
         verify(notificacaoRepository, times(1)).save(notificacao);
         // TODO: Verify actual sending mechanism if implemented
@@ -73,20 +77,21 @@ class NotificacaoServiceTest {
 
     @Test
     void testCriarNotificacao_Fail_SocioNotFound() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(socioService.existe(anyLong())).thenReturn(false);
 
         RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> {
             notificacaoService.criarNotificacao(notificacaoRequestDTO);
         });
 
         assertEquals("Sócio não encontrado com id: 1", exception.getMessage());
-        verify(socioRepository, times(1)).findById(1L);
+        verify(socioService, times(1)).existe(1L);
         verify(notificacaoRepository, never()).save(any(Notificacao.class));
     }
 
      @Test
     void testEnviarNotificacaoParaSocio_Success() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.of(socio));
+        when(socioService.existe(anyLong())).thenReturn(true);
+        when(socioRepository.getReferenceById(anyLong())).thenReturn(socio);
         when(notificacaoRepository.save(any(Notificacao.class))).thenAnswer(invocation -> {
              Notificacao saved = invocation.getArgument(0);
              saved.setId(2L); // Simulate saving and getting an ID
@@ -100,47 +105,49 @@ class NotificacaoServiceTest {
         assertEquals("PAGAMENTO", result.getTipoNotificacao());
         assertEquals("Seu pagamento está pendente.", result.getMensagem());
         assertNotNull(result.getDataEnvio());
-        verify(socioRepository, times(1)).findById(1L);
+        verify(socioService, times(1)).existe(1L);
         verify(notificacaoRepository, times(1)).save(any(Notificacao.class));
          // TODO: Verify actual sending mechanism if implemented
     }
 
      @Test
     void testEnviarNotificacaoParaSocio_Fail_SocioNotFound() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(socioService.existe(anyLong())).thenReturn(false);
 
         RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> {
             notificacaoService.enviarNotificacaoParaSocio(99L, "TESTE", "Msg");
         });
 
         assertEquals("Sócio não encontrado para enviar notificação: 99", exception.getMessage());
-        verify(socioRepository, times(1)).findById(99L);
+        verify(socioService, times(1)).existe(99L);
         verify(notificacaoRepository, never()).save(any(Notificacao.class));
     }
 
      @Test
     void testEnviarNotificacaoParaSocio_Fail_TipoNull() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.of(socio));
+        when(socioService.existe(anyLong())).thenReturn(true);
+        when(socioRepository.getReferenceById(anyLong())).thenReturn(socio);
 
         RegraNegocioException exception = assertThrows(RegraNegocioException.class, () -> {
             notificacaoService.enviarNotificacaoParaSocio(1L, null, "Msg");
         });
 
         assertEquals("Tipo da notificação não pode ser vazio.", exception.getMessage());
-        verify(socioRepository, times(1)).findById(1L);
+        verify(socioService, times(1)).existe(1L);
         verify(notificacaoRepository, never()).save(any(Notificacao.class));
     }
 
      @Test
     void testEnviarNotificacaoParaSocio_Fail_MensagemNull() {
-         when(socioRepository.findById(anyLong())).thenReturn(Optional.of(socio));
+         when(socioService.existe(anyLong())).thenReturn(true);
+         when(socioRepository.getReferenceById(anyLong())).thenReturn(socio);
 
         RegraNegocioException exception = assertThrows(RegraNegocioException.class, () -> {
             notificacaoService.enviarNotificacaoParaSocio(1L, "TIPO", null);
         });
 
         assertEquals("Mensagem da notificação não pode ser vazia.", exception.getMessage());
-        verify(socioRepository, times(1)).findById(1L);
+        verify(socioService, times(1)).existe(1L);
         verify(notificacaoRepository, never()).save(any(Notificacao.class));
     }
 
@@ -175,7 +182,7 @@ class NotificacaoServiceTest {
 
      @Test
     void testBuscarPorSocioId_Success() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.of(socio)); // Ensure socio exists
+        when(socioService.existe(anyLong())).thenReturn(true); // Ensure socio exists
         when(notificacaoRepository.findBySocioId(anyLong())).thenReturn(List.of(notificacao));
 
         List<Notificacao> result = notificacaoService.buscarPorSocioId(1L);
@@ -183,20 +190,20 @@ class NotificacaoServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getSocio().getId());
-        verify(socioRepository, times(1)).findById(1L);
+        verify(socioService, times(1)).existe(1L);
         verify(notificacaoRepository, times(1)).findBySocioId(1L);
     }
 
      @Test
     void testBuscarPorSocioId_Fail_SocioNotFound() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(socioService.existe(anyLong())).thenReturn(false);
 
         RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> {
             notificacaoService.buscarPorSocioId(99L); // Non-existent socio ID
         });
 
         assertEquals("Sócio não encontrado com id: 99", exception.getMessage());
-        verify(socioRepository, times(1)).findById(99L);
+        verify(socioService, times(1)).existe(99L);
         verify(notificacaoRepository, never()).findBySocioId(anyLong());
     }
 
@@ -35,6 +35,9 @@ class PagamentoServiceTest {
     @Mock
     private SocioRepository socioRepository; // Mock SocioRepository
 
+    @Mock
+    private SocioService socioService; // Existência do sócio (cache)
+
     @Mock
     private CategoriaService categoriaService; // Mock CategoriaService
 
@@ -51,7 +54,7 @@ class PagamentoServiceTest {
 
     @BeforeEach
     void setUp() {
-        categoria = new Categoria(1L, "Standard", "Benefícios básicos", new BigDecimal("50.00"), null, null);
+        categoria = new Categoria(1L, "Standard", "Benefícios básicos", new BigDecimal("50.00"));
         socio = new Socio(1L, "Maria", "98765432100", "maria@example.com", "111", "pwd", "PENDENTE", categoria, null, null);
         pagamento = new Pagamento(1L, new Date(), new BigDecimal("50.00"), "CONFIRMADO", socio, categoria);
 
@@ -64,8 +67,9 @@ class PagamentoServiceTest {
 
     @Test
     void testRegistrarPagamento_Success() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.of(socio));
-        when(categoriaService.buscarPorId(anyLong())).thenReturn(categoria);
+        when(socioService.existe(anyLong())).thenReturn(true);
+        when(socioRepository.getReferenceById(anyLong())).thenReturn(socio);
+        when(categoriaService.obterPorId(anyLong())).thenReturn(categoria);
         when(pagamentoMapper.toPagamento(any(PagamentoRequestDTO.class))).thenReturn(pagamento); // Assume mapper returns base entity
         when(pagamentoRepository.save(any(Pagamento.class))).thenReturn(pagamento);
 
@@ -75,8 +79,8 @@ class PagamentoServiceTest {
         assertEquals(socio, result.getSocio());
         assertEquals(categoria, result.getCategoria());
         assertNotNull(result.getDataPagamento()); // Check date is set
-        verify(socioRepository, times(1)).findById(1L);
-        verify(categoriaService, times(1)).buscarPorId(1L);
+        verify(socioService, times(1)).existe(1L);
+        verify(categoriaService, times(1)).obterPorId(1L);
         verify(pagamentoMapper, times(1)).toPagamento(pagamentoRequestDTO);
         verify(pagamentoRepository, times(1)).save(pagamento);
         // TODO: Verify socio status update if implemented
@@ -84,7 +88,7 @@ class PagamentoServiceTest {
 
     @Test
     void testRegistrarPagamento_Fail_SocioNotFound() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(socioService.existe(anyLong())).thenReturn(false);
         // No need to mock categoriaService as it won't be called
 
         RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> {
@@ -92,23 +96,24 @@ class PagamentoServiceTest {
         });
 
         assertEquals("Sócio não encontrado com id: 1", exception.getMessage());
-        verify(socioRepository, times(1)).findById(1L);
-        verify(categoriaService, never()).buscarPorId(anyLong());
+        verify(socioService, times(1)).existe(1L);
+        verify(categoriaService, never()).obterPorId(anyLong());
         verify(pagamentoRepository, never()).save(any(Pagamento.class));
     }
 
      @Test
     void testRegistrarPagamento_Fail_CategoriaNotFound() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.of(socio));
-        when(categoriaService.buscarPorId(anyLong())).thenThrow(new RecursoNaoEncontradoException("Categoria não encontrada"));
+        when(socioService.existe(anyLong())).thenReturn(true);
+        when(socioRepository.getReferenceById(anyLong())).thenReturn(socio);
+        when(categoriaService.obterPorId(anyLong())).thenThrow(new RecursoNaoEncontradoException("Categoria não encontrada"));
 
         RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> {
             pagamentoService.registrarPagamento(pagamentoRequestDTO);
         });
 
         assertEquals("Categoria não encontrada", exception.getMessage());
-        verify(socioRepository, times(1)).findById(1L);
-        verify(categoriaService, times(1)).buscarPorId(1L);
+        verify(socioService, times(1)).existe(1L);
+        verify(categoriaService, times(1)).obterPorId(1L);
         verify(pagamentoRepository, never()).save(any(Pagamento.class));
     }
 
@@ -144,7 +149,7 @@ class PagamentoServiceTest {
 
     @Test
     void testBuscarPorSocioId_Success() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.of(socio)); // Ensure socio exists
+        when(socioService.existe(anyLong())).thenReturn(true); // Ensure socio exists
         when(pagamentoRepository.findBySocioId(anyLong())).thenReturn(List.of(pagamento));
 
         List<Pagamento> result = pagamentoService.buscarPorSocioId(1L);
@@ -152,20 +157,20 @@ class PagamentoServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getSocio().getId());
-        verify(socioRepository, times(1)).findById(1L);
+        verify(socioService, times(1)).existe(1L);
         verify(pagamentoRepository, times(1)).findBySocioId(1L);
     }
 
      @Test
     void testBuscarPorSocioId_Fail_SocioNotFound() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(socioService.existe(anyLong())).thenReturn(false);
 
         RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> {
             pagamentoService.buscarPorSocioId(99L); // Non-existent socio ID
         });
 
         assertEquals("Sócio não encontrado com id: 99", exception.getMessage());
-        verify(socioRepository, times(1)).findById(99L);
+        verify(socioService, times(1)).existe(99L);
         verify(pagamentoRepository, never()).findBySocioId(anyLong());
     }
 
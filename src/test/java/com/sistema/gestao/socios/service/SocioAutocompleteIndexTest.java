@@ -0,0 +1,148 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.dto.SocioResponseDTO;
+import com.sistema.gestao.socios.model.Socio;
+import com.sistema.gestao.socios.repository.SocioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SocioAutocompleteIndexTest {
+
+    private SocioAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SocioAutocompleteIndex(null, true, 0.5);
+        index.inserir(1L, "João Silva", "joao.silva@example.com", "123.456.789-00");
+        index.inserir(2L, "Joana Prado", "joana@example.com", "98765432100");
+        index.inserir(3L, "Pedro Alves", "pedro@clube.com", "55544433322");
+        index.inserir(4L, "Maria Silveira", "maria@example.com", "11122233344");
+    }
+
+    @AfterEach
+    void limparSincronizacao() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void buscar_shouldMatchPrefixWhileTyping() {
+        assertEquals(List.of(1L, 2L), index.buscar("jo", 10)); // Empate desfeito pela similaridade
+        assertEquals(List.of(2L, 1L), index.buscar("joan", 10)); // Joana primeiro; João ainda é próximo o bastante
+        assertEquals(List.of(3L), index.buscar("Pedro A", 10));
+    }
+
+    @Test
+    void buscar_shouldIgnoreAccentsAndCase() {
+        assertEquals(1L, index.buscar("JOAO", 10).get(0));
+        assertEquals(1L, index.buscar("joão", 10).get(0));
+    }
+
+    @Test
+    void buscar_shouldTolerateTyposAndRankByOverlap() {
+        List<Long> resultado = index.buscar("silvs", 10);
+
+        assertEquals(List.of(1L, 4L), resultado); // "Silva" compartilha mais trigramas que "Silveira"
+    }
+
+    @Test
+    void buscar_shouldFindByEmailAndDocumento() {
+        assertEquals(3L, index.buscar("pedro@clu", 10).get(0));
+        assertEquals(List.of(2L), index.buscar("98765", 10));
+        assertEquals(1L, index.buscar("123.456", 10).get(0)); // Pontuação do documento é ignorada
+    }
+
+    @Test
+    void buscar_shouldHonourLimitAndIgnoreBlankInput() {
+        assertEquals(1, index.buscar("example", 1).size());
+        assertTrue(index.buscar("  --  ", 10).isEmpty());
+        assertTrue(index.buscar("xyzw", 10).isEmpty());
+    }
+
+    @Test
+    void inserir_shouldReplacePreviousVersionOfSocio() {
+        index.inserir(3L, "Pedro Costa", "pedro@clube.com", "55544433322");
+
+        assertTrue(index.buscar("alves", 10).isEmpty());
+        assertEquals(List.of(3L), index.buscar("costa", 10));
+        assertEquals(4, index.tamanho());
+    }
+
+    @Test
+    void retirar_shouldDropSocio() {
+        index.retirar(2L);
+        index.retirar(99L); // Inexistente: ignorado
+
+        assertEquals(List.of(1L), index.buscar("jo", 10));
+        assertEquals(3, index.tamanho());
+    }
+
+    @Test
+    void retirar_shouldCompactAfterManyRemovals() {
+        for (long id = 100; id < 3100; id++) {
+            index.inserir(id, "Sócio " + id, "socio" + id + "@test.com", "doc" + id);
+        }
+        for (long id = 100; id < 3000; id++) {
+            index.retirar(id);
+        }
+
+        assertEquals(104, index.tamanho());
+        assertEquals(List.of(3050L), index.buscar("socio3050@", 10).subList(0, 1));
+        assertTrue(index.buscar("socio2500@", 10).stream().noneMatch(id -> id == 2500L));
+        assertEquals(List.of(1L, 2L), index.buscar("jo", 10));
+    }
+
+    @Test
+    void indexar_shouldWaitForCommitInsideTransaction() {
+        Socio socio = new Socio(10L, "Ricardo Teixeira", "111", "ricardo@test.com", null, null, "PAGO", null, null, null);
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.indexar(socio);
+        assertTrue(index.buscar("ricardo", 10).isEmpty()); // Ainda não confirmado
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(10L), index.buscar("ricardo", 10));
+    }
+
+    @Test
+    void construir_shouldReplayChangesCommittedDuringTheLoad() {
+        SocioRepository socioRepository = mock(SocioRepository.class);
+        SocioAutocompleteIndex carregando = new SocioAutocompleteIndex(socioRepository, true, 0.5);
+        when(socioRepository.findResponsesAfterId(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            // Commits que chegam depois de o lote ter sido lido: exclusão do 1 e nova versão do 2
+            carregando.remover(1L);
+            carregando.indexar(new Socio(2L, "Joana Costa", "98765432100", "joana@example.com", null, null, "PAGO", null, null, null));
+            return List.of(
+                    new SocioResponseDTO(1L, "João Silva", "12345678900", "joao.silva@example.com", null, "PAGO", null, null, null, null),
+                    new SocioResponseDTO(2L, "Joana Prado", "98765432100", "joana@example.com", null, "PAGO", null, null, null, null));
+        });
+
+        carregando.construir();
+
+        assertEquals(1, carregando.tamanho());
+        assertTrue(carregando.buscar("silva", 10).isEmpty()); // A carga não ressuscita o sócio excluído
+        assertTrue(carregando.buscar("prado", 10).isEmpty()); // Nem sobrescreve a versão mais nova
+        assertEquals(List.of(2L), carregando.buscar("costa", 10));
+
+        carregando.remover(2L); // Depois da carga, as alterações voltam a ser aplicadas na hora
+        assertEquals(0, carregando.tamanho());
+    }
+
+    @Test
+    void normalizar_shouldFoldToLowercaseAsciiWords() {
+        assertEquals("jose da conceicao  s", SocioAutocompleteIndex.normalizar("José da Conceição, S"));
+    }
+}
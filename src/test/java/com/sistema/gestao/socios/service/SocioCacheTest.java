@@ -0,0 +1,157 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.dto.SocioResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocioCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private SocioCache cache;
+    private Map<Long, SocioResponseDTO> banco;
+    private AtomicInteger consultas;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SocioCache(meterRegistry, true, Duration.ofMinutes(5), 100);
+        banco = new HashMap<>();
+        banco.put(1L, socio(1L, "ana@test.com", "111"));
+        consultas = new AtomicInteger();
+    }
+
+    @Test
+    void porId_shouldLoadOnceAndServeRepeatedLookupsFromCache() {
+        cache.porId(1L, porId());
+        cache.porId(1L, porId());
+
+        assertEquals(1, consultas.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "socio").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void secondaryKeys_shouldShareTheEntryLoadedById() {
+        cache.porId(1L, porId());
+
+        assertEquals(1L, cache.porEmail("ana@test.com", porAtributo(SocioResponseDTO::getEmail)).orElseThrow().getId());
+        assertEquals(1L, cache.porDocumento("111", porAtributo(SocioResponseDTO::getDocumento)).orElseThrow().getId());
+        assertEquals(1, consultas.get()); // Email e documento atendidos pelo índice secundário
+    }
+
+    @Test
+    void invalidate_shouldDropAllKeysAndFollowEmailChange() {
+        cache.porEmail("ana@test.com", porAtributo(SocioResponseDTO::getEmail));
+
+        banco.put(1L, socio(1L, "ana.nova@test.com", "111")); // Email alterado no banco
+        cache.invalidate(1L);
+
+        assertTrue(cache.porEmail("ana@test.com", porAtributo(SocioResponseDTO::getEmail)).isEmpty());
+        assertEquals("ana.nova@test.com", cache.porDocumento("111", porAtributo(SocioResponseDTO::getDocumento)).orElseThrow().getEmail());
+        assertEquals(1.0, meterRegistry.get("cache.invalidations").tag("cache", "socio").counter().count());
+    }
+
+    @Test
+    void staleSecondaryKey_shouldNotBeFollowed() {
+        cache.porEmail("ana@test.com", porAtributo(SocioResponseDTO::getEmail));
+        // Outro caminho recarrega o sócio por id já com o novo email, sem passar pela invalidação
+        banco.put(1L, socio(1L, "ana.nova@test.com", "111"));
+        cache.invalidate(1L);
+        cache.porId(1L, porId());
+
+        assertTrue(cache.porEmail("ana@test.com", porAtributo(SocioResponseDTO::getEmail)).isEmpty());
+    }
+
+    @Test
+    void secondaryLoad_shouldNotBeCachedWhenInvalidatedMeanwhile() {
+        SocioResponseDTO lido = banco.get(1L);
+        // Uma atualização concorrente invalida o sócio enquanto a consulta por email ainda está em curso
+        cache.porEmail("ana@test.com", email -> {
+            banco.put(1L, socio(1L, "ana@test.com", "222"));
+            cache.invalidate(1L);
+            return Optional.of(lido);
+        });
+
+        assertEquals("222", cache.porId(1L, porId()).orElseThrow().getDocumento());
+        assertEquals(1, consultas.get());
+    }
+
+    @Test
+    void invalidarCategoria_shouldReloadSociosEmbeddingIt() {
+        banco.put(1L, socio(1L, "ana@test.com", "111", 7L, "Ouro"));
+        cache.porId(1L, porId());
+
+        banco.put(1L, socio(1L, "ana@test.com", "111", 7L, "Ouro Plus"));
+        cache.invalidarCategoria(7L);
+
+        assertEquals("Ouro Plus", cache.porId(1L, porId()).orElseThrow().getCategoria().getNome());
+        assertEquals("Ouro Plus", cache.porEmail("ana@test.com", porAtributo(SocioResponseDTO::getEmail)).orElseThrow().getCategoria().getNome());
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void invalidarCategoria_shouldDiscardLoadRunningConcurrently() {
+        banco.put(1L, socio(1L, "ana@test.com", "111", 7L, "Ouro"));
+        // A categoria muda enquanto o sócio é carregado com o nome antigo
+        cache.porId(1L, id -> {
+            consultas.incrementAndGet();
+            SocioResponseDTO antigo = banco.get(id);
+            banco.put(1L, socio(1L, "ana@test.com", "111", 7L, "Ouro Plus"));
+            cache.invalidarCategoria(7L);
+            return Optional.of(antigo);
+        });
+
+        assertEquals("Ouro Plus", cache.porId(1L, porId()).orElseThrow().getCategoria().getNome());
+    }
+
+    @Test
+    void absentSocio_shouldNotBeCached() {
+        assertTrue(cache.porId(99L, porId()).isEmpty());
+        assertTrue(cache.porId(99L, porId()).isEmpty());
+
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void disabled_shouldAlwaysUseLoader() {
+        SocioCache desativado = new SocioCache(meterRegistry, false, Duration.ofMinutes(5), 100);
+
+        desativado.porId(1L, porId());
+        desativado.porId(1L, porId());
+
+        assertEquals(2, consultas.get());
+    }
+
+    // Simula o repositório contando as consultas ao banco
+    private Function<Long, Optional<SocioResponseDTO>> porId() {
+        return id -> {
+            consultas.incrementAndGet();
+            return Optional.ofNullable(banco.get(id));
+        };
+    }
+
+    private Function<String, Optional<SocioResponseDTO>> porAtributo(Function<SocioResponseDTO, String> atributo) {
+        return valor -> {
+            consultas.incrementAndGet();
+            return banco.values().stream().filter(s -> valor.equals(atributo.apply(s))).findFirst();
+        };
+    }
+
+    private static SocioResponseDTO socio(Long id, String email, String documento) {
+        return socio(id, email, documento, null, null);
+    }
+
+    private static SocioResponseDTO socio(Long id, String email, String documento, Long categoriaId, String categoriaNome) {
+        return new SocioResponseDTO(id, "Ana", documento, email, null, "PAGO", categoriaId, categoriaNome, null, null);
+    }
+}
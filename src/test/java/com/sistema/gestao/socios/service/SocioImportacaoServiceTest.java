@@ -0,0 +1,35 @@
+package com.sistema.gestao.socios.service;
+
+import com.sistema.gestao.socios.exception.RegraNegocioException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocioImportacaoServiceTest {
+
+    @Test
+    void separarCampos_ShouldHandleQuotesAndEmptyFields() {
+        assertEquals(List.of("Ana", "111", "", "x"), SocioImportacaoService.separarCampos("Ana, 111,,x"));
+        assertEquals(List.of("Silva, Ana", "diz \"oi\"", ""), SocioImportacaoService.separarCampos("\"Silva, Ana\",\"diz \"\"oi\"\"\","));
+    }
+
+    @Test
+    void mapearColunas_ShouldIgnoreCaseAndOrder() {
+        Map<String, Integer> colunas = SocioImportacaoService.mapearColunas(
+                List.of("CategoriaId", "email", "Nome", "senha", "documento"));
+
+        assertEquals(0, colunas.get("categoriaid"));
+        assertEquals(2, colunas.get("nome"));
+    }
+
+    @Test
+    void mapearColunas_ShouldRejectMissingRequiredColumns() {
+        RegraNegocioException exception = assertThrows(RegraNegocioException.class,
+                () -> SocioImportacaoService.mapearColunas(List.of("nome", "email")));
+
+        assertEquals("Colunas obrigatórias ausentes no CSV: documento, categoriaId", exception.getMessage());
+    }
+}
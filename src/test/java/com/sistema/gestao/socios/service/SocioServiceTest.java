@@ -1,11 +1,18 @@
 package com.sistema.gestao.socios.service;
 
+import com.sistema.gestao.socios.dto.ExclusaoResultadoDTO;
+import com.sistema.gestao.socios.dto.PaginaCursorResponseDTO;
+import com.sistema.gestao.socios.dto.SocioPatchRequestDTO;
 import com.sistema.gestao.socios.dto.SocioRequestDTO;
+import com.sistema.gestao.socios.dto.SocioResponseDTO;
 import com.sistema.gestao.socios.exception.RecursoNaoEncontradoException;
 import com.sistema.gestao.socios.exception.RegraNegocioException;
 import com.sistema.gestao.socios.mapper.SocioMapper;
 import com.sistema.gestao.socios.model.Categoria;
 import com.sistema.gestao.socios.model.Socio;
+import com.sistema.gestao.socios.repository.NotificacaoRepository;
+import com.sistema.gestao.socios.repository.PagamentoRepository;
+import com.sistema.gestao.socios.repository.SocioClassificacao;
 import com.sistema.gestao.socios.repository.SocioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,8 +20,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +52,18 @@ class SocioServiceTest {
     @Mock
     private SocioMapper socioMapper;
 
+    @Mock
+    private SocioAutocompleteIndex autocompleteIndex;
+
+    @Mock
+    private PagamentoRepository pagamentoRepository;
+
+    @Mock
+    private NotificacaoRepository notificacaoRepository;
+
+    @Mock
+    private CategoriaContadorListener categoriaContadorListener;
+
     // TODO: Mock PasswordEncoder if implementing hashing
 
     @InjectMocks
@@ -44,11 +72,14 @@ class SocioServiceTest {
     private Socio socio;
     private Categoria categoria;
     private SocioRequestDTO socioRequestDTO;
+    private SocioResponseDTO socioResponseDTO;
 
     @BeforeEach
     void setUp() {
-        categoria = new Categoria(1L, "Standard", "Benefícios básicos", new BigDecimal("50.00"), null, null);
+        categoria = new Categoria(1L, "Standard", "Benefícios básicos", new BigDecimal("50.00"));
         socio = new Socio(1L, "João Silva", "12345678900", "joao@example.com", "999999999", "senha123", "PENDENTE", categoria, null, null);
+        socioResponseDTO = new SocioResponseDTO(1L, "João Silva", "12345678900", "joao@example.com", "999999999", "PENDENTE",
+                1L, "Standard", "Benefícios básicos", new BigDecimal("50.00"));
 
         socioRequestDTO = new SocioRequestDTO();
         socioRequestDTO.setNome("João Silva");
@@ -57,15 +88,18 @@ class SocioServiceTest {
         socioRequestDTO.setTelefone("999999999");
         socioRequestDTO.setSenha("senha123");
         socioRequestDTO.setCategoriaId(1L);
+
+        ReflectionTestUtils.setField(socioService, "tamanhoPadrao", 2);
+        ReflectionTestUtils.setField(socioService, "tamanhoMaximo", 3);
+        ReflectionTestUtils.setField(socioService, "tamanhoLoteExclusao", 2);
+        ReflectionTestUtils.setField(socioService, "socioCache", new SocioCache(new SimpleMeterRegistry(), true, Duration.ofMinutes(5), 100));
     }
 
     @Test
     void testCadastrar_Success() {
-        when(categoriaService.buscarPorId(anyLong())).thenReturn(categoria); // Categoria found
-        when(socioRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(socioRepository.findByDocumento(anyString())).thenReturn(Optional.empty());
+        when(categoriaService.obterPorId(anyLong())).thenReturn(categoria); // Categoria found
         when(socioMapper.toSocio(any(SocioRequestDTO.class))).thenReturn(socio); // Assume mapper returns base entity
-        when(socioRepository.save(any(Socio.class))).thenReturn(socio);
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenReturn(socio);
         // TODO: Mock passwordEncoder.encode if hashing
 
         Socio result = socioService.cadastrar(socioRequestDTO);
@@ -75,69 +109,144 @@ class SocioServiceTest {
         assertEquals("PENDENTE", result.getStatusPagamento()); // Check initial status
         assertEquals(categoria, result.getCategoria());
         // TODO: Assert password hashing if implemented
-        verify(categoriaService, times(1)).buscarPorId(1L);
-        verify(socioRepository, times(1)).findByEmail("joao@example.com");
-        verify(socioRepository, times(1)).findByDocumento("12345678900");
+        verify(categoriaService, times(1)).obterPorId(1L);
+        verify(socioRepository, never()).findByEmail(anyString()); // Unicidade garantida pelas restrições do banco
+        verify(socioRepository, never()).findByDocumento(anyString());
         verify(socioMapper, times(1)).toSocio(socioRequestDTO);
-        verify(socioRepository, times(1)).save(socio);
+        verify(socioRepository, times(1)).saveAndFlush(socio);
     }
 
     @Test
     void testCadastrar_Fail_CategoriaNotFound() {
-        when(categoriaService.buscarPorId(anyLong())).thenThrow(new RecursoNaoEncontradoException("Categoria não encontrada"));
+        when(categoriaService.obterPorId(anyLong())).thenThrow(new RecursoNaoEncontradoException("Categoria não encontrada"));
 
         RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> {
             socioService.cadastrar(socioRequestDTO);
         });
 
         assertEquals("Categoria não encontrada", exception.getMessage());
-        verify(categoriaService, times(1)).buscarPorId(1L);
-        verify(socioRepository, never()).findByEmail(anyString());
-        verify(socioRepository, never()).findByDocumento(anyString());
-        verify(socioRepository, never()).save(any(Socio.class));
+        verify(categoriaService, times(1)).obterPorId(1L);
+        verify(socioRepository, never()).saveAndFlush(any(Socio.class));
     }
 
     @Test
     void testCadastrar_Fail_EmailExists() {
-        when(categoriaService.buscarPorId(anyLong())).thenReturn(categoria);
-        when(socioRepository.findByEmail(anyString())).thenReturn(Optional.of(socio)); // Email exists
+        when(categoriaService.obterPorId(anyLong())).thenReturn(categoria);
+        when(socioMapper.toSocio(any(SocioRequestDTO.class))).thenReturn(socio);
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenThrow(violacaoUnicidade(Socio.UK_EMAIL)); // Email exists
 
         RegraNegocioException exception = assertThrows(RegraNegocioException.class, () -> {
             socioService.cadastrar(socioRequestDTO);
         });
 
         assertEquals("Email já cadastrado: joao@example.com", exception.getMessage());
-        verify(categoriaService, times(1)).buscarPorId(1L);
-        verify(socioRepository, times(1)).findByEmail("joao@example.com");
-        verify(socioRepository, never()).findByDocumento(anyString());
-        verify(socioRepository, never()).save(any(Socio.class));
+        verify(categoriaService, times(1)).obterPorId(1L);
+        verify(socioRepository, never()).findByEmail(anyString());
     }
 
      @Test
     void testCadastrar_Fail_DocumentoExists() {
-        when(categoriaService.buscarPorId(anyLong())).thenReturn(categoria);
-        when(socioRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(socioRepository.findByDocumento(anyString())).thenReturn(Optional.of(socio)); // Documento exists
+        when(categoriaService.obterPorId(anyLong())).thenReturn(categoria);
+        when(socioMapper.toSocio(any(SocioRequestDTO.class))).thenReturn(socio);
+        // Nome da restrição como o H2 o reporta (maiúsculo, com sufixo do índice)
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenThrow(violacaoUnicidade("PUBLIC.UK_SOCIO_DOCUMENTO_INDEX_4"));
 
         RegraNegocioException exception = assertThrows(RegraNegocioException.class, () -> {
             socioService.cadastrar(socioRequestDTO);
         });
 
         assertEquals("Documento já cadastrado: 12345678900", exception.getMessage());
-        verify(categoriaService, times(1)).buscarPorId(1L);
-        verify(socioRepository, times(1)).findByEmail("joao@example.com");
-        verify(socioRepository, times(1)).findByDocumento("12345678900");
-        verify(socioRepository, never()).save(any(Socio.class));
+        verify(categoriaService, times(1)).obterPorId(1L);
+        verify(socioRepository, never()).findByDocumento(anyString());
+    }
+
+    @Test
+    void testCadastrar_OtherIntegrityViolationIsNotTranslated() {
+        when(categoriaService.obterPorId(anyLong())).thenReturn(categoria);
+        when(socioMapper.toSocio(any(SocioRequestDTO.class))).thenReturn(socio);
+        DataIntegrityViolationException violacao = violacaoUnicidade("fk_socio_categoria");
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenThrow(violacao);
+
+        assertSame(violacao, assertThrows(DataIntegrityViolationException.class, () -> socioService.cadastrar(socioRequestDTO)));
+    }
+
+    private static DataIntegrityViolationException violacaoUnicidade(String restricao) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Unique index or primary key violation", new SQLException("23505"), restricao));
     }
 
 
     @Test
     void testListarTodos() {
-        when(socioRepository.findAll()).thenReturn(List.of(socio));
-        List<Socio> result = socioService.listarTodos();
+        when(socioRepository.findAllResponses()).thenReturn(List.of(socioResponseDTO));
+        List<SocioResponseDTO> result = socioService.listarTodos();
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(socioRepository, times(1)).findAll();
+        verify(socioRepository, times(1)).findAllResponses();
+        verifyNoInteractions(socioMapper); // DTOs vêm prontos da projeção
+    }
+
+    @Test
+    void testListarPagina_ShouldReturnCursorWhenMoreRowsExist() {
+        SocioResponseDTO segundo = new SocioResponseDTO(2L, "Maria", "2", "maria@example.com", "1", "PAGO", null, null, null, null);
+        SocioResponseDTO terceiro = new SocioResponseDTO(3L, "Pedro", "3", "pedro@example.com", "1", "PAGO", null, null, null, null);
+        // Tamanho padrão 2: o repositório é consultado com uma linha extra
+        when(socioRepository.findResponsesAfterId(0L, Limit.of(3))).thenReturn(List.of(socioResponseDTO, segundo, terceiro));
+
+        PaginaCursorResponseDTO<SocioResponseDTO> pagina = socioService.listarPagina(null, null);
+
+        assertEquals(2, pagina.getItens().size());
+        assertEquals(2L, SocioService.decodificarCursor(pagina.getProximoCursor()));
+    }
+
+    @Test
+    void testListarPagina_LastPageHasNoCursorAndSizeIsCapped() {
+        String cursor = SocioService.codificarCursor(1L);
+        when(socioRepository.findResponsesAfterId(1L, Limit.of(4))).thenReturn(List.of(socioResponseDTO));
+
+        PaginaCursorResponseDTO<SocioResponseDTO> pagina = socioService.listarPagina(cursor, 1000); // Limitado a 3
+
+        assertEquals(1, pagina.getItens().size());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    void testListarPagina_InvalidCursorOrSize() {
+        RegraNegocioException cursorInvalido = assertThrows(RegraNegocioException.class,
+                () -> socioService.listarPagina("nao-e-um-cursor", null));
+        assertEquals("Cursor de paginação inválido.", cursorInvalido.getMessage());
+
+        assertThrows(RegraNegocioException.class, () -> socioService.listarPagina(null, 0));
+        verifyNoInteractions(socioRepository);
+    }
+
+    @Test
+    void testBuscar_OrdenadoPorNome_CursorCarregaNomeEId() {
+        SocioResponseDTO segundo = new SocioResponseDTO(7L, "Maria", "2", "maria@example.com", "1", "PAGO", null, null, null, null);
+        SocioResponseDTO terceiro = new SocioResponseDTO(3L, "Pedro", "3", "pedro@example.com", "1", "PAGO", null, null, null, null);
+        when(socioRepository.buscarResponses(any(), eq(Sort.by("nome", "id")), eq(3)))
+                .thenReturn(List.of(socioResponseDTO, segundo, terceiro));
+
+        PaginaCursorResponseDTO<SocioResponseDTO> pagina = socioService.buscar(1L, "PAGO", "M", "nome", null, null);
+
+        assertEquals(2, pagina.getItens().size());
+        // Cursor da ordenação por nome: "id:nome" do último item
+        assertEquals("7:Maria", new String(Base64.getUrlDecoder().decode(pagina.getProximoCursor())));
+
+        socioService.buscar(null, null, null, "nome", pagina.getProximoCursor(), null);
+        verify(socioRepository, times(2)).buscarResponses(any(), eq(Sort.by("nome", "id")), eq(3));
+    }
+
+    @Test
+    void testBuscar_OrdenacaoOuCursorInvalido() {
+        RegraNegocioException ordenacao = assertThrows(RegraNegocioException.class,
+                () -> socioService.buscar(null, null, null, "email", null, null));
+        assertEquals("Ordenação inválida: email. Use id ou nome.", ordenacao.getMessage());
+
+        // Cursor da ordenação por id não serve para a ordenação por nome
+        assertThrows(RegraNegocioException.class,
+                () -> socioService.buscar(null, null, null, "nome", SocioService.codificarCursor(5L), null));
+        verifyNoInteractions(socioRepository);
     }
 
     @Test
@@ -161,21 +270,45 @@ class SocioServiceTest {
 
      @Test
     void testBuscarPorEmail_Success() {
-        when(socioRepository.findByEmail(anyString())).thenReturn(Optional.of(socio));
-        Socio result = socioService.buscarPorEmail("joao@example.com");
+        when(socioRepository.findResponseByEmail(anyString())).thenReturn(Optional.of(socioResponseDTO));
+        SocioResponseDTO result = socioService.buscarPorEmail("joao@example.com");
         assertNotNull(result);
         assertEquals("joao@example.com", result.getEmail());
-        verify(socioRepository, times(1)).findByEmail("joao@example.com");
+        assertEquals("Standard", result.getCategoria().getNome());
+        verify(socioRepository, times(1)).findResponseByEmail("joao@example.com");
     }
 
      @Test
     void testBuscarPorEmail_Fail_NotFound() {
-        when(socioRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(socioRepository.findResponseByEmail(anyString())).thenReturn(Optional.empty());
         RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> {
             socioService.buscarPorEmail("notfound@example.com");
         });
         assertEquals("Sócio não encontrado com email: notfound@example.com", exception.getMessage());
-        verify(socioRepository, times(1)).findByEmail("notfound@example.com");
+        verify(socioRepository, times(1)).findResponseByEmail("notfound@example.com");
+    }
+
+    @Test
+    void testConsultarPorId_Fail_NotFound() {
+        when(socioRepository.findResponseById(anyLong())).thenReturn(Optional.empty());
+        RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> {
+            socioService.consultarPorId(1L);
+        });
+        assertEquals("Sócio não encontrado com id: 1", exception.getMessage());
+        verify(socioRepository, never()).findById(anyLong()); // Nenhuma entidade carregada
+    }
+
+    @Test
+    void testBuscarPorEmail_SecondLookupServedFromCache() {
+        when(socioRepository.findResponseByEmail("joao@example.com")).thenReturn(Optional.of(socioResponseDTO));
+
+        socioService.buscarPorEmail("joao@example.com");
+        SocioResponseDTO porId = socioService.consultarPorId(1L); // Mesmo sócio, chave primária já preenchida
+
+        assertSame(socioResponseDTO, porId);
+        assertTrue(socioService.existe(1L));
+        verify(socioRepository, times(1)).findResponseByEmail("joao@example.com");
+        verify(socioRepository, never()).findResponseById(anyLong());
     }
 
     // Similar tests for buscarPorDocumento
@@ -202,7 +335,7 @@ class SocioServiceTest {
             return null; // Void method returns null
         }).when(socioMapper).updateSocioFromDto(any(SocioRequestDTO.class), any(Socio.class));
 
-        when(socioRepository.save(any(Socio.class))).thenAnswer(invocation -> invocation.getArgument(0)); // Return saved entity (now modified)
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenAnswer(invocation -> invocation.getArgument(0)); // Return saved entity (now modified)
 
         Socio result = socioService.atualizar(1L, updateDto);
 
@@ -211,10 +344,70 @@ class SocioServiceTest {
         assertEquals("888888888", result.getTelefone());
         verify(socioRepository, times(1)).findById(1L);
         verify(socioMapper, times(1)).updateSocioFromDto(updateDto, socio); // Verify mapper was called
-        verify(socioRepository, times(1)).save(socio); // Verify save was called with modified object
+        verify(socioRepository, times(1)).saveAndFlush(socio); // Verify save was called with modified object
     }
 
      @Test
+    void testAtualizarParcial_ShouldApplyOnlySuppliedFields() {
+        SocioPatchRequestDTO patch = new SocioPatchRequestDTO();
+        patch.setTelefone("777777777");
+        patch.setCategoriaId(1L); // Mesma categoria: nenhuma consulta
+        when(socioRepository.findById(1L)).thenReturn(Optional.of(socio));
+
+        Socio result = socioService.atualizarParcial(1L, patch);
+
+        assertEquals("777777777", result.getTelefone());
+        assertEquals("João Silva", result.getNome());
+        assertEquals("joao@example.com", result.getEmail());
+        assertEquals("12345678900", result.getDocumento());
+        verify(socioRepository).flush();
+        verify(socioRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(categoriaService, socioMapper);
+    }
+
+    @Test
+    void testAtualizarEAtualizarParcial_MesmaRegraDeEmail() {
+        when(socioRepository.findById(1L)).thenReturn(Optional.of(socio));
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        SocioRequestDTO put = new SocioRequestDTO();
+        put.setEmail(" Joao@Example.COM ");
+        put.setDocumento("12345678900");
+        put.setCategoriaId(1L);
+        SocioPatchRequestDTO patch = new SocioPatchRequestDTO();
+        patch.setEmail("JOAO@example.com");
+
+        // Só a caixa difere: os dois caminhos mantêm o email normalizado em minúsculas
+        assertEquals("joao@example.com", socioService.atualizar(1L, put).getEmail());
+        assertEquals("joao@example.com", socioService.atualizarParcial(1L, patch).getEmail());
+
+        patch.setEmail("Joao.Novo@Example.com");
+        assertEquals("joao.novo@example.com", socioService.atualizarParcial(1L, patch).getEmail());
+    }
+
+    @Test
+    void testAtualizarParcial_Fail_EmailExists() {
+        SocioPatchRequestDTO patch = new SocioPatchRequestDTO();
+        patch.setEmail("outro@example.com");
+        when(socioRepository.findById(1L)).thenReturn(Optional.of(socio));
+        doThrow(violacaoUnicidade(Socio.UK_EMAIL)).when(socioRepository).flush();
+
+        RegraNegocioException exception = assertThrows(RegraNegocioException.class, () -> socioService.atualizarParcial(1L, patch));
+
+        assertEquals("Email já cadastrado para outro sócio: outro@example.com", exception.getMessage());
+    }
+
+    @Test
+    void testAtualizarParcial_Fail_CategoriaNotFound() {
+        SocioPatchRequestDTO patch = new SocioPatchRequestDTO();
+        patch.setCategoriaId(99L);
+        when(socioRepository.findById(1L)).thenReturn(Optional.of(socio));
+        when(categoriaService.obterPorId(99L)).thenThrow(new RecursoNaoEncontradoException("Categoria não encontrada com id: 99"));
+
+        assertThrows(RecursoNaoEncontradoException.class, () -> socioService.atualizarParcial(1L, patch));
+        verify(socioRepository, never()).flush();
+    }
+
+    @Test
     void testAtualizar_Success_ChangeEmailAndCategoria() {
         SocioRequestDTO updateDto = new SocioRequestDTO();
         updateDto.setNome("João Silva");
@@ -222,12 +415,11 @@ class SocioServiceTest {
         updateDto.setDocumento("12345678900");
         updateDto.setCategoriaId(2L); // Changed categoria
 
-        Categoria novaCategoria = new Categoria(2L, "VIP", "VIP Bens", BigDecimal.TEN, null, null);
+        Categoria novaCategoria = new Categoria(2L, "VIP", "VIP Bens", BigDecimal.TEN);
 
         when(socioRepository.findById(anyLong())).thenReturn(Optional.of(socio));
-        when(categoriaService.buscarPorId(2L)).thenReturn(novaCategoria); // Mock finding new categoria
-        when(socioRepository.findByEmail(eq("joao.novo@example.com"))).thenReturn(Optional.empty()); // New email is unique
-        when(socioRepository.save(any(Socio.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(categoriaService.obterPorId(2L)).thenReturn(novaCategoria); // Mock finding new categoria
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenAnswer(invocation -> invocation.getArgument(0)); // New email is unique
 
         Socio result = socioService.atualizar(1L, updateDto);
 
@@ -235,10 +427,10 @@ class SocioServiceTest {
         assertEquals("joao.novo@example.com", result.getEmail());
         assertEquals(novaCategoria, result.getCategoria());
         verify(socioRepository, times(1)).findById(1L);
-        verify(categoriaService, times(1)).buscarPorId(2L);
-        verify(socioRepository, times(1)).findByEmail("joao.novo@example.com");
+        verify(categoriaService, times(1)).obterPorId(2L);
+        verify(socioRepository, never()).findByEmail(anyString());
         verify(socioMapper, times(1)).updateSocioFromDto(updateDto, socio);
-        verify(socioRepository, times(1)).save(socio);
+        verify(socioRepository, times(1)).saveAndFlush(socio);
     }
 
 
@@ -250,7 +442,7 @@ class SocioServiceTest {
         });
         assertEquals("Sócio não encontrado com id: 1", exception.getMessage());
         verify(socioRepository, times(1)).findById(1L);
-        verify(socioRepository, never()).save(any(Socio.class));
+        verify(socioRepository, never()).saveAndFlush(any(Socio.class));
     }
 
      @Test
@@ -259,10 +451,10 @@ class SocioServiceTest {
         updateDto.setEmail("outro@example.com"); // Trying to change to an existing email
         updateDto.setCategoriaId(1L);
 
-        Socio existingSocioWithEmail = new Socio(2L, "Outro", "987", "outro@example.com", "111", "pwd", "PAGO", categoria, null, null);
+        updateDto.setDocumento("12345678900");
 
         when(socioRepository.findById(anyLong())).thenReturn(Optional.of(socio));
-        when(socioRepository.findByEmail(eq("outro@example.com"))).thenReturn(Optional.of(existingSocioWithEmail));
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenThrow(violacaoUnicidade(Socio.UK_EMAIL)); // Email de outro sócio
 
         RegraNegocioException exception = assertThrows(RegraNegocioException.class, () -> {
             socioService.atualizar(1L, updateDto);
@@ -270,29 +462,92 @@ class SocioServiceTest {
 
         assertEquals("Email já cadastrado para outro sócio: outro@example.com", exception.getMessage());
         verify(socioRepository, times(1)).findById(1L);
-        verify(socioRepository, times(1)).findByEmail("outro@example.com");
-        verify(socioRepository, never()).save(any(Socio.class));
+        verify(socioRepository, never()).findByEmail(anyString());
     }
 
     // Similar test for Documento Exists on update
 
     @Test
     void testDeletar_Success() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.of(socio));
-        assertDoesNotThrow(() -> socioService.deletar(1L));
-        verify(socioRepository, times(1)).findById(1L);
-        verify(socioRepository, times(1)).deleteById(1L);
+        SocioClassificacao classificacao = new SocioClassificacao(1L, 1L, "PAGO");
+        when(socioRepository.findClassificacaoById(1L)).thenReturn(Optional.of(classificacao));
+        when(pagamentoRepository.excluirPorSocioIds(List.of(1L))).thenReturn(3);
+        when(notificacaoRepository.excluirPorSocioIds(List.of(1L))).thenReturn(2);
+        when(socioRepository.excluirPorIds(List.of(1L))).thenReturn(1);
+
+        ExclusaoResultadoDTO resultado = socioService.deletar(1L);
+
+        assertEquals(new ExclusaoResultadoDTO(1, 3, 2), resultado);
+        // Filhos removidos antes do sócio, sem carregar entidades
+        var ordem = inOrder(pagamentoRepository, notificacaoRepository, socioRepository);
+        ordem.verify(pagamentoRepository).excluirPorSocioIds(List.of(1L));
+        ordem.verify(notificacaoRepository).excluirPorSocioIds(List.of(1L));
+        ordem.verify(socioRepository).excluirPorIds(List.of(1L));
+        verify(socioRepository, never()).findById(anyLong());
+        verify(socioRepository, never()).deleteById(anyLong());
+        verify(autocompleteIndex).remover(1L);
+        verify(categoriaContadorListener).registrarExclusoes(List.of(classificacao)); // DELETE em massa não gera eventos
     }
 
     @Test
     void testDeletar_Fail_NotFound() {
-        when(socioRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(socioRepository.findClassificacaoById(1L)).thenReturn(Optional.empty());
         RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> {
             socioService.deletar(1L);
         });
         assertEquals("Sócio não encontrado com id: 1", exception.getMessage());
-        verify(socioRepository, times(1)).findById(1L);
-        verify(socioRepository, never()).deleteById(anyLong());
+        verify(socioRepository, never()).excluirPorIds(any());
+        verifyNoInteractions(pagamentoRepository, notificacaoRepository);
+    }
+
+    @Test
+    void testDeletar_ShouldEvictCachedSocio() {
+        when(socioRepository.findResponseById(1L)).thenReturn(Optional.of(socioResponseDTO));
+        socioService.consultarPorId(1L); // Carrega o cache
+        when(socioRepository.findClassificacaoById(1L)).thenReturn(Optional.of(new SocioClassificacao(1L, 1L, "PAGO")));
+        when(socioRepository.findResponseById(1L)).thenReturn(Optional.empty());
+
+        socioService.deletar(1L);
+
+        assertFalse(socioService.existe(1L));
+    }
+
+    @Test
+    void testDeletarPorFiltro_ShouldDeleteInChunksAndSumCounts() {
+        when(socioRepository.findClassificacoesByFiltro("INADIMPLENTE", null)).thenReturn(List.of(
+                new SocioClassificacao(1L, 1L, "INADIMPLENTE"),
+                new SocioClassificacao(2L, 1L, "INADIMPLENTE"),
+                new SocioClassificacao(3L, 2L, "INADIMPLENTE")));
+        when(pagamentoRepository.excluirPorSocioIds(any())).thenReturn(2, 1);
+        when(notificacaoRepository.excluirPorSocioIds(any())).thenReturn(1, 0);
+        when(socioRepository.excluirPorIds(any())).thenReturn(2, 1);
+
+        ExclusaoResultadoDTO resultado = socioService.deletarPorFiltro("INADIMPLENTE", null);
+
+        assertEquals(new ExclusaoResultadoDTO(3, 3, 1), resultado);
+        // Lote de 2 ids: duas rodadas
+        verify(socioRepository).excluirPorIds(List.of(1L, 2L));
+        verify(socioRepository).excluirPorIds(List.of(3L));
+    }
+
+    @Test
+    void testAutocompletar_ShouldCapLimitAndRejectBlankText() {
+        ReflectionTestUtils.setField(socioService, "limiteAutocompletePadrao", 10);
+        ReflectionTestUtils.setField(socioService, "limiteAutocompleteMaximo", 20);
+        when(autocompleteIndex.isEnabled()).thenReturn(true);
+        when(autocompleteIndex.buscar("joa", 20)).thenReturn(List.of(1L));
+
+        assertEquals(List.of(1L), socioService.autocompletar("joa", 500)); // Limitado a 20
+        assertThrows(RegraNegocioException.class, () -> socioService.autocompletar(" ", null));
+        assertThrows(RegraNegocioException.class, () -> socioService.autocompletar("joa", 0));
+    }
+
+    @Test
+    void testDeletarPorFiltro_Fail_WithoutFilter() {
+        RegraNegocioException exception = assertThrows(RegraNegocioException.class,
+                () -> socioService.deletarPorFiltro(null, null));
+        assertTrue(exception.getMessage().startsWith("Informe ao menos um filtro"));
+        verify(socioRepository, never()).findClassificacoesByFiltro(any(), any());
     }
 
     // TODO: Add test for deletar_Fail_HasDependencies if validation is added